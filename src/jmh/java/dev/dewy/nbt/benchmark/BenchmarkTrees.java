@@ -0,0 +1,147 @@
+package dev.dewy.nbt.benchmark;
+
+import dev.dewy.nbt.Nbt;
+import dev.dewy.nbt.tags.collection.CompoundTag;
+import dev.dewy.nbt.tags.collection.ListTag;
+import dev.dewy.nbt.tags.primitive.DoubleTag;
+import dev.dewy.nbt.tags.primitive.IntTag;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Builds the NBT structures measured by the benchmarks: the bundled sample files, plus synthetic deep, wide and array-heavy trees.
+ *
+ * @author dewy
+ */
+public final class BenchmarkTrees {
+    private static final File SAMPLE = new File("samples/sample.nbt");
+
+    private BenchmarkTrees() {
+    }
+
+    /**
+     * Returns the named benchmark tree.
+     *
+     * @param name one of {@code sample}, {@code deep}, {@code wide} or {@code arrays}.
+     * @param nbt the {@link Nbt} instance used to read the sample file.
+     * @return the named benchmark tree.
+     * @throws IOException if the sample file could not be read.
+     */
+    public static CompoundTag get(String name, Nbt nbt) throws IOException {
+        switch (name) {
+            case "sample":
+                return nbt.fromFile(SAMPLE);
+            case "deep":
+                return deep(256);
+            case "wide":
+                return wide(10000);
+            case "arrays":
+                return arrays(64, 4096);
+            default:
+                throw new IllegalArgumentException("Unknown benchmark tree " + name);
+        }
+    }
+
+    /**
+     * Nests {@code depth} compounds inside each other, each holding a handful of primitives and a short list.
+     */
+    private static CompoundTag deep(int depth) {
+        CompoundTag root = new CompoundTag("deep");
+        CompoundTag current = root;
+
+        for (int i = 0; i < depth; i++) {
+            current.putInt("level", i);
+            current.putString("id", "minecraft:level_" + i);
+            current.putDouble("weight", i / 3.0);
+
+            ListTag<IntTag> ints = new ListTag<>("ints");
+            for (int j = 0; j < 8; j++) {
+                ints.add(new IntTag(j * i));
+            }
+            current.put(ints);
+
+            CompoundTag child = new CompoundTag("child");
+            current.put(child);
+            current = child;
+        }
+
+        return root;
+    }
+
+    /**
+     * A single compound holding {@code width} entries of mixed primitive and string types.
+     */
+    private static CompoundTag wide(int width) {
+        CompoundTag root = new CompoundTag("wide");
+        Random random = new Random(width);
+
+        for (int i = 0; i < width; i++) {
+            switch (i % 6) {
+                case 0:
+                    root.putByte("byte" + i, (byte) random.nextInt());
+                    break;
+                case 1:
+                    root.putShort("short" + i, (short) random.nextInt());
+                    break;
+                case 2:
+                    root.putInt("int" + i, random.nextInt());
+                    break;
+                case 3:
+                    root.putLong("long" + i, random.nextLong());
+                    break;
+                case 4:
+                    root.putDouble("double" + i, random.nextDouble());
+                    break;
+                default:
+                    root.putString("string" + i, Long.toHexString(random.nextLong()));
+            }
+        }
+
+        return root;
+    }
+
+    /**
+     * Chunk-like sections, each holding block state longs, biome ints, light bytes and a list of positions.
+     */
+    private static CompoundTag arrays(int sections, int length) {
+        CompoundTag root = new CompoundTag("arrays");
+        ListTag<CompoundTag> list = new ListTag<>("sections");
+        Random random = new Random(sections);
+
+        for (int i = 0; i < sections; i++) {
+            CompoundTag section = new CompoundTag();
+
+            long[] states = new long[length / 8];
+            for (int j = 0; j < states.length; j++) {
+                states[j] = random.nextLong();
+            }
+
+            int[] biomes = new int[length / 16];
+            for (int j = 0; j < biomes.length; j++) {
+                biomes[j] = random.nextInt(64);
+            }
+
+            byte[] light = new byte[length / 2];
+            random.nextBytes(light);
+
+            ListTag<DoubleTag> pos = new ListTag<>("Pos");
+            pos.add(new DoubleTag(random.nextDouble()));
+            pos.add(new DoubleTag(random.nextDouble()));
+            pos.add(new DoubleTag(random.nextDouble()));
+
+            section.putByte("Y", (byte) i);
+            section.putLongArray("BlockStates", states);
+            section.putIntArray("Biomes", biomes);
+            section.putByteArray("BlockLight", light);
+            section.put(pos);
+
+            list.add(section);
+        }
+
+        root.put(list);
+
+        return root;
+    }
+}
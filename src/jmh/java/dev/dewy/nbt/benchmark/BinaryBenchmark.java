@@ -0,0 +1,56 @@
+package dev.dewy.nbt.benchmark;
+
+import dev.dewy.nbt.Nbt;
+import dev.dewy.nbt.tags.collection.CompoundTag;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures in-memory binary (de)serialization through {@link Nbt#toByteArray(CompoundTag)}, {@link Nbt#fromByteArray(byte[])}
+ * and {@link Nbt#fromByteBuffer(ByteBuffer)} over a direct buffer.
+ *
+ * @author dewy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryBenchmark {
+    @Param({"sample", "deep", "wide", "arrays"})
+    public String tree;
+
+    private Nbt nbt;
+    private CompoundTag compound;
+    private byte[] bytes;
+    private ByteBuffer direct;
+
+    @Setup
+    public void setup() throws IOException {
+        this.nbt = new Nbt();
+        this.compound = BenchmarkTrees.get(this.tree, this.nbt);
+        this.bytes = this.nbt.toByteArray(this.compound);
+
+        this.direct = ByteBuffer.allocateDirect(this.bytes.length);
+        this.direct.put(this.bytes).flip();
+    }
+
+    @Benchmark
+    public byte[] toByteArray() throws IOException {
+        return this.nbt.toByteArray(this.compound);
+    }
+
+    @Benchmark
+    public CompoundTag fromByteArray() throws IOException {
+        return this.nbt.fromByteArray(this.bytes);
+    }
+
+    @Benchmark
+    public CompoundTag fromDirectByteBuffer() throws IOException {
+        return this.nbt.fromByteBuffer(this.direct.duplicate());
+    }
+}
@@ -0,0 +1,72 @@
+package dev.dewy.nbt.benchmark;
+
+import dev.dewy.nbt.Nbt;
+import dev.dewy.nbt.io.CompressionType;
+import dev.dewy.nbt.io.ReadOptions;
+import dev.dewy.nbt.tags.collection.CompoundTag;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures file (de)serialization through {@link Nbt#toFile(CompoundTag, File, CompressionType)} and {@link Nbt#fromFile(File)}
+ * under every {@link CompressionType}.
+ *
+ * @author dewy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileBenchmark {
+    @Param({"sample", "deep", "wide", "arrays"})
+    public String tree;
+
+    @Param({"NONE", "GZIP", "ZLIB"})
+    public CompressionType compression;
+
+    private Nbt nbt;
+    private CompoundTag compound;
+    private File readFile;
+    private File writeFile;
+    private ReadOptions mapped;
+
+    @Setup
+    public void setup() throws IOException {
+        this.nbt = new Nbt();
+        this.compound = BenchmarkTrees.get(this.tree, this.nbt);
+
+        this.readFile = File.createTempFile("nbt-read", ".nbt");
+        this.writeFile = File.createTempFile("nbt-write", ".nbt");
+
+        this.nbt.toFile(this.compound, this.readFile, this.compression);
+
+        this.mapped = new ReadOptions();
+        this.mapped.setMemoryMapped(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.readFile.delete();
+        this.writeFile.delete();
+    }
+
+    @Benchmark
+    public void toFile() throws IOException {
+        this.nbt.toFile(this.compound, this.writeFile, this.compression);
+    }
+
+    @Benchmark
+    public CompoundTag fromFile() throws IOException {
+        return this.nbt.fromFile(this.readFile);
+    }
+
+    @Benchmark
+    public CompoundTag fromFileMapped() throws IOException {
+        return this.nbt.fromFile(this.readFile.toPath(), this.mapped);
+    }
+}
@@ -0,0 +1,62 @@
+package dev.dewy.nbt.benchmark;
+
+import dev.dewy.nbt.Nbt;
+import dev.dewy.nbt.tags.collection.CompoundTag;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures textual serialization through {@link Nbt#toSnbt(CompoundTag)}, {@link Nbt#toJson(CompoundTag, File)} and {@link Nbt#fromJson(File)}.
+ *
+ * @author dewy
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextBenchmark {
+    @Param({"sample", "deep", "wide", "arrays"})
+    public String tree;
+
+    private Nbt nbt;
+    private CompoundTag compound;
+    private File readFile;
+    private File writeFile;
+
+    @Setup
+    public void setup() throws IOException {
+        this.nbt = new Nbt();
+        this.compound = BenchmarkTrees.get(this.tree, this.nbt);
+
+        this.readFile = File.createTempFile("nbt-read", ".json");
+        this.writeFile = File.createTempFile("nbt-write", ".json");
+
+        this.nbt.toJson(this.compound, this.readFile);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.readFile.delete();
+        this.writeFile.delete();
+    }
+
+    @Benchmark
+    public String toSnbt() {
+        return this.nbt.toSnbt(this.compound);
+    }
+
+    @Benchmark
+    public void toJson() throws IOException {
+        this.nbt.toJson(this.compound, this.writeFile);
+    }
+
+    @Benchmark
+    public CompoundTag fromJson() throws IOException {
+        return this.nbt.fromJson(this.readFile);
+    }
+}
@@ -1,23 +1,59 @@
 package dev.dewy.nbt;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import dev.dewy.nbt.api.Tag;
 import dev.dewy.nbt.api.registry.TagTypeRegistry;
 import dev.dewy.nbt.api.snbt.SnbtConfig;
+import dev.dewy.nbt.api.snbt.SnbtParseException;
+import dev.dewy.nbt.io.ByteBufferInput;
+import dev.dewy.nbt.io.ByteBufferOutput;
 import dev.dewy.nbt.io.CompressionType;
+import dev.dewy.nbt.io.NbtFileCodec;
+import dev.dewy.nbt.io.NbtJsonReader;
+import dev.dewy.nbt.io.NbtJsonWriter;
+import dev.dewy.nbt.io.PlainJsonReader;
+import dev.dewy.nbt.io.PlainJsonWriter;
 import dev.dewy.nbt.io.NbtReader;
+import dev.dewy.nbt.io.NbtStreamWriter;
+import dev.dewy.nbt.io.NbtVisitor;
 import dev.dewy.nbt.io.NbtWriter;
+import dev.dewy.nbt.io.ReadOptions;
+import dev.dewy.nbt.io.SnbtReader;
+import dev.dewy.nbt.region.RegionFile;
+import dev.dewy.nbt.region.WorldChunkPosition;
 import dev.dewy.nbt.tags.collection.CompoundTag;
+import dev.dewy.nbt.tags.collection.LazyCompoundTag;
+import dev.dewy.nbt.utils.ExecutorUtils;
 import lombok.Cleanup;
 import lombok.NonNull;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.zip.DeflaterOutputStream;
-import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
-import java.util.zip.InflaterInputStream;
 
 /**
  * Standard interface for reading and writing NBT data structures.
@@ -25,12 +61,21 @@ import java.util.zip.InflaterInputStream;
  * @author dewy
  */
 public class Nbt {
+    private static final int FILE_BUFFER_SIZE = 65536;
+
     private @NonNull Gson gson;
     private @NonNull TagTypeRegistry typeRegistry;
     private @NonNull SnbtConfig snbtConfig;
 
     private final @NonNull NbtWriter writer;
     private final @NonNull NbtReader reader;
+    private final @NonNull SnbtReader snbtReader;
+    private final @NonNull NbtJsonWriter jsonWriter;
+    private final @NonNull NbtJsonReader jsonReader;
+    private final @NonNull PlainJsonWriter plainJsonWriter;
+    private final @NonNull PlainJsonReader plainJsonReader;
+
+    private @NonNull Executor executor = ExecutorUtils.defaultExecutor();
 
     /**
      * Constructs an instance of this class using a default {@link TagTypeRegistry} (supporting the standard 12 tag types).
@@ -72,6 +117,11 @@ public class Nbt {
 
         this.writer = new NbtWriter(typeRegistry);
         this.reader = new NbtReader(typeRegistry);
+        this.snbtReader = new SnbtReader(typeRegistry);
+        this.jsonWriter = new NbtJsonWriter(typeRegistry);
+        this.jsonReader = new NbtJsonReader(typeRegistry);
+        this.plainJsonWriter = new PlainJsonWriter(typeRegistry);
+        this.plainJsonReader = new PlainJsonReader(typeRegistry);
     }
 
     /**
@@ -85,6 +135,16 @@ public class Nbt {
         this.writer.toStream(compound, output);
     }
 
+    /**
+     * Returns an {@link NbtStreamWriter} writing to a provided {@link DataOutput} stream, used to write an NBT structure without building a {@link CompoundTag}.
+     *
+     * @param output the stream to write to.
+     * @return a new {@link NbtStreamWriter} using this instance's {@link TagTypeRegistry}.
+     */
+    public NbtStreamWriter streamWriter(@NonNull DataOutput output) {
+        return new NbtStreamWriter(output, this.typeRegistry);
+    }
+
     /**
      * Writes the given root {@link CompoundTag} to a {@link File} with no compression.
      *
@@ -105,21 +165,53 @@ public class Nbt {
      * @throws IOException if any I/O error occurs.
      */
     public void toFile(@NonNull CompoundTag compound, @NonNull File file, @NonNull CompressionType compression) throws IOException {
-        @Cleanup BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(file));
-        @Cleanup DataOutputStream dos = null;
-
-        switch (compression) {
-            case NONE:
-                dos = new DataOutputStream(bos);
-                break;
-            case GZIP:
-                dos = new DataOutputStream(new GZIPOutputStream(bos));
-                break;
-            case ZLIB:
-                dos = new DataOutputStream(new DeflaterOutputStream(bos));
+        @Cleanup FileOutputStream fos = new FileOutputStream(file);
+
+        if (compression == CompressionType.NONE) {
+            ByteBufferOutput output = new ByteBufferOutput(fos.getChannel(), FILE_BUFFER_SIZE);
+
+            this.toStream(compound, output);
+            output.flush();
+
+            return;
         }
 
-        this.toStream(compound, dos);
+        @Cleanup OutputStream stream = compression == CompressionType.GZIP
+                ? new GZIPOutputStream(fos, FILE_BUFFER_SIZE)
+                : new DeflaterOutputStream(new BufferedOutputStream(fos, FILE_BUFFER_SIZE));
+        ByteBufferOutput output = new ByteBufferOutput(stream, FILE_BUFFER_SIZE);
+
+        this.toStream(compound, output);
+        output.flush();
+    }
+
+    /**
+     * Asynchronously writes the given root {@link CompoundTag} to a {@link File} with no compression, on this instance's {@link #getExecutor() executor}.
+     * The compound must not be modified until the returned future completes; to keep modifying it meanwhile, pass a {@link CompoundTag#snapshot()} of it instead.
+     *
+     * @param compound the NBT structure to write, contained within a {@link CompoundTag}.
+     * @param file the file to write to.
+     * @return a future completing once the file is written, or completing exceptionally with a {@link CompletionException} wrapping any {@link IOException}.
+     */
+    public CompletableFuture<Void> toFileAsync(@NonNull CompoundTag compound, @NonNull File file) {
+        return this.toFileAsync(compound, file, CompressionType.NONE);
+    }
+
+    /**
+     * Asynchronously writes the given root {@link CompoundTag} to a {@link File} using a certain {@link CompressionType}, on this instance's {@link #getExecutor() executor}.
+     * The compound must not be modified until the returned future completes; to keep modifying it meanwhile, pass a {@link CompoundTag#snapshot()} of it instead.
+     *
+     * @param compound the NBT structure to write, contained within a {@link CompoundTag}.
+     * @param file the file to write to.
+     * @param compression the compression to be applied.
+     * @return a future completing once the file is written, or completing exceptionally with a {@link CompletionException} wrapping any {@link IOException}.
+     */
+    public CompletableFuture<Void> toFileAsync(@NonNull CompoundTag compound, @NonNull File file, @NonNull CompressionType compression) {
+        return this.async(() -> {
+            this.toFile(compound, file, compression);
+
+            return null;
+        });
     }
 
     /**
@@ -132,6 +224,18 @@ public class Nbt {
         return compound.toSnbt(0, this.typeRegistry, this.snbtConfig);
     }
 
+    /**
+     * Serializes the given root {@link CompoundTag} to SNBT (Stringified NBT), streaming it straight to an {@link Appendable} such as a {@link Writer}.
+     * This avoids building the whole SNBT string in memory, and is preferable for large structures.
+     *
+     * @param compound the NBT structure to serialize to SNBT, contained within a {@link CompoundTag}.
+     * @param out the {@link Appendable} to write to.
+     * @throws IOException if any I/O error occurs.
+     */
+    public void toSnbt(@NonNull CompoundTag compound, @NonNull Appendable out) throws IOException {
+        compound.writeSnbt(out, 0, this.typeRegistry, this.snbtConfig);
+    }
+
     /**
      * Serializes the given root {@link CompoundTag} to a JSON {@link File}.
      *
@@ -140,25 +244,93 @@ public class Nbt {
      * @throws IOException if any I/O error occurs.
      */
     public void toJson(@NonNull CompoundTag compound, @NonNull File file) throws IOException {
-        @Cleanup FileWriter writer = new FileWriter(file);
+        @Cleanup Writer writer = new BufferedWriter(new FileWriter(file), FILE_BUFFER_SIZE);
 
-        gson.toJson(compound.toJson(0, this.typeRegistry), writer);
+        this.toJson(compound, writer);
     }
 
     /**
-     * Converts the given root {@link CompoundTag} to a {@code byte[]} array.
+     * Serializes the given root {@link CompoundTag} to JSON, streaming it token by token to a {@link Writer} without building a JSON tree in memory.
+     * The output is formatted according to this instance's {@code Gson} (e.g. pretty printing), and the writer is flushed but not closed.
+     *
+     * @param compound the NBT structure to serialize to JSON, contained within a {@link CompoundTag}.
+     * @param writer the writer to write to.
+     * @throws IOException if any I/O error occurs.
+     */
+    public void toJson(@NonNull CompoundTag compound, @NonNull Writer writer) throws IOException {
+        JsonWriter out = this.gson.newJsonWriter(writer);
+
+        // as Gson#toJson(JsonElement, JsonWriter) does, so that the output matches Gson's, NaN and infinite values included
+        out.setLenient(true);
+        out.setHtmlSafe(this.gson.htmlSafe());
+
+        this.jsonWriter.toJson(compound, out);
+    }
+
+    /**
+     * Serializes the given root {@link CompoundTag} to plain JSON, in which compounds are objects keyed by tag name and lists are arrays,
+     * without the per-tag type wrappers of {@link #toJson(CompoundTag, Writer)}. Tag types are kept in the values themselves
+     * (e.g. {@code 5} for an int, {@code "5b"} for a byte, {@code "[I;1,2]"} for an int array), so that {@link #fromPlainJson(Reader)} reads
+     * the same structure back. The root compound's name, and the element type of empty lists, are not kept. The output is formatted
+     * according to this instance's {@code Gson}, and the writer is flushed but not closed.
+     *
+     * @param compound the NBT structure to serialize to plain JSON, contained within a {@link CompoundTag}.
+     * @param writer the writer to write to.
+     * @throws IOException if any I/O error occurs, or the structure holds tags of custom types.
+     */
+    public void toPlainJson(@NonNull CompoundTag compound, @NonNull Writer writer) throws IOException {
+        JsonWriter out = this.gson.newJsonWriter(writer);
+        out.setHtmlSafe(this.gson.htmlSafe());
+
+        this.plainJsonWriter.toJson(compound, out);
+    }
+
+    /**
+     * Serializes the given root {@link CompoundTag} to a plain JSON {@code String}. See {@link #toPlainJson(CompoundTag, Writer)}.
+     *
+     * @param compound the NBT structure to serialize to plain JSON, contained within a {@link CompoundTag}.
+     * @return the plain JSON.
+     * @throws IOException if the structure holds tags of custom types.
+     */
+    public String toPlainJson(@NonNull CompoundTag compound) throws IOException {
+        StringWriter writer = new StringWriter();
+
+        this.toPlainJson(compound, writer);
+
+        return writer.toString();
+    }
+
+    /**
+     * Converts the given root {@link CompoundTag} to a {@code byte[]} array, allocated once at the structure's exact serialized size.
      *
      * @param compound the NBT structure to write, contained within a {@link CompoundTag}.
      * @return the resulting {@code byte[]} array.
      * @throws IOException if any I/O error occurs.
      */
     public byte[] toByteArray(@NonNull CompoundTag compound) throws IOException {
-        @Cleanup ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        @Cleanup DataOutputStream w = new DataOutputStream(baos);
+        return this.writer.toByteArray(compound);
+    }
 
-        this.toStream(compound, w);
+    /**
+     * Asynchronously converts the given root {@link CompoundTag} to a {@code byte[]} array, on this instance's {@link #getExecutor() executor}.
+     * The compound must not be modified until the returned future completes; to keep modifying it meanwhile, pass a {@link CompoundTag#snapshot()} of it instead.
+     *
+     * @param compound the NBT structure to write, contained within a {@link CompoundTag}.
+     * @return a future completing with the resulting {@code byte[]} array, or completing exceptionally with a {@link CompletionException} wrapping any {@link IOException}.
+     */
+    public CompletableFuture<byte[]> toByteArrayAsync(@NonNull CompoundTag compound) {
+        return this.async(() -> this.toByteArray(compound));
+    }
 
-        return baos.toByteArray();
+    /**
+     * Returns the exact number of bytes the given root {@link CompoundTag} is written as, uncompressed, such as for a length-prefixed frame.
+     *
+     * @param compound the NBT structure to measure, contained within a {@link CompoundTag}.
+     * @return the serialized size of the structure, in bytes.
+     * @throws IOException if any I/O error occurs.
+     */
+    public long serializedSize(@NonNull CompoundTag compound) throws IOException {
+        return this.writer.serializedSize(compound);
     }
 
     /**
@@ -183,6 +355,41 @@ public class Nbt {
         return this.reader.fromStream(input);
     }
 
+    /**
+     * Reads an NBT data structure (root {@link LazyCompoundTag}) from a {@link DataInput} stream, deferring the decoding of nested compounds and lists until they are accessed.
+     *
+     * @param input the stream to read from.
+     * @return the root {@link LazyCompoundTag} read from the stream.
+     * @throws IOException if any I/O error occurs.
+     */
+    public LazyCompoundTag fromStreamLazy(@NonNull DataInput input) throws IOException {
+        return this.reader.fromStreamLazy(input);
+    }
+
+    /**
+     * Reads an NBT data structure (root {@link CompoundTag}) from a {@link DataInput} stream, passing each tag to a {@link NbtVisitor} rather than building a tag tree.
+     *
+     * @param input the stream to read from.
+     * @param visitor the visitor receiving the decoded tags.
+     * @throws IOException if any I/O error occurs.
+     */
+    public void accept(@NonNull DataInput input, @NonNull NbtVisitor visitor) throws IOException {
+        this.reader.accept(input, visitor);
+    }
+
+    /**
+     * Reads an NBT data structure (root {@link CompoundTag}) from an {@link InputStream}, detecting and undoing its compression (if any) as it goes.
+     * The stream is not closed.
+     *
+     * @param input the stream to read from, which need not support mark and reset.
+     * @return the root {@link CompoundTag} read from the stream.
+     * @throws IOException if any I/O error occurs.
+     * @see CompressionType#decompress(InputStream)
+     */
+    public CompoundTag fromInputStream(@NonNull InputStream input) throws IOException {
+        return this.fromStream(new DataInputStream(CompressionType.decompress(input)));
+    }
+
     /**
      * Reads an NBT data structure (root {@link CompoundTag}) from a {@link File}.
      *
@@ -191,27 +398,356 @@ public class Nbt {
      * @throws IOException if any I/O error occurs.
      */
     public CompoundTag fromFile(@NonNull File file) throws IOException {
-        @Cleanup BufferedInputStream bis = new BufferedInputStream(new FileInputStream(file));
-        @Cleanup DataInputStream in = null;
-
-        @Cleanup FileInputStream fis = new FileInputStream(file);
-        switch (CompressionType.getCompression(fis)) {
-            case NONE:
-                in = new DataInputStream(bis);
-                break;
-            case GZIP:
-                in = new DataInputStream(new GZIPInputStream(bis));
-                break;
-            case ZLIB:
-                in = new DataInputStream(new InflaterInputStream(bis));
-                break;
-            default:
-                throw new IllegalStateException("Illegal compression type. This should never happen.");
-        }
+        @Cleanup DataInputStream in = this.openFile(file);
 
         return this.fromStream(in);
     }
 
+    /**
+     * Asynchronously reads an NBT data structure (root {@link CompoundTag}) from a {@link File}, on this instance's {@link #getExecutor() executor}.
+     *
+     * @param file the file to read from.
+     * @return a future completing with the root {@link CompoundTag} read from the file, or completing exceptionally with a {@link CompletionException} wrapping any {@link IOException}.
+     */
+    public CompletableFuture<CompoundTag> fromFileAsync(@NonNull File file) {
+        return this.async(() -> this.fromFile(file));
+    }
+
+    /**
+     * Reads an NBT data structure (root {@link CompoundTag}) from a file, using the given {@link ReadOptions}.
+     * When memory mapping is enabled in the options, the file's first bytes are checked for compression, and an uncompressed file
+     * is then mapped into memory and decoded straight from the mapping. Compressed files are read through a stream over the same channel.
+     *
+     * @param path the path of the file to read from.
+     * @param options the options to read with.
+     * @return the root {@link CompoundTag} read from the file.
+     * @throws IOException if any I/O error occurs.
+     */
+    public CompoundTag fromFile(@NonNull Path path, @NonNull ReadOptions options) throws IOException {
+        if (!options.isMemoryMapped()) {
+            return this.fromFile(path.toFile());
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(2);
+
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // a channel may return fewer bytes than requested
+            }
+
+            header.flip();
+
+            if (CompressionType.getCompression(header) == CompressionType.NONE && channel.size() <= Integer.MAX_VALUE) {
+                return this.fromByteBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+
+            channel.position(0);
+
+            return this.fromStream(new DataInputStream(CompressionType.decompress(Channels.newInputStream(channel))));
+        }
+    }
+
+    /**
+     * Reads an NBT data structure (root {@link LazyCompoundTag}) from a {@link File}, deferring the decoding of nested compounds and lists until they are accessed.
+     *
+     * @param file the file to read from.
+     * @return the root {@link LazyCompoundTag} read from the file.
+     * @throws IOException if any I/O error occurs.
+     */
+    public LazyCompoundTag fromFileLazy(@NonNull File file) throws IOException {
+        @Cleanup DataInputStream in = this.openFile(file);
+
+        return this.fromStreamLazy(in);
+    }
+
+    /**
+     * Reads an NBT data structure (root {@link CompoundTag}) from a {@link File}, passing each tag to a {@link NbtVisitor} rather than building a tag tree.
+     *
+     * @param file the file to read from.
+     * @param visitor the visitor receiving the decoded tags.
+     * @throws IOException if any I/O error occurs.
+     */
+    public void accept(@NonNull File file, @NonNull NbtVisitor visitor) throws IOException {
+        @Cleanup DataInputStream in = this.openFile(file);
+
+        this.accept(in, visitor);
+    }
+
+    /**
+     * Reads only the tags at the given paths from an NBT data structure (root {@link CompoundTag}) in a {@link DataInput} stream, skipping everything else.
+     *
+     * @param input the stream to read from.
+     * @param paths the dot-separated paths of the tags to read, relative to the root compound (e.g. {@code "Data.LastPlayed"}).
+     * @return the tags found, keyed by path.
+     * @throws IOException if any I/O error occurs.
+     */
+    public Map<String, Tag> extract(@NonNull DataInput input, @NonNull Collection<String> paths) throws IOException {
+        return this.reader.extract(input, paths);
+    }
+
+    /**
+     * Reads only the tags at the given paths from an NBT data structure (root {@link CompoundTag}) in a {@link File}, skipping everything else.
+     *
+     * @param file the file to read from.
+     * @param paths the dot-separated paths of the tags to read, relative to the root compound (e.g. {@code "Data.LastPlayed"}).
+     * @return the tags found, keyed by path.
+     * @throws IOException if any I/O error occurs.
+     */
+    public Map<String, Tag> extract(@NonNull File file, @NonNull Collection<String> paths) throws IOException {
+        @Cleanup DataInputStream in = this.openFile(file);
+
+        return this.extract(in, paths);
+    }
+
+    private <T> CompletableFuture<T> async(IOSupplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.get();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, this.executor);
+    }
+
+    private DataInputStream openFile(File file) throws IOException {
+        FileInputStream fis = new FileInputStream(file);
+
+        try {
+            return new DataInputStream(CompressionType.decompress(fis));
+        } catch (IOException e) {
+            fis.close();
+
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an Anvil region file ({@code .mca}), giving random access to the chunks stored in it. The returned {@link RegionFile} must be closed.
+     *
+     * @param path the path of the region file.
+     * @return the opened {@link RegionFile}, reading chunks with this instance's {@link TagTypeRegistry}.
+     * @throws IOException if any I/O error occurs.
+     */
+    public RegionFile openRegion(@NonNull Path path) throws IOException {
+        return new RegionFile(path, this.reader);
+    }
+
+    /**
+     * Decodes every chunk of every region file ({@code r.<x>.<z>.mca}) in a world's region directory concurrently, one task per chunk,
+     * on the given {@link Executor}, handing each chunk to the given action as soon as it is decoded. The action may be invoked from several threads at once.
+     * Only as many region files as there are available processors are open at a time: each is opened once its turn comes, and closed once all of its chunks are decoded.
+     *
+     * @param directory the region directory to read from.
+     * @param action the action to perform on each chunk, given its world chunk coordinates.
+     * @param executor the executor to decode chunks on.
+     * @return a future completing once every chunk has been handed to the action,
+     * or completing exceptionally with a {@link CompletionException} wrapping the first {@link IOException} encountered, after which no further region files are opened.
+     * @throws IOException if any I/O error occurs while listing the region files.
+     */
+    public CompletableFuture<Void> forEachChunk(@NonNull Path directory, @NonNull BiConsumer<WorldChunkPosition, CompoundTag> action, @NonNull Executor executor) throws IOException {
+        List<Path> paths = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "r.*.mca")) {
+            for (Path path : stream) {
+                paths.add(path);
+            }
+        }
+
+        RegionWindow window = new RegionWindow(paths, action, executor);
+        int lanes = Math.min(Runtime.getRuntime().availableProcessors(), paths.size());
+
+        if (lanes == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        window.running.set(lanes);
+
+        for (int i = 0; i < lanes; i++) {
+            window.next();
+        }
+
+        return window.result;
+    }
+
+    /**
+     * Decodes every chunk of every region file in a world's region directory concurrently on the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param directory the region directory to read from.
+     * @param action the action to perform on each chunk, given its world chunk coordinates.
+     * @return a future completing once every chunk has been handed to the action.
+     * @throws IOException if any I/O error occurs while listing the region files.
+     * @see #forEachChunk(Path, BiConsumer, Executor)
+     */
+    public CompletableFuture<Void> forEachChunk(@NonNull Path directory, @NonNull BiConsumer<WorldChunkPosition, CompoundTag> action) throws IOException {
+        return this.forEachChunk(directory, action, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reads many NBT data structures (root {@link CompoundTag}s) from files in parallel, on this instance's {@link #getExecutor() executor}.
+     * At most {@code parallelism} files are processed at once, each worker reusing its own buffers and inflaters from one file to the next (see {@link NbtFileCodec}).
+     * The compression of each file is detected separately.
+     *
+     * @param paths the paths of the files to read from.
+     * @param parallelism the maximum number of files to process at once.
+     * @return the root {@link CompoundTag}s read, keyed by path, in the iteration order of the given paths.
+     * @throws IOException if any I/O error occurs, in which case the remaining files are skipped.
+     */
+    public Map<Path, CompoundTag> fromFiles(@NonNull Collection<Path> paths, int parallelism) throws IOException {
+        List<Path> files = new ArrayList<>(paths);
+        CompoundTag[] results = new CompoundTag[files.size()];
+
+        this.runBatch(files.size(), parallelism, (codec, i) -> results[i] = codec.read(files.get(i)));
+
+        Map<Path, CompoundTag> map = new LinkedHashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            map.put(files.get(i), results[i]);
+        }
+
+        return map;
+    }
+
+    /**
+     * Reads many NBT data structures (root {@link CompoundTag}s) from files in parallel, processing as many files at once as there are available processors.
+     *
+     * @param paths the paths of the files to read from.
+     * @return the root {@link CompoundTag}s read, keyed by path, in the iteration order of the given paths.
+     * @throws IOException if any I/O error occurs, in which case the remaining files are skipped.
+     * @see #fromFiles(Collection, int)
+     */
+    public Map<Path, CompoundTag> fromFiles(@NonNull Collection<Path> paths) throws IOException {
+        return this.fromFiles(paths, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Reads every file in a directory whose name matches a glob pattern (e.g. {@code "*.dat"}) in parallel, processing as many files at once as there are available processors.
+     * Subdirectories are not descended into.
+     *
+     * @param directory the directory to read from.
+     * @param glob the glob pattern file names must match, as per {@link Files#newDirectoryStream(Path, String)}.
+     * @return the root {@link CompoundTag}s read, keyed by path.
+     * @throws IOException if any I/O error occurs, in which case the remaining files are skipped.
+     * @see #fromFiles(Collection, int)
+     */
+    public Map<Path, CompoundTag> fromDirectory(@NonNull Path directory, @NonNull String glob) throws IOException {
+        List<Path> files = new ArrayList<>();
+
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, glob)) {
+            for (Path path : paths) {
+                if (Files.isRegularFile(path)) {
+                    files.add(path);
+                }
+            }
+        }
+
+        return this.fromFiles(files);
+    }
+
+    /**
+     * Reads every {@code .dat} file in a directory, such as a world's {@code playerdata} or {@code data} directory, in parallel.
+     *
+     * @param directory the directory to read from.
+     * @return the root {@link CompoundTag}s read, keyed by path.
+     * @throws IOException if any I/O error occurs, in which case the remaining files are skipped.
+     * @see #fromDirectory(Path, String)
+     */
+    public Map<Path, CompoundTag> fromDirectory(@NonNull Path directory) throws IOException {
+        return this.fromDirectory(directory, "*.dat");
+    }
+
+    /**
+     * Writes many root {@link CompoundTag}s to files in parallel using a certain {@link CompressionType}, on this instance's {@link #getExecutor() executor}.
+     * At most {@code parallelism} files are processed at once, each worker reusing its own buffers and deflaters from one file to the next (see {@link NbtFileCodec}).
+     * The compounds must not be modified until this method returns.
+     *
+     * @param files the NBT structures to write, keyed by the path of the file to write each to.
+     * @param compression the compression to be applied.
+     * @param parallelism the maximum number of files to process at once.
+     * @throws IOException if any I/O error occurs, in which case the remaining files are skipped.
+     */
+    public void toFiles(@NonNull Map<Path, CompoundTag> files, @NonNull CompressionType compression, int parallelism) throws IOException {
+        List<Map.Entry<Path, CompoundTag>> entries = new ArrayList<>(files.entrySet());
+
+        this.runBatch(entries.size(), parallelism, (codec, i) -> codec.write(entries.get(i).getValue(), entries.get(i).getKey(), compression));
+    }
+
+    /**
+     * Writes many root {@link CompoundTag}s to files in parallel using a certain {@link CompressionType}, processing as many files at once as there are available processors.
+     *
+     * @param files the NBT structures to write, keyed by the path of the file to write each to.
+     * @param compression the compression to be applied.
+     * @throws IOException if any I/O error occurs, in which case the remaining files are skipped.
+     * @see #toFiles(Map, CompressionType, int)
+     */
+    public void toFiles(@NonNull Map<Path, CompoundTag> files, @NonNull CompressionType compression) throws IOException {
+        this.toFiles(files, compression, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs a task for each index below {@code count} on up to {@code parallelism} workers, each with its own {@link NbtFileCodec}, waiting for all to finish.
+     */
+    private void runBatch(int count, int parallelism, BatchTask task) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(parallelism, count)];
+
+        for (int w = 0; w < workers.length; w++) {
+            workers[w] = this.async(() -> {
+                try (NbtFileCodec codec = new NbtFileCodec(this.reader, this.writer)) {
+                    for (int i; (i = next.getAndIncrement()) < count; ) {
+                        task.run(codec, i);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // stops the other workers from picking up further files
+                    next.set(count);
+
+                    throw e;
+                }
+
+                return null;
+            });
+        }
+
+        try {
+            CompletableFuture.allOf(workers).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Parses an SNBT (Stringified NBT) compound, as produced by {@link #toSnbt(CompoundTag)}, into a root {@link CompoundTag}.
+     *
+     * @param snbt the SNBT to parse.
+     * @return the root {@link CompoundTag} parsed.
+     * @throws SnbtParseException if the input is not a valid SNBT compound, giving the position at which parsing failed.
+     */
+    public CompoundTag fromSnbt(@NonNull CharSequence snbt) throws SnbtParseException {
+        return this.snbtReader.fromSnbt(snbt);
+    }
+
+    /**
+     * Parses an SNBT (Stringified NBT) compound read in full from a {@link Reader} into a root {@link CompoundTag}. The reader is not closed.
+     *
+     * @param reader the reader to read SNBT from.
+     * @return the root {@link CompoundTag} parsed.
+     * @throws SnbtParseException if the input is not a valid SNBT compound, giving the position at which parsing failed.
+     * @throws IOException if any I/O error occurs.
+     */
+    public CompoundTag fromSnbt(@NonNull Reader reader) throws IOException {
+        return this.snbtReader.fromSnbt(reader);
+    }
+
     /**
      * Deserializes an NBT data structure (root {@link CompoundTag}) from a JSON {@link File}.
      *
@@ -220,9 +756,63 @@ public class Nbt {
      * @throws IOException if any I/O error occurs.
      */
     public CompoundTag fromJson(@NonNull File file) throws IOException {
-        @Cleanup FileReader reader = new FileReader(file);
+        @Cleanup Reader reader = new BufferedReader(new FileReader(file), FILE_BUFFER_SIZE);
+
+        return this.fromJson(reader);
+    }
+
+    /**
+     * Deserializes an NBT data structure (root {@link CompoundTag}) from JSON, reading it token by token from a {@link Reader} without building a JSON tree in memory.
+     * The JSON must make up the whole of the reader's input. The reader is not closed.
+     *
+     * @param reader the reader to read JSON from.
+     * @return the root {@link CompoundTag} deserialized from the JSON.
+     * @throws IOException if any I/O error occurs, or the JSON is not a valid NBT structure.
+     */
+    public CompoundTag fromJson(@NonNull Reader reader) throws IOException {
+        JsonReader in = this.gson.newJsonReader(reader);
+        in.setLenient(true);
 
-        return new CompoundTag().fromJson(gson.fromJson(reader, JsonObject.class), 0, this.typeRegistry);
+        CompoundTag compound = this.jsonReader.fromJson(in);
+
+        if (in.peek() != JsonToken.END_DOCUMENT) {
+            throw new IOException("JSON document was not fully consumed.");
+        }
+
+        return compound;
+    }
+
+    /**
+     * Deserializes an NBT data structure (root {@link CompoundTag}) from plain JSON, as written by {@link #toPlainJson(CompoundTag, Writer)}.
+     * Any JSON object can be read: numbers become int or double tags, booleans byte tags and strings string tags, unless they hold an SNBT
+     * suffixed number, array or quoted string. The root compound's name is left {@code null}. The JSON must make up the whole of the reader's input.
+     * The reader is not closed.
+     *
+     * @param reader the reader to read plain JSON from.
+     * @return the root {@link CompoundTag} deserialized from the plain JSON.
+     * @throws IOException if any I/O error occurs, or the JSON is not a valid NBT structure.
+     */
+    public CompoundTag fromPlainJson(@NonNull Reader reader) throws IOException {
+        JsonReader in = this.gson.newJsonReader(reader);
+
+        CompoundTag compound = this.plainJsonReader.fromJson(in);
+
+        if (in.peek() != JsonToken.END_DOCUMENT) {
+            throw new IOException("JSON document was not fully consumed.");
+        }
+
+        return compound;
+    }
+
+    /**
+     * Deserializes an NBT data structure (root {@link CompoundTag}) from a plain JSON {@code String}. See {@link #fromPlainJson(Reader)}.
+     *
+     * @param json the plain JSON to read.
+     * @return the root {@link CompoundTag} deserialized from the plain JSON.
+     * @throws IOException if the JSON is not a valid NBT structure.
+     */
+    public CompoundTag fromPlainJson(@NonNull String json) throws IOException {
+        return this.fromPlainJson(new StringReader(json));
     }
 
     /**
@@ -233,9 +823,40 @@ public class Nbt {
      * @throws IOException if any I/O error occurs.
      */
     public CompoundTag fromByteArray(@NonNull byte[] bytes) throws IOException {
-        @Cleanup DataInputStream bais = new DataInputStream(new BufferedInputStream(new ByteArrayInputStream(bytes)));
+        return this.fromByteBuffer(ByteBuffer.wrap(bytes));
+    }
 
-        return fromStream(bais);
+    /**
+     * Asynchronously reads an NBT data structure (root {@link CompoundTag}) from a {@code byte[]} array, on this instance's {@link #getExecutor() executor}.
+     *
+     * @param bytes the {@code byte[]} array to read from.
+     * @return a future completing with the root {@link CompoundTag} read from the array, or completing exceptionally with a {@link CompletionException} wrapping any {@link IOException}.
+     */
+    public CompletableFuture<CompoundTag> fromByteArrayAsync(@NonNull byte[] bytes) {
+        return this.async(() -> this.fromByteArray(bytes));
+    }
+
+    /**
+     * Reads an NBT data structure (root {@link CompoundTag}) from a {@link ByteBuffer}, heap or direct, decoding array tags in bulk.
+     * Reading starts at the buffer's current position, which is then advanced past the structure.
+     *
+     * @param buffer the buffer to read from.
+     * @return the root {@link CompoundTag} read from the buffer.
+     * @throws IOException if any I/O error occurs.
+     */
+    public CompoundTag fromByteBuffer(@NonNull ByteBuffer buffer) throws IOException {
+        return this.reader.fromByteBuffer(buffer);
+    }
+
+    /**
+     * Reads an NBT data structure (root {@link LazyCompoundTag}) from a {@code byte[]} array, deferring the decoding of nested compounds and lists until they are accessed.
+     *
+     * @param bytes the {@code byte[]} array to read from.
+     * @return the root {@link LazyCompoundTag} read from the array.
+     * @throws IOException if any I/O error occurs.
+     */
+    public LazyCompoundTag fromByteArrayLazy(@NonNull byte[] bytes) throws IOException {
+        return this.fromStreamLazy(new ByteBufferInput(ByteBuffer.wrap(bytes)));
     }
 
     /**
@@ -268,6 +889,49 @@ public class Nbt {
 
         this.writer.setTypeRegistry(typeRegistry);
         this.reader.setTypeRegistry(typeRegistry);
+        this.snbtReader.setTypeRegistry(typeRegistry);
+        this.jsonWriter.setTypeRegistry(typeRegistry);
+        this.jsonReader.setTypeRegistry(typeRegistry);
+        this.plainJsonWriter.setTypeRegistry(typeRegistry);
+        this.plainJsonReader.setTypeRegistry(typeRegistry);
+    }
+
+    /**
+     * Returns true if tag names read by this instance are resolved through a name cache, false otherwise.
+     *
+     * @return true if tag names read by this instance are resolved through a name cache, false otherwise.
+     */
+    public boolean isNameCacheEnabled() {
+        return this.reader.isNameCacheEnabled();
+    }
+
+    /**
+     * Sets whether tag names read by this instance are resolved through a name cache, deduplicating repeated names. Enabled by default.
+     *
+     * @param enabled true to enable the name cache, false to decode every name.
+     * @see NbtReader#setNameCacheEnabled(boolean)
+     */
+    public void setNameCacheEnabled(boolean enabled) {
+        this.reader.setNameCacheEnabled(enabled);
+    }
+
+    /**
+     * Returns the {@link Executor} currently used by this instance's asynchronous methods.
+     *
+     * @return the {@link Executor} currently used by this instance's asynchronous methods.
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Sets the {@link Executor} used by this instance's asynchronous methods, such as {@link #fromFileAsync(File)}.
+     * Defaults to {@link ExecutorUtils#defaultExecutor()}, running each task on its own virtual thread where supported.
+     *
+     * @param executor the new {@link Executor} to be set.
+     */
+    public void setExecutor(@NonNull Executor executor) {
+        this.executor = executor;
     }
 
     /**
@@ -305,4 +969,87 @@ public class Nbt {
     public void setSnbtConfig(@NonNull SnbtConfig snbtConfig) {
         this.snbtConfig = snbtConfig;
     }
+
+    /**
+     * A task producing a result, which may throw an {@link IOException}.
+     */
+    @FunctionalInterface
+    private interface IOSupplier<T> {
+        T get() throws IOException;
+    }
+
+    /**
+     * A step of a batch, processing the file at a given index with a worker's {@link NbtFileCodec}.
+     */
+    @FunctionalInterface
+    private interface BatchTask {
+        void run(NbtFileCodec codec, int index) throws IOException;
+    }
+
+    /**
+     * Walks the region files of {@link #forEachChunk(Path, BiConsumer, Executor)} with a bounded number of them open at once,
+     * each lane moving on to the next unopened file once the chunks of its current one are all decoded.
+     */
+    private final class RegionWindow {
+        private final List<Path> paths;
+        private final BiConsumer<WorldChunkPosition, CompoundTag> action;
+        private final Executor executor;
+
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private RegionWindow(List<Path> paths, BiConsumer<WorldChunkPosition, CompoundTag> action, Executor executor) {
+            this.paths = paths;
+            this.action = action;
+            this.executor = executor;
+        }
+
+        private void next() {
+            int i = this.next.getAndIncrement();
+
+            if (i >= this.paths.size() || this.failure.get() != null) {
+                this.finish();
+                return;
+            }
+
+            RegionFile region;
+
+            try {
+                region = Nbt.this.openRegion(this.paths.get(i));
+            } catch (IOException e) {
+                this.failure.compareAndSet(null, new CompletionException(e));
+                this.finish();
+                return;
+            }
+
+            // continued asynchronously, so that a run of empty region files does not recurse
+            region.forEachChunkAsync((position, chunk) -> this.action.accept(region.getWorldPosition(position), chunk), this.executor)
+                    .whenCompleteAsync((v, t) -> {
+                        try {
+                            region.close();
+                        } catch (IOException ignored) {
+                        }
+
+                        if (t != null) {
+                            this.failure.compareAndSet(null, t instanceof CompletionException ? t : new CompletionException(t));
+                        }
+
+                        this.next();
+                    }, this.executor);
+        }
+
+        private void finish() {
+            if (this.running.decrementAndGet() == 0) {
+                Throwable t = this.failure.get();
+
+                if (t == null) {
+                    this.result.complete(null);
+                } else {
+                    this.result.completeExceptionally(t);
+                }
+            }
+        }
+    }
 }
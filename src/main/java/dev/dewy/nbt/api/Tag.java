@@ -4,7 +4,10 @@ import dev.dewy.nbt.api.registry.TagTypeRegistry;
 
 import java.io.DataInput;
 import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
 
 /**
  * An abstract NBT tag.
@@ -13,6 +16,7 @@ import java.io.IOException;
  */
 public abstract class Tag {
     private String name;
+    private boolean frozen;
 
     /**
      * Returns the name (key) of this tag.
@@ -27,11 +31,53 @@ public abstract class Tag {
      * Sets the name (key) of this tag.
      *
      * @param name the new name to be set.
+     * @throws UnsupportedOperationException if this tag is frozen and the name differs from its current one.
      */
     public void setName(String name) {
+        if (this.frozen && !Objects.equals(this.name, name)) {
+            throw new UnsupportedOperationException("Tag is frozen.");
+        }
+
         this.name = name;
     }
 
+    /**
+     * Freezes this tag, making it immutable: every method which would modify it, including {@link #read(DataInput, int, TagTypeRegistry)},
+     * throws {@link UnsupportedOperationException} from then on. Compound and list tags freeze the tags within them too.
+     * Freezing cannot be undone. Frozen compound, list and array tags cache their hash codes, and compare unequal to one another without
+     * a full comparison when their hash codes differ. Values obtained from a tag before it was frozen (such as its map, list or array) must not be modified afterwards.
+     *
+     * <p>A frozen tree is never modified, even when read, so once safely published it can be shared between threads without copying or locking.
+     * Custom tag types should call {@link #checkMutable()} from each of their own mutators.</p>
+     *
+     * @return this tag.
+     */
+    public Tag freeze() {
+        this.frozen = true;
+
+        return this;
+    }
+
+    /**
+     * Returns true if this tag has been frozen, false otherwise.
+     *
+     * @return true if this tag has been frozen, false otherwise.
+     */
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Throws {@link UnsupportedOperationException} if this tag is frozen. Called at the start of every method modifying a tag.
+     *
+     * @throws UnsupportedOperationException if this tag is frozen.
+     */
+    protected void checkMutable() {
+        if (this.frozen) {
+            throw new UnsupportedOperationException("Tag is frozen.");
+        }
+    }
+
     /**
      * Returns a unique ID for this NBT tag type. 0 to 12 (inclusive) are reserved.
      *
@@ -66,4 +112,31 @@ public abstract class Tag {
      * @throws IOException if any I/O error occurs.
      */
     public abstract Tag read(DataInput input, int depth, TagTypeRegistry registry) throws IOException;
+
+    /**
+     * Returns the exact number of bytes {@link #write(DataOutput, int, TagTypeRegistry)} writes for this tag, excluding its type ID and name.
+     * Built-in tag types compute this directly; the default implementation counts the bytes written by an actual write, and may be overridden by custom tag types.
+     *
+     * @param depth the current depth of the NBT data structure.
+     * @param registry the {@link TagTypeRegistry} to be used in writing.
+     * @return the serialized size of this tag, in bytes.
+     * @throws IOException if any I/O error occurs.
+     */
+    public long serializedSize(int depth, TagTypeRegistry registry) throws IOException {
+        long[] count = new long[1];
+
+        this.write(new DataOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                count[0]++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                count[0] += len;
+            }
+        }), depth, registry);
+
+        return count[0];
+    }
 }
@@ -5,16 +5,19 @@ import dev.dewy.nbt.tags.TagType;
 import lombok.NonNull;
 
 import java.lang.reflect.Constructor;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * A registry mapping {@code byte} tag type IDs to tag type classes. Used to register custom-made {@link Tag} types.
+ * Each registered type is backed by a factory, so creating a tag while reading is a single array load and constructor call.
  *
  * @author dewy
  */
 public class TagTypeRegistry {
-    private final Map<Byte, @NonNull Class<? extends Tag>> registry = new HashMap<>();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Class<? extends Tag>[] classes = new Class[256];
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Supplier<? extends Tag>[] factories = new Supplier[256];
 
     {
         TagType.registerAll(this);
@@ -22,32 +25,60 @@ public class TagTypeRegistry {
 
     /**
      * Register a custom-made tag type with a unique {@code byte} ID. IDs 0-12 (inclusive) are reserved and may not be used.
+     * Tags of this type are created reflectively through the class's no-args constructor, which is looked up once here.
+     * Prefer {@link #registerTagType(byte, Class, Supplier)} to avoid reflection entirely.
      *
      * @param id the tag type's unique ID used in reading and writing.
      * @param clazz the tag type class.
+     * @param <T> the tag type.
+     * @throws TagTypeRegistryException if the ID provided is either registered already or is a reserved ID (0-12 inclusive),
+     * or if the class has no no-args constructor.
+     */
+    public <T extends Tag> void registerTagType(byte id, @NonNull Class<T> clazz) throws TagTypeRegistryException {
+        Constructor<T> constructor;
+
+        try {
+            constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (ReflectiveOperationException | SecurityException e) {
+            throw new TagTypeRegistryException("Cannot register NBT tag type " + clazz + " with ID " + id + ", as it has no accessible no-args constructor.", e);
+        }
+
+        this.registerTagType(id, clazz, () -> {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Instance of tag type class " + clazz.getSimpleName() + " could not be created.", e);
+            }
+        });
+    }
+
+    /**
+     * Register a custom-made tag type with a unique {@code byte} ID, created through a given factory. IDs 0-12 (inclusive) are reserved and may not be used.
+     *
+     * @param id the tag type's unique ID used in reading and writing.
+     * @param clazz the tag type class.
+     * @param factory the factory returning a new, empty instance of the tag type (typically a constructor reference such as {@code MyTag::new}).
+     * @param <T> the tag type.
      * @throws TagTypeRegistryException if the ID provided is either registered already or is a reserved ID (0-12 inclusive).
      */
-    public void registerTagType(byte id, @NonNull Class<? extends Tag> clazz) throws TagTypeRegistryException {
+    public <T extends Tag> void registerTagType(byte id, @NonNull Class<T> clazz, @NonNull Supplier<T> factory) throws TagTypeRegistryException {
         if (id == 0) {
             throw new TagTypeRegistryException("Cannot register NBT tag type " + clazz + " with ID " + id + ", as that ID is reserved.");
         }
 
-        if (this.registry.containsKey(id)) {
-            throw new TagTypeRegistryException("Cannot register NBT tag type " + clazz + " with ID " + id + ", as that ID is already in use by the tag type " + this.registry.get(id).getSimpleName());
+        if (this.classes[id & 0xFF] != null) {
+            throw new TagTypeRegistryException("Cannot register NBT tag type " + clazz + " with ID " + id + ", as that ID is already in use by the tag type " + this.classes[id & 0xFF].getSimpleName());
         }
 
-        if (registry.containsValue(clazz)) {
-            byte existing = 0;
-            for (Map.Entry<Byte, Class<? extends Tag>> entry : this.registry.entrySet()) {
-                if (entry.getValue().equals(clazz)) {
-                    existing = entry.getKey();
-                }
+        for (int i = 0; i < this.classes.length; i++) {
+            if (clazz.equals(this.classes[i])) {
+                throw new TagTypeRegistryException("NBT tag type " + clazz.getSimpleName() + " already registered under ID " + (byte) i);
             }
-
-            throw new TagTypeRegistryException("NBT tag type " + clazz.getSimpleName() + " already registered under ID " + existing);
         }
 
-        this.registry.put(id, clazz);
+        this.classes[id & 0xFF] = clazz;
+        this.factories[id & 0xFF] = factory;
     }
 
     /**
@@ -61,7 +92,14 @@ public class TagTypeRegistry {
             return false;
         }
 
-        return this.registry.remove(id) != null;
+        if (this.classes[id & 0xFF] == null) {
+            return false;
+        }
+
+        this.classes[id & 0xFF] = null;
+        this.factories[id & 0xFF] = null;
+
+        return true;
     }
 
     /**
@@ -72,7 +110,14 @@ public class TagTypeRegistry {
      * @return if the tag type was deregistered successfully.
      */
     public boolean deregisterTagType(byte id, Class<? extends Tag> clazz) {
-        return this.registry.remove(id, clazz);
+        if (clazz == null || !clazz.equals(this.classes[id & 0xFF])) {
+            return false;
+        }
+
+        this.classes[id & 0xFF] = null;
+        this.factories[id & 0xFF] = null;
+
+        return true;
     }
 
     /**
@@ -82,7 +127,17 @@ public class TagTypeRegistry {
      * @return a tag type class value from the registry from a provided {@code byte} ID.
      */
     public Class<? extends Tag> getClassFromId(byte id) {
-        return this.registry.get(id);
+        return this.classes[id & 0xFF];
+    }
+
+    /**
+     * Returns the factory of a tag type from the registry from a provided {@code byte} ID, or {@code null} if no such tag type is registered.
+     *
+     * @param id the ID of the tag type to retrieve.
+     * @return the factory of a tag type from the registry from a provided {@code byte} ID.
+     */
+    public Supplier<? extends Tag> getFactoryFromId(byte id) {
+        return this.factories[id & 0xFF];
     }
 
     /**
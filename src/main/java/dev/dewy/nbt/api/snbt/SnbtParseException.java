@@ -0,0 +1,35 @@
+package dev.dewy.nbt.api.snbt;
+
+import java.io.IOException;
+
+/**
+ * Checked exception thrown when SNBT (Stringified NBT) input cannot be parsed, recording where in the input parsing failed.
+ *
+ * @author dewy
+ */
+public class SnbtParseException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final int position;
+
+    /**
+     * Constructs a new {@link SnbtParseException} with the specified detail message and input position.
+     *
+     * @param message the detail message. The detail message is saved for later retrieval by the getMessage() method.
+     * @param position the index of the character in the input at which parsing failed.
+     */
+    public SnbtParseException(String message, int position) {
+        super(message);
+
+        this.position = position;
+    }
+
+    /**
+     * Returns the index of the character in the input at which parsing failed.
+     *
+     * @return the index of the character in the input at which parsing failed.
+     */
+    public int getPosition() {
+        return this.position;
+    }
+}
@@ -2,11 +2,36 @@ package dev.dewy.nbt.api.snbt;
 
 import dev.dewy.nbt.api.registry.TagTypeRegistry;
 
+import java.io.IOException;
+
 /**
- * Interface for SNBT serialization. Must be implemented if your tag will be SNBT serializable. Reading is not yet supported.
+ * Interface for SNBT serialization. Must be implemented if your tag will be SNBT serializable. Reading is done by {@link dev.dewy.nbt.io.SnbtReader}.
  *
  * @author dewy
  */
 public interface SnbtSerializable {
+    /**
+     * Serializes this tag into an SNBT string.
+     *
+     * @param depth the current depth of the NBT data structure.
+     * @param registry the {@link TagTypeRegistry} to be used in serialization.
+     * @param config the {@link SnbtConfig} to be used in serialization.
+     * @return the serialized SNBT string.
+     */
     String toSnbt(int depth, TagTypeRegistry registry, SnbtConfig config);
+
+    /**
+     * Serializes this tag as SNBT straight to an {@link Appendable}, such as a {@code Writer} or {@code StringBuilder}.
+     * Container tags override this to stream their elements once, rather than concatenating the strings of each of them;
+     * by default, the result of {@link #toSnbt(int, TagTypeRegistry, SnbtConfig)} is appended.
+     *
+     * @param out the {@link Appendable} to write to.
+     * @param depth the current depth of the NBT data structure.
+     * @param registry the {@link TagTypeRegistry} to be used in serialization.
+     * @param config the {@link SnbtConfig} to be used in serialization.
+     * @throws IOException if any I/O error occurs.
+     */
+    default void writeSnbt(Appendable out, int depth, TagTypeRegistry registry, SnbtConfig config) throws IOException {
+        out.append(this.toSnbt(depth, registry, config));
+    }
 }
@@ -0,0 +1,214 @@
+package dev.dewy.nbt.io;
+
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A {@link DataInput} reading big-endian data from a {@link ByteBuffer}, either heap or direct.
+ * Array tags read through this input are decoded in bulk via {@link #readInts(int[])} and {@link #readLongs(long[])},
+ * rather than one {@code readInt()} or {@code readLong()} call per element, and strings are decoded straight from the buffer by {@link ModifiedUtf8}.
+ *
+ * @author dewy
+ */
+public class ByteBufferInput implements DataInput {
+    private final ByteBuffer buffer;
+    private byte[] scratch;
+
+    /**
+     * Constructs an input reading from a given {@link ByteBuffer}, starting at its current position.
+     * The buffer's own position, limit and byte order are left untouched; see {@link #position()}.
+     *
+     * @param buffer the buffer to read from.
+     */
+    public ByteBufferInput(@NonNull ByteBuffer buffer) {
+        this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Returns the position within the underlying buffer that this input has read up to.
+     *
+     * @return the position within the underlying buffer that this input has read up to.
+     */
+    public int position() {
+        return this.buffer.position();
+    }
+
+    /**
+     * Returns the number of bytes left to read from the underlying buffer.
+     *
+     * @return the number of bytes left to read from the underlying buffer.
+     */
+    public int remaining() {
+        return this.buffer.remaining();
+    }
+
+    /**
+     * Fills the given array with big-endian {@code int}s in a single bulk copy.
+     *
+     * @param dst the array to fill.
+     * @throws IOException if fewer than {@code dst.length} {@code int}s remain.
+     */
+    public void readInts(int[] dst) throws IOException {
+        this.require(4L * dst.length);
+
+        this.buffer.asIntBuffer().get(dst);
+        this.buffer.position(this.buffer.position() + 4 * dst.length);
+    }
+
+    /**
+     * Fills the given array with big-endian {@code long}s in a single bulk copy.
+     *
+     * @param dst the array to fill.
+     * @throws IOException if fewer than {@code dst.length} {@code long}s remain.
+     */
+    public void readLongs(long[] dst) throws IOException {
+        this.require(8L * dst.length);
+
+        this.buffer.asLongBuffer().get(dst);
+        this.buffer.position(this.buffer.position() + 8 * dst.length);
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        this.readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        this.require(len);
+        this.buffer.get(b, off, len);
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        int skipped = Math.max(0, Math.min(n, this.buffer.remaining()));
+        this.buffer.position(this.buffer.position() + skipped);
+
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return this.readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        this.require(1);
+
+        return this.buffer.get();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return this.readByte() & 0xFF;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        this.require(2);
+
+        return this.buffer.getShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return this.readShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        this.require(2);
+
+        return this.buffer.getChar();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        this.require(4);
+
+        return this.buffer.getInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        this.require(8);
+
+        return this.buffer.getLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        this.require(4);
+
+        return this.buffer.getFloat();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        this.require(8);
+
+        return this.buffer.getDouble();
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        if (!this.buffer.hasRemaining()) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder();
+
+        while (this.buffer.hasRemaining()) {
+            char c = (char) (this.buffer.get() & 0xFF);
+
+            if (c == '\n') {
+                break;
+            }
+
+            if (c == '\r') {
+                if (this.buffer.hasRemaining() && this.buffer.get(this.buffer.position()) == '\n') {
+                    this.buffer.get();
+                }
+
+                break;
+            }
+
+            sb.append(c);
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        int length = this.readUnsignedShort();
+        this.require(length);
+
+        if (this.buffer.hasArray()) {
+            int position = this.buffer.position();
+            this.buffer.position(position + length);
+
+            return ModifiedUtf8.decode(this.buffer.array(), this.buffer.arrayOffset() + position, length);
+        }
+
+        if (this.scratch == null || this.scratch.length < length) {
+            this.scratch = new byte[Math.max(64, Integer.highestOneBit(length) << 1)];
+        }
+
+        this.buffer.get(this.scratch, 0, length);
+
+        return ModifiedUtf8.decode(this.scratch, 0, length);
+    }
+
+    private void require(long n) throws EOFException {
+        if (n > this.buffer.remaining()) {
+            throw new EOFException();
+        }
+    }
+}
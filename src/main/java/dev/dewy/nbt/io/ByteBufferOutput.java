@@ -0,0 +1,335 @@
+package dev.dewy.nbt.io;
+
+import lombok.NonNull;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * A {@link DataOutput} writing big-endian data into a growable heap {@link ByteBuffer}, the counterpart of {@link ByteBufferInput}.
+ * Array tags written to this output are encoded in bulk via {@link #writeInts(int[])} and {@link #writeLongs(long[])},
+ * and strings are encoded straight into the buffer by {@link ModifiedUtf8}.
+ *
+ * <p>An output may either collect everything written in memory, see {@link #toByteArray()}, or be given an {@link OutputStream}
+ * or {@link WritableByteChannel} to which its buffer is drained in large chunks whenever it fills up. In the latter case,
+ * {@link #flush()} must be called once writing is done.</p>
+ *
+ * @author dewy
+ */
+public class ByteBufferOutput implements DataOutput {
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+
+    private ByteBuffer buffer;
+
+    /**
+     * Constructs an output collecting everything written to it in memory.
+     */
+    public ByteBufferOutput() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an output collecting everything written to it in memory, starting with a buffer of a given capacity.
+     *
+     * @param capacity the initial capacity of the buffer, in bytes.
+     */
+    public ByteBufferOutput(int capacity) {
+        this(null, null, capacity);
+    }
+
+    /**
+     * Constructs an output collecting everything written to it in memory, writing into a given array from its start.
+     * Should more bytes be written than the array holds, the output continues in a larger copy of it, leaving the given array incomplete.
+     *
+     * @param array the array to write into.
+     */
+    public ByteBufferOutput(@NonNull byte[] array) {
+        this.stream = null;
+        this.channel = null;
+        this.buffer = ByteBuffer.wrap(array).order(ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Constructs an output draining its buffer to a given {@link OutputStream}.
+     *
+     * @param stream the stream to drain to.
+     * @param capacity the capacity of the buffer, in bytes.
+     */
+    public ByteBufferOutput(@NonNull OutputStream stream, int capacity) {
+        this(stream, null, capacity);
+    }
+
+    /**
+     * Constructs an output draining its buffer to a given {@link WritableByteChannel}.
+     *
+     * @param channel the channel to drain to.
+     * @param capacity the capacity of the buffer, in bytes.
+     */
+    public ByteBufferOutput(@NonNull WritableByteChannel channel, int capacity) {
+        this(null, channel, capacity);
+    }
+
+    private ByteBufferOutput(OutputStream stream, WritableByteChannel channel, int capacity) {
+        if (capacity < 16) {
+            throw new IllegalArgumentException("Buffer capacity must be at least 16 bytes.");
+        }
+
+        this.stream = stream;
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(capacity).order(ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Returns the number of bytes held in the buffer, not yet drained.
+     *
+     * @return the number of bytes held in the buffer.
+     */
+    public int size() {
+        return this.buffer.position();
+    }
+
+    /**
+     * Returns a copy of the bytes held in the buffer, not yet drained. For an in-memory output, this is everything written to it.
+     *
+     * @return a copy of the bytes held in the buffer.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(this.buffer.array(), this.buffer.position());
+    }
+
+    /**
+     * Drains the bytes held in the buffer to this output's stream or channel, then flushes the stream. Does nothing for an in-memory output.
+     *
+     * @throws IOException if any I/O error occurs.
+     */
+    public void flush() throws IOException {
+        if (this.stream != null || this.channel != null) {
+            this.drain();
+        }
+
+        if (this.stream != null) {
+            this.stream.flush();
+        }
+    }
+
+    /**
+     * Writes the given {@code int}s in big-endian order, copying them in bulk.
+     *
+     * @param values the values to write.
+     * @throws IOException if any I/O error occurs.
+     */
+    public void writeInts(int[] values) throws IOException {
+        this.writeInts(values, 0, values.length);
+    }
+
+    /**
+     * Writes {@code length} {@code int}s from the given array in big-endian order, copying them in bulk.
+     *
+     * @param values the array holding the values to write.
+     * @param offset the index in the array of the first value to write.
+     * @param length the number of values to write.
+     * @throws IOException if any I/O error occurs.
+     */
+    public void writeInts(int[] values, int offset, int length) throws IOException {
+        int end = offset + length;
+
+        while (offset < end) {
+            this.require(this.sinks() ? 4 : checkedSize(4L * (end - offset)));
+
+            int count = Math.min(end - offset, this.buffer.remaining() / 4);
+
+            this.buffer.asIntBuffer().put(values, offset, count);
+            this.buffer.position(this.buffer.position() + 4 * count);
+
+            offset += count;
+        }
+    }
+
+    /**
+     * Writes the given {@code long}s in big-endian order, copying them in bulk.
+     *
+     * @param values the values to write.
+     * @throws IOException if any I/O error occurs.
+     */
+    public void writeLongs(long[] values) throws IOException {
+        this.writeLongs(values, 0, values.length);
+    }
+
+    /**
+     * Writes {@code length} {@code long}s from the given array in big-endian order, copying them in bulk.
+     *
+     * @param values the array holding the values to write.
+     * @param offset the index in the array of the first value to write.
+     * @param length the number of values to write.
+     * @throws IOException if any I/O error occurs.
+     */
+    public void writeLongs(long[] values, int offset, int length) throws IOException {
+        int end = offset + length;
+
+        while (offset < end) {
+            this.require(this.sinks() ? 8 : checkedSize(8L * (end - offset)));
+
+            int count = Math.min(end - offset, this.buffer.remaining() / 8);
+
+            this.buffer.asLongBuffer().put(values, offset, count);
+            this.buffer.position(this.buffer.position() + 8 * count);
+
+            offset += count;
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.require(1);
+        this.buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        this.write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            this.require(this.sinks() ? 1 : len);
+
+            int count = Math.min(len, this.buffer.remaining());
+            this.buffer.put(b, off, count);
+
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void writeBoolean(boolean v) throws IOException {
+        this.write(v ? 1 : 0);
+    }
+
+    @Override
+    public void writeByte(int v) throws IOException {
+        this.write(v);
+    }
+
+    @Override
+    public void writeShort(int v) throws IOException {
+        this.require(2);
+        this.buffer.putShort((short) v);
+    }
+
+    @Override
+    public void writeChar(int v) throws IOException {
+        this.require(2);
+        this.buffer.putChar((char) v);
+    }
+
+    @Override
+    public void writeInt(int v) throws IOException {
+        this.require(4);
+        this.buffer.putInt(v);
+    }
+
+    @Override
+    public void writeLong(long v) throws IOException {
+        this.require(8);
+        this.buffer.putLong(v);
+    }
+
+    @Override
+    public void writeFloat(float v) throws IOException {
+        this.require(4);
+        this.buffer.putFloat(v);
+    }
+
+    @Override
+    public void writeDouble(double v) throws IOException {
+        this.require(8);
+        this.buffer.putDouble(v);
+    }
+
+    @Override
+    public void writeBytes(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            this.write(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeChars(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            this.writeChar(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeUTF(String s) throws IOException {
+        int length = ModifiedUtf8.checkedLength(s);
+
+        this.require(length + 2);
+        this.buffer.putShort((short) length);
+
+        int position = this.buffer.position();
+        ModifiedUtf8.encode(s, this.buffer.array(), this.buffer.arrayOffset() + position);
+        this.buffer.position(position + length);
+    }
+
+    private boolean sinks() {
+        return this.stream != null || this.channel != null;
+    }
+
+    /**
+     * Makes room for at least {@code n} more bytes, draining the buffer first if this output has somewhere to drain it to.
+     */
+    private void require(int n) throws IOException {
+        if (this.buffer.remaining() >= n) {
+            return;
+        }
+
+        if (this.sinks()) {
+            this.drain();
+
+            if (this.buffer.remaining() >= n) {
+                return;
+            }
+        }
+
+        int capacity = Math.max(this.buffer.position() + n, this.buffer.capacity() * 2);
+        ByteBuffer grown = ByteBuffer.allocate(capacity).order(ByteOrder.BIG_ENDIAN);
+
+        this.buffer.flip();
+        grown.put(this.buffer);
+
+        this.buffer = grown;
+    }
+
+    private void drain() throws IOException {
+        this.buffer.flip();
+
+        if (this.stream != null) {
+            this.stream.write(this.buffer.array(), this.buffer.arrayOffset(), this.buffer.limit());
+        } else {
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+        }
+
+        this.buffer.clear();
+    }
+
+    private static int checkedSize(long n) throws IOException {
+        if (n > Integer.MAX_VALUE - 8) {
+            throw new IOException("Array too large to buffer (" + n + " bytes).");
+        }
+
+        return (int) n;
+    }
+}
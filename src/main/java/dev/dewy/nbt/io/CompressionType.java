@@ -1,8 +1,13 @@
 package dev.dewy.nbt.io;
 
+import lombok.NonNull;
+
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Defines the types of compression supported by this library for NBT data.
@@ -25,21 +30,82 @@ public enum CompressionType {
      */
     ZLIB;
 
-    public static CompressionType getCompression(InputStream in) throws IOException {
-        if (!in.markSupported()) {
-            in = new BufferedInputStream(in);
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Detects the compression of the data starting at a {@link ByteBuffer}'s current position, without changing its position.
+     *
+     * @param buffer the buffer to inspect.
+     * @return the compression type of the buffered data.
+     */
+    public static CompressionType getCompression(ByteBuffer buffer) {
+        int position = buffer.position();
+
+        if (buffer.remaining() < 2) {
+            return NONE;
         }
-        in.mark(0);
 
-        if (in.read() == 120) {
-            return ZLIB;
+        return getCompression(buffer.get(position) & 0xFF, buffer.get(position + 1) & 0xFF);
+    }
+
+    /**
+     * Detects the compression of the data at the current position of an {@link InputStream}, which must support {@link InputStream#mark(int)}.
+     * The stream is reset to its current position afterwards.
+     *
+     * @param in the stream to inspect.
+     * @return the compression type of the stream's data.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalArgumentException if the stream does not support mark and reset.
+     */
+    public static CompressionType getCompression(@NonNull InputStream in) throws IOException {
+        if (!in.markSupported()) {
+            throw new IllegalArgumentException("Stream must support mark and reset to detect its compression.");
         }
 
+        in.mark(2);
+
+        int first = in.read();
+        int second = in.read();
+
         in.reset();
-        if (in.read() == 31) {
+
+        return getCompression(first, second);
+    }
+
+    /**
+     * Returns a stream reading the decompressed data of an {@link InputStream}, detecting its compression from its first bytes.
+     * The stream is buffered if it does not support {@link InputStream#mark(int)}, and the returned stream is buffered in either case.
+     * Closing the returned stream closes the given stream.
+     *
+     * @param in the stream to read from.
+     * @return a buffered stream reading the decompressed data.
+     * @throws IOException if any I/O error occurs.
+     */
+    public static InputStream decompress(@NonNull InputStream in) throws IOException {
+        InputStream buffered = in.markSupported() ? in : new BufferedInputStream(in, BUFFER_SIZE);
+
+        switch (getCompression(buffered)) {
+            case GZIP:
+                return new BufferedInputStream(new GZIPInputStream(buffered, BUFFER_SIZE), BUFFER_SIZE);
+            case ZLIB:
+                return new BufferedInputStream(new InflaterInputStream(buffered), BUFFER_SIZE);
+            default:
+                return buffered;
+        }
+    }
+
+    /**
+     * Detects a compression from the first two bytes of some data: the GZIP magic number, or a valid ZLIB header using deflate.
+     */
+    private static CompressionType getCompression(int first, int second) {
+        if (first == 0x1F && second == 0x8B) {
             return GZIP;
         }
 
+        if (first == 0x78 && second >= 0 && ((first << 8) | second) % 31 == 0) {
+            return ZLIB;
+        }
+
         return NONE;
     }
 }
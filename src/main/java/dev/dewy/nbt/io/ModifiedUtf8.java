@@ -0,0 +1,191 @@
+package dev.dewy.nbt.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes and decodes the modified UTF-8 format of {@link DataInput#readUTF()} and {@link DataOutput#writeUTF(String)}, in which all NBT strings and tag names are stored.
+ * Plain ASCII strings, by far the most common in NBT data, take a fast path which neither inspects nor copies individual characters.
+ *
+ * @author dewy
+ */
+public final class ModifiedUtf8 {
+    private ModifiedUtf8() {
+    }
+
+    /**
+     * Returns the length in bytes of a string encoded as modified UTF-8, excluding its 2 byte length prefix.
+     *
+     * @param value the string to measure.
+     * @return the encoded length of the string.
+     */
+    public static int encodedLength(String value) {
+        int length = value.length();
+        int encoded = length;
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c >= 0x80 || c == 0) {
+                encoded += c >= 0x800 ? 2 : 1;
+            }
+        }
+
+        return encoded;
+    }
+
+    /**
+     * Encodes a string as modified UTF-8 into a byte array, without a length prefix.
+     *
+     * @param value the string to encode.
+     * @param dst the array to encode into, which must have room for {@link #encodedLength(String)} bytes.
+     * @param offset the index in the array to start encoding at.
+     * @return the index in the array following the encoded string.
+     */
+    public static int encode(String value, byte[] dst, int offset) {
+        int length = value.length();
+        int i = 0;
+
+        // ASCII prefix, one byte per character
+        for (char c; i < length && (c = value.charAt(i)) < 0x80 && c != 0; i++) {
+            dst[offset++] = (byte) c;
+        }
+
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c < 0x80 && c != 0) {
+                dst[offset++] = (byte) c;
+            } else if (c < 0x800) {
+                dst[offset++] = (byte) (0xC0 | (c >> 6));
+                dst[offset++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                dst[offset++] = (byte) (0xE0 | (c >> 12));
+                dst[offset++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                dst[offset++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+
+        return offset;
+    }
+
+    /**
+     * Decodes a modified UTF-8 string from a byte array.
+     *
+     * @param src the array holding the encoded string.
+     * @param offset the index in the array the encoded string starts at.
+     * @param length the encoded length of the string.
+     * @return the decoded string.
+     * @throws UTFDataFormatException if the bytes are not valid modified UTF-8.
+     */
+    public static String decode(byte[] src, int offset, int length) throws UTFDataFormatException {
+        int end = offset + length;
+        int i = offset;
+
+        while (i < end && src[i] >= 0) {
+            i++;
+        }
+
+        if (i == end) {
+            return new String(src, offset, length, StandardCharsets.ISO_8859_1);
+        }
+
+        char[] chars = new char[length];
+        int count = 0;
+
+        for (int j = offset; j < i; j++) {
+            chars[count++] = (char) src[j];
+        }
+
+        while (i < end) {
+            int a = src[i] & 0xFF;
+
+            if (a < 0x80) {
+                chars[count++] = (char) a;
+                i++;
+            } else if ((a & 0xE0) == 0xC0) {
+                if (i + 1 >= end || (src[i + 1] & 0xC0) != 0x80) {
+                    throw new UTFDataFormatException("Malformed input around byte " + (i - offset) + ".");
+                }
+
+                chars[count++] = (char) (((a & 0x1F) << 6) | (src[i + 1] & 0x3F));
+                i += 2;
+            } else if ((a & 0xF0) == 0xE0) {
+                if (i + 2 >= end || (src[i + 1] & 0xC0) != 0x80 || (src[i + 2] & 0xC0) != 0x80) {
+                    throw new UTFDataFormatException("Malformed input around byte " + (i - offset) + ".");
+                }
+
+                chars[count++] = (char) (((a & 0x0F) << 12) | ((src[i + 1] & 0x3F) << 6) | (src[i + 2] & 0x3F));
+                i += 3;
+            } else {
+                throw new UTFDataFormatException("Malformed input around byte " + (i - offset) + ".");
+            }
+        }
+
+        return new String(chars, 0, count);
+    }
+
+    /**
+     * Reads a length-prefixed modified UTF-8 string, in the format of {@link DataInput#readUTF()}.
+     * Streams set up by {@link NbtReader} decode strings through a reusable buffer; any other stream allocates one array per string.
+     *
+     * @param input the stream to read from.
+     * @return the string read.
+     * @throws IOException if any I/O error occurs.
+     */
+    public static String read(DataInput input) throws IOException {
+        if (input instanceof ByteBufferInput || input instanceof ScratchDataInput) {
+            return input.readUTF();
+        }
+
+        byte[] bytes = new byte[input.readUnsignedShort()];
+        input.readFully(bytes);
+
+        return decode(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Writes a length-prefixed modified UTF-8 string, in the format of {@link DataOutput#writeUTF(String)}, with a single write to the stream.
+     * Strings written to a {@link ByteBufferOutput}, as {@link NbtWriter} always does, are encoded straight into its buffer; any other stream allocates one array per string.
+     *
+     * @param value the string to write.
+     * @param output the stream to write to.
+     * @throws IOException if any I/O error occurs, or the encoded string is longer than 65535 bytes.
+     */
+    public static void write(String value, DataOutput output) throws IOException {
+        if (output instanceof ByteBufferOutput) {
+            output.writeUTF(value);
+            return;
+        }
+
+        int length = checkedLength(value);
+        byte[] bytes = new byte[length + 2];
+
+        bytes[0] = (byte) (length >>> 8);
+        bytes[1] = (byte) length;
+        encode(value, bytes, 2);
+
+        output.write(bytes);
+    }
+
+    /**
+     * Returns the encoded length of a string, checking that it fits in a 2 byte length prefix.
+     *
+     * @param value the string to measure.
+     * @return the encoded length of the string.
+     * @throws UTFDataFormatException if the encoded string is longer than 65535 bytes.
+     */
+    static int checkedLength(String value) throws UTFDataFormatException {
+        // every character encodes to at least one byte, so longer strings can be rejected without measuring them
+        int length = value.length() > 0xFFFF ? -1 : encodedLength(value);
+
+        if (length < 0 || length > 0xFFFF) {
+            throw new UTFDataFormatException("Encoded string longer than 65535 bytes.");
+        }
+
+        return length;
+    }
+}
@@ -0,0 +1,81 @@
+package dev.dewy.nbt.io;
+
+import java.io.UTFDataFormatException;
+import java.util.Arrays;
+
+/**
+ * A bounded table of tag names keyed on their encoded (modified UTF-8) bytes, so that names read repeatedly resolve to one canonical
+ * {@code String} without being decoded again. Each slot holds a single name, and a colliding name simply replaces it.
+ *
+ * <p>Slots are replaced atomically with immutable entries, so a cache may be shared by several threads reading at once.</p>
+ *
+ * @author dewy
+ */
+final class NameCache {
+    /**
+     * The longest encoded name, in bytes, that is cached.
+     */
+    static final int MAX_LENGTH = 64;
+
+    private final Entry[] entries;
+
+    /**
+     * @param capacity the number of slots in the cache, a power of two.
+     */
+    NameCache(int capacity) {
+        this.entries = new Entry[capacity];
+    }
+
+    /**
+     * Returns the cached name encoded as the given bytes, decoding and caching it first if absent.
+     *
+     * @param bytes the buffer holding the encoded name.
+     * @param length the length of the encoded name.
+     * @return the canonical name.
+     * @throws UTFDataFormatException if the bytes are not valid modified UTF-8.
+     */
+    String get(byte[] bytes, int length) throws UTFDataFormatException {
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+
+        int slot = (hash ^ (hash >>> 16)) & (this.entries.length - 1);
+        Entry entry = this.entries[slot];
+
+        if (entry != null && entry.hash == hash && entry.matches(bytes, length)) {
+            return entry.name;
+        }
+
+        String name = ModifiedUtf8.decode(bytes, 0, length);
+        this.entries[slot] = new Entry(hash, Arrays.copyOf(bytes, length), name);
+
+        return name;
+    }
+
+    private static final class Entry {
+        private final int hash;
+        private final byte[] bytes;
+        private final String name;
+
+        private Entry(int hash, byte[] bytes, String name) {
+            this.hash = hash;
+            this.bytes = bytes;
+            this.name = name;
+        }
+
+        private boolean matches(byte[] bytes, int length) {
+            if (this.bytes.length != length) {
+                return false;
+            }
+
+            for (int i = 0; i < length; i++) {
+                if (this.bytes[i] != bytes[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
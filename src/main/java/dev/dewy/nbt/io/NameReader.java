@@ -0,0 +1,69 @@
+package dev.dewy.nbt.io;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * Per-call state for reading tag names, through an optional {@link NameCache}, and string values, reusing one scratch buffer for both.
+ *
+ * @author dewy
+ */
+final class NameReader {
+    private final NameCache cache;
+    private byte[] scratch = new byte[NameCache.MAX_LENGTH];
+
+    /**
+     * @param cache the cache to resolve names through, or {@code null} to decode every name.
+     */
+    NameReader(NameCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Reads a tag name, in the format of {@link DataInput#readUTF()}.
+     *
+     * @param input the stream to read from.
+     * @return the name read.
+     * @throws IOException if any I/O error occurs.
+     */
+    String readName(DataInput input) throws IOException {
+        if (this.cache == null) {
+            return this.readString(input);
+        }
+
+        int length = input.readUnsignedShort();
+
+        if (length > NameCache.MAX_LENGTH) {
+            return this.decode(input, length);
+        }
+
+        input.readFully(this.scratch, 0, length);
+
+        return this.cache.get(this.scratch, length);
+    }
+
+    /**
+     * Reads a string value, in the format of {@link DataInput#readUTF()}.
+     *
+     * @param input the stream to read from.
+     * @return the string read.
+     * @throws IOException if any I/O error occurs.
+     */
+    String readString(DataInput input) throws IOException {
+        if (input instanceof ByteBufferInput) {
+            return input.readUTF();
+        }
+
+        return this.decode(input, input.readUnsignedShort());
+    }
+
+    private String decode(DataInput input, int length) throws IOException {
+        if (this.scratch.length < length) {
+            this.scratch = new byte[Integer.highestOneBit(length) << 1];
+        }
+
+        input.readFully(this.scratch, 0, length);
+
+        return ModifiedUtf8.decode(this.scratch, 0, length);
+    }
+}
@@ -0,0 +1,395 @@
+package dev.dewy.nbt.io;
+
+import dev.dewy.nbt.tags.collection.CompoundTag;
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Reads and writes whole NBT files through buffers, {@link Inflater}s and {@link Deflater}s which are kept and reused from one file to the next,
+ * making it cheap to process many files in a row. Each file is read into memory in one go, decompressed in one go, and decoded from the resulting buffer.
+ *
+ * <p>A codec is not thread-safe: when processing files in parallel, each thread should use its own. Codecs hold native
+ * compression resources, and so must be closed once done with.</p>
+ *
+ * @author dewy
+ */
+public final class NbtFileCodec implements Closeable {
+    private static final int INITIAL_CAPACITY = 8192;
+
+    private static final int GZIP_MAGIC = 0x8B1F;
+    private static final int GZIP_HEADER_LENGTH = 10;
+    private static final int GZIP_TRAILER_LENGTH = 8;
+
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final NbtReader reader;
+    private final NbtWriter writer;
+
+    private byte[] raw = new byte[INITIAL_CAPACITY];
+    private byte[] data = new byte[INITIAL_CAPACITY];
+
+    private Inflater zlibInflater;
+    private Inflater gzipInflater;
+    private Deflater zlibDeflater;
+    private Deflater gzipDeflater;
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Constructs a codec reading and writing with the given {@link NbtReader} and {@link NbtWriter}.
+     *
+     * @param reader the reader to decode files with.
+     * @param writer the writer to encode files with.
+     */
+    public NbtFileCodec(@NonNull NbtReader reader, @NonNull NbtWriter writer) {
+        this.reader = reader;
+        this.writer = writer;
+    }
+
+    /**
+     * Reads an NBT data structure (root {@link CompoundTag}) from a file, detecting and undoing its compression (if any).
+     *
+     * @param path the path of the file to read from.
+     * @return the root {@link CompoundTag} read from the file.
+     * @throws IOException if any I/O error occurs.
+     */
+    public CompoundTag read(@NonNull Path path) throws IOException {
+        int length = this.readFile(path);
+
+        switch (CompressionType.getCompression(ByteBuffer.wrap(this.raw, 0, length))) {
+            case GZIP:
+                return this.reader.fromByteBuffer(this.gunzip(length));
+            case ZLIB:
+                if (this.zlibInflater == null) {
+                    this.zlibInflater = new Inflater();
+                }
+
+                int inflated = this.inflate(this.zlibInflater, 0, length, 0);
+
+                return this.reader.fromByteBuffer(ByteBuffer.wrap(this.data, 0, inflated));
+            default:
+                return this.reader.fromByteBuffer(ByteBuffer.wrap(this.raw, 0, length));
+        }
+    }
+
+    /**
+     * Writes the given root {@link CompoundTag} to a file using a certain {@link CompressionType}, replacing any existing file.
+     *
+     * @param compound the NBT structure to write, contained within a {@link CompoundTag}.
+     * @param path the path of the file to write to.
+     * @param compression the compression to be applied.
+     * @throws IOException if any I/O error occurs.
+     */
+    public void write(@NonNull CompoundTag compound, @NonNull Path path, @NonNull CompressionType compression) throws IOException {
+        long size = this.writer.serializedSize(compound);
+
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IOException("NBT structure too large to fit in an array (" + size + " bytes).");
+        }
+
+        if (this.data.length < size) {
+            this.data = new byte[(int) size];
+        }
+
+        ByteBufferOutput output = new ByteBufferOutput(this.data);
+        this.writer.toStream(compound, output);
+
+        if (output.size() != size) {
+            throw new IOException("NBT structure wrote " + output.size() + " bytes, but its serialized size was computed as " + size + " bytes.");
+        }
+
+        int length = (int) size;
+
+        switch (compression) {
+            case GZIP:
+                int gzipped = this.gzip(length);
+
+                this.writeFile(path, this.raw, gzipped);
+                break;
+            case ZLIB:
+                if (this.zlibDeflater == null) {
+                    this.zlibDeflater = new Deflater();
+                }
+
+                int deflated = this.deflate(this.zlibDeflater, length, 0);
+
+                this.writeFile(path, this.raw, deflated);
+                break;
+            default:
+                this.writeFile(path, this.data, length);
+        }
+    }
+
+    /**
+     * Releases the native resources of this codec's {@link Inflater}s and {@link Deflater}s.
+     */
+    @Override
+    public void close() {
+        if (this.zlibInflater != null) {
+            this.zlibInflater.end();
+        }
+
+        if (this.gzipInflater != null) {
+            this.gzipInflater.end();
+        }
+
+        if (this.zlibDeflater != null) {
+            this.zlibDeflater.end();
+        }
+
+        if (this.gzipDeflater != null) {
+            this.gzipDeflater.end();
+        }
+    }
+
+    /**
+     * Reads a whole file into {@link #raw}, returning its length.
+     */
+    private int readFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IOException("File too large to buffer (" + size + " bytes).");
+            }
+
+            if (this.raw.length < size) {
+                this.raw = new byte[(int) size];
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(this.raw, 0, (int) size);
+
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("File truncated while reading.");
+                }
+            }
+
+            return (int) size;
+        }
+    }
+
+    private void writeFile(Path path, byte[] bytes, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Decompresses the GZIP members held in {@link #raw} into {@link #data}, one after another, checking the trailer of each.
+     * As with {@link java.util.zip.GZIPInputStream}, concatenated members are read as one stream, and any bytes after the last member
+     * which do not start another are ignored.
+     */
+    private ByteBuffer gunzip(int length) throws IOException {
+        if (this.gzipInflater == null) {
+            this.gzipInflater = new Inflater(true);
+        }
+
+        int offset = 0;
+        int inflated = 0;
+
+        do {
+            offset += gzipHeaderLength(this.raw, offset, length);
+
+            int start = inflated;
+            inflated = this.inflate(this.gzipInflater, offset, length - offset, start);
+
+            int trailer = length - this.gzipInflater.getRemaining();
+
+            if (length - trailer < GZIP_TRAILER_LENGTH) {
+                throw new EOFException("Unexpected end of GZIP trailer.");
+            }
+
+            this.crc.reset();
+            this.crc.update(this.data, start, inflated - start);
+
+            if (readIntLE(this.raw, trailer) != (int) this.crc.getValue()) {
+                throw new ZipException("Corrupt GZIP trailer (CRC mismatch).");
+            }
+
+            if (readIntLE(this.raw, trailer + 4) != inflated - start) {
+                throw new ZipException("Corrupt GZIP trailer (size mismatch).");
+            }
+
+            offset = trailer + GZIP_TRAILER_LENGTH;
+        } while (length - offset >= GZIP_HEADER_LENGTH && ((this.raw[offset] & 0xFF) | (this.raw[offset + 1] & 0xFF) << 8) == GZIP_MAGIC);
+
+        return ByteBuffer.wrap(this.data, 0, inflated);
+    }
+
+    /**
+     * Inflates {@code length} bytes of {@link #raw} starting at {@code offset} into {@link #data} from {@code count} on, growing it as needed,
+     * and returns the end of the inflated data.
+     */
+    private int inflate(Inflater inflater, int offset, int length, int count) throws IOException {
+        inflater.reset();
+        inflater.setInput(this.raw, offset, length);
+
+        try {
+            while (!inflater.finished()) {
+                if (count == this.data.length) {
+                    this.data = Arrays.copyOf(this.data, grow(this.data.length));
+                }
+
+                int n = inflater.inflate(this.data, count, this.data.length - count);
+                count += n;
+
+                if (n == 0 && !inflater.finished()) {
+                    if (inflater.needsInput()) {
+                        throw new EOFException("Unexpected end of compressed data.");
+                    }
+
+                    if (inflater.needsDictionary()) {
+                        throw new ZipException("Compressed data requires a preset dictionary.");
+                    }
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage() != null ? e.getMessage() : "Invalid compressed data format.");
+        }
+
+        return count;
+    }
+
+    /**
+     * Compresses {@code length} bytes of {@link #data} as a single GZIP member into {@link #raw}, returning the compressed length.
+     */
+    private int gzip(int length) {
+        if (this.gzipDeflater == null) {
+            this.gzipDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+
+        if (this.raw.length < GZIP_HEADER_LENGTH) {
+            this.raw = new byte[INITIAL_CAPACITY];
+        }
+
+        // the same header as GZIPOutputStream: deflate, no flags, no modification time
+        Arrays.fill(this.raw, 0, GZIP_HEADER_LENGTH, (byte) 0);
+        this.raw[0] = (byte) GZIP_MAGIC;
+        this.raw[1] = (byte) (GZIP_MAGIC >> 8);
+        this.raw[2] = Deflater.DEFLATED;
+
+        int count = this.deflate(this.gzipDeflater, length, GZIP_HEADER_LENGTH);
+
+        if (this.raw.length - count < GZIP_TRAILER_LENGTH) {
+            this.raw = Arrays.copyOf(this.raw, count + GZIP_TRAILER_LENGTH);
+        }
+
+        this.crc.reset();
+        this.crc.update(this.data, 0, length);
+
+        writeIntLE(this.raw, count, (int) this.crc.getValue());
+        writeIntLE(this.raw, count + 4, length);
+
+        return count + GZIP_TRAILER_LENGTH;
+    }
+
+    /**
+     * Deflates {@code length} bytes of {@link #data} into {@link #raw} starting at {@code offset}, growing it as needed, and returns the end of the deflated data.
+     */
+    private int deflate(Deflater deflater, int length, int offset) {
+        deflater.reset();
+        deflater.setInput(this.data, 0, length);
+        deflater.finish();
+
+        int count = offset;
+
+        while (!deflater.finished()) {
+            if (count == this.raw.length) {
+                this.raw = Arrays.copyOf(this.raw, grow(this.raw.length));
+            }
+
+            count += deflater.deflate(this.raw, count, this.raw.length - count);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the length of the GZIP member header starting at {@code start} in the given bytes, validating it.
+     */
+    private static int gzipHeaderLength(byte[] bytes, int start, int length) throws IOException {
+        if (length - start < GZIP_HEADER_LENGTH) {
+            throw new EOFException("Unexpected end of GZIP header.");
+        }
+
+        if (bytes[start + 2] != Deflater.DEFLATED) {
+            throw new ZipException("Unsupported GZIP compression method.");
+        }
+
+        int flags = bytes[start + 3] & 0xFF;
+        int offset = start + GZIP_HEADER_LENGTH;
+
+        if ((flags & FEXTRA) != 0) {
+            if (offset + 2 > length) {
+                throw new EOFException("Unexpected end of GZIP header.");
+            }
+
+            offset += 2 + ((bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8);
+        }
+
+        if ((flags & FNAME) != 0) {
+            offset = skipZeroTerminated(bytes, offset, length);
+        }
+
+        if ((flags & FCOMMENT) != 0) {
+            offset = skipZeroTerminated(bytes, offset, length);
+        }
+
+        if ((flags & FHCRC) != 0) {
+            offset += 2;
+        }
+
+        if (offset > length) {
+            throw new EOFException("Unexpected end of GZIP header.");
+        }
+
+        return offset - start;
+    }
+
+    private static int skipZeroTerminated(byte[] bytes, int offset, int length) throws EOFException {
+        while (offset < length) {
+            if (bytes[offset++] == 0) {
+                return offset;
+            }
+        }
+
+        throw new EOFException("Unexpected end of GZIP header.");
+    }
+
+    private static int grow(int capacity) {
+        int grown = capacity + (capacity >> 1);
+
+        return grown < 0 || grown > Integer.MAX_VALUE - 8 ? Integer.MAX_VALUE - 8 : grown;
+    }
+
+    private static int readIntLE(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8 | (bytes[offset + 2] & 0xFF) << 16 | (bytes[offset + 3] & 0xFF) << 24;
+    }
+
+    private static void writeIntLE(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >>> 8);
+        bytes[offset + 2] = (byte) (value >>> 16);
+        bytes[offset + 3] = (byte) (value >>> 24);
+    }
+}
@@ -0,0 +1,386 @@
+package dev.dewy.nbt.io;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import dev.dewy.nbt.api.Tag;
+import dev.dewy.nbt.api.json.JsonSerializable;
+import dev.dewy.nbt.api.registry.TagTypeRegistry;
+import dev.dewy.nbt.tags.array.ByteArrayTag;
+import dev.dewy.nbt.tags.array.IntArrayTag;
+import dev.dewy.nbt.tags.array.LongArrayTag;
+import dev.dewy.nbt.tags.collection.*;
+import dev.dewy.nbt.tags.primitive.*;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Reads NBT data structures from JSON token by token through a Gson {@link JsonReader}, accepting the same JSON as {@link JsonSerializable#fromJson}
+ * without building a {@link JsonObject} tree first.
+ *
+ * <p>A tag's value is streamed when its type (and, for lists, element type) is known by the time the value is reached, as is the case
+ * in JSON written by this library. Otherwise, and for tags of custom types, the tag is collected into a {@link JsonObject} and handed
+ * to its own {@link JsonSerializable#fromJson}.</p>
+ *
+ * @author dewy
+ */
+public class NbtJsonReader {
+    private @NonNull TagTypeRegistry typeRegistry;
+
+    /**
+     * Constructs a JSON reader creating tags from a given {@link TagTypeRegistry}.
+     *
+     * @param typeRegistry the tag type registry to be used.
+     */
+    public NbtJsonReader(@NonNull TagTypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+    }
+
+    /**
+     * Reads an NBT data structure (root {@link CompoundTag}) from a {@link JsonReader}.
+     *
+     * @param in the {@link JsonReader} to read from.
+     * @return the root {@link CompoundTag} read.
+     * @throws IOException if any I/O error occurs, or the JSON does not describe a compound tag.
+     */
+    public CompoundTag fromJson(@NonNull JsonReader in) throws IOException {
+        try {
+            Tag root = this.readTag(in, (byte) -1, 0);
+
+            if (!(root instanceof CompoundTag)) {
+                throw new IOException("Root tag of type " + root.getTypeId() + " is not a compound tag.");
+            }
+
+            return (CompoundTag) root;
+        } catch (IllegalStateException | NumberFormatException | ClassCastException e) {
+            throw new IOException("Invalid NBT JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the {@link TagTypeRegistry} currently in use by this reader.
+     *
+     * @return the {@link TagTypeRegistry} currently in use by this reader.
+     */
+    public TagTypeRegistry getTypeRegistry() {
+        return this.typeRegistry;
+    }
+
+    /**
+     * Sets the {@link TagTypeRegistry} currently in use by this reader.
+     *
+     * @param typeRegistry the new {@link TagTypeRegistry} to be set.
+     */
+    public void setTypeRegistry(@NonNull TagTypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+    }
+
+    /**
+     * Reads a tag object. For list elements, {@code knownType} is the list's element type, which takes precedence over the element's own {@code "type"}.
+     */
+    private Tag readTag(JsonReader in, byte knownType, int depth) throws IOException {
+        byte type = knownType;
+        byte listType = -1;
+        String name = null;
+        Tag tag = null;
+        JsonElement deferred = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "type":
+                    byte declared = (byte) in.nextInt();
+
+                    if (knownType < 0) {
+                        type = declared;
+                    }
+
+                    break;
+                case "listType":
+                    listType = (byte) in.nextInt();
+                    break;
+                case "name":
+                    name = in.nextString();
+                    break;
+                case "value":
+                    if (type >= 0 && (type != 9 || listType >= 0) && this.isStandard(type)) {
+                        tag = this.readValue(in, type, listType, depth);
+                    } else {
+                        deferred = NbtJsonWriter.ELEMENT_ADAPTER.read(in);
+                    }
+
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        if (type < 0) {
+            throw new IOException("Tag JSON without a type.");
+        }
+
+        if (tag == null) {
+            tag = this.readDeferred(type, listType, name, deferred, depth);
+        }
+
+        tag.setName(name);
+
+        return tag;
+    }
+
+    private Tag readValue(JsonReader in, byte type, byte listType, int depth) throws IOException {
+        switch (type) {
+            case 1:
+                return new ByteTag((byte) in.nextInt());
+            case 2:
+                return new ShortTag((short) in.nextInt());
+            case 3:
+                return new IntTag(in.nextInt());
+            case 4:
+                return new LongTag(in.nextLong());
+            case 5:
+                // parsed straight to a float, as Gson does, rather than rounded twice through a double
+                return new FloatTag(Float.parseFloat(in.nextString()));
+            case 6:
+                return new DoubleTag(in.nextDouble());
+            case 7:
+                return new ByteArrayTag(this.readBytes(in));
+            case 8:
+                return new StringTag(in.nextString());
+            case 9:
+                return this.readList(in, listType, depth);
+            case 10:
+                return this.readCompound(in, depth);
+            case 11:
+                return new IntArrayTag(this.readInts(in));
+            default:
+                return new LongArrayTag(this.readLongs(in));
+        }
+    }
+
+    private CompoundTag readCompound(JsonReader in, int depth) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        CompoundTag compound = new CompoundTag();
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            // as in CompoundTag#fromJson, tags are keyed by their own names rather than by their keys
+            in.nextName();
+            compound.put(this.readTag(in, (byte) -1, depth + 1));
+        }
+
+        in.endObject();
+
+        return compound;
+    }
+
+    private ListTag<Tag> readList(JsonReader in, byte listType, int depth) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        PrimitiveTagList<?> primitives = PrimitiveTagList.create(listType);
+        List<Tag> values = primitives != null ? (List<Tag>) (List<?>) primitives : new ArrayList<>();
+
+        in.beginArray();
+
+        while (in.hasNext()) {
+            if (primitives != null) {
+                this.readPrimitive(in, primitives, listType);
+            } else {
+                values.add(this.readTag(in, listType, depth + 1));
+            }
+        }
+
+        in.endArray();
+
+        return new ListTag<>(null, values);
+    }
+
+    /**
+     * Reads the value of a numeric list element straight into the list's backing array, without materializing a tag.
+     */
+    private void readPrimitive(JsonReader in, PrimitiveTagList<?> list, byte type) throws IOException {
+        in.beginObject();
+
+        boolean read = false;
+
+        while (in.hasNext()) {
+            if (!in.nextName().equals("value")) {
+                in.skipValue();
+                continue;
+            }
+
+            switch (type) {
+                case 1:
+                    ((ByteTagList) list).addByte((byte) in.nextInt());
+                    break;
+                case 2:
+                    ((ShortTagList) list).addShort((short) in.nextInt());
+                    break;
+                case 3:
+                    ((IntTagList) list).addInt(in.nextInt());
+                    break;
+                case 4:
+                    ((LongTagList) list).addLong(in.nextLong());
+                    break;
+                case 5:
+                    ((FloatTagList) list).addFloat(Float.parseFloat(in.nextString()));
+                    break;
+                default:
+                    ((DoubleTagList) list).addDouble(in.nextDouble());
+            }
+
+            read = true;
+        }
+
+        in.endObject();
+
+        if (!read) {
+            throw new IOException("Tag JSON without a value.");
+        }
+    }
+
+    private byte[] readBytes(JsonReader in) throws IOException {
+        byte[] values = new byte[16];
+        int count = 0;
+
+        in.beginArray();
+
+        while (in.hasNext()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+
+            values[count++] = (byte) in.nextInt();
+        }
+
+        in.endArray();
+
+        return Arrays.copyOf(values, count);
+    }
+
+    private int[] readInts(JsonReader in) throws IOException {
+        int[] values = new int[16];
+        int count = 0;
+
+        in.beginArray();
+
+        while (in.hasNext()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+
+            values[count++] = in.nextInt();
+        }
+
+        in.endArray();
+
+        return Arrays.copyOf(values, count);
+    }
+
+    private long[] readLongs(JsonReader in) throws IOException {
+        long[] values = new long[16];
+        int count = 0;
+
+        in.beginArray();
+
+        while (in.hasNext()) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+
+            values[count++] = in.nextLong();
+        }
+
+        in.endArray();
+
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Reassembles a tag whose value could not be streamed into a {@link JsonObject}, and deserializes it through the registry's tag type.
+     */
+    private Tag readDeferred(byte type, byte listType, String name, JsonElement value, int depth) throws IOException {
+        if (value == null) {
+            throw new IOException("Tag JSON without a value.");
+        }
+
+        Supplier<? extends Tag> factory = this.typeRegistry.getFactoryFromId(type);
+
+        if (factory == null) {
+            throw new IOException("Tag type with ID " + type + " not present in tag type registry.");
+        }
+
+        Tag tag = factory.get();
+
+        if (!(tag instanceof JsonSerializable)) {
+            throw new IOException("Tag not JsonSerializable.");
+        }
+
+        JsonObject json = new JsonObject();
+        json.addProperty("type", type);
+
+        if (listType >= 0) {
+            json.addProperty("listType", listType);
+        }
+
+        if (name != null) {
+            json.add("name", new JsonPrimitive(name));
+        }
+
+        json.add("value", value);
+
+        return ((JsonSerializable) tag).fromJson(json, depth, this.typeRegistry);
+    }
+
+    /**
+     * Returns true if the registry maps the type ID to the standard class for it, which this reader knows how to stream.
+     */
+    private boolean isStandard(byte type) {
+        Class<? extends Tag> clazz = this.typeRegistry.getClassFromId(type);
+
+        switch (type) {
+            case 1:
+                return clazz == ByteTag.class;
+            case 2:
+                return clazz == ShortTag.class;
+            case 3:
+                return clazz == IntTag.class;
+            case 4:
+                return clazz == LongTag.class;
+            case 5:
+                return clazz == FloatTag.class;
+            case 6:
+                return clazz == DoubleTag.class;
+            case 7:
+                return clazz == ByteArrayTag.class;
+            case 8:
+                return clazz == StringTag.class;
+            case 9:
+                return clazz == ListTag.class;
+            case 10:
+                return clazz == CompoundTag.class;
+            case 11:
+                return clazz == IntArrayTag.class;
+            case 12:
+                return clazz == LongArrayTag.class;
+            default:
+                return false;
+        }
+    }
+}
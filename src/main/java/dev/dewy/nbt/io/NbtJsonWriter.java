@@ -0,0 +1,258 @@
+package dev.dewy.nbt.io;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+import dev.dewy.nbt.api.Tag;
+import dev.dewy.nbt.api.json.JsonSerializable;
+import dev.dewy.nbt.api.registry.TagTypeRegistry;
+import dev.dewy.nbt.tags.array.ByteArrayTag;
+import dev.dewy.nbt.tags.array.IntArrayTag;
+import dev.dewy.nbt.tags.array.LongArrayTag;
+import dev.dewy.nbt.tags.collection.*;
+import dev.dewy.nbt.tags.primitive.*;
+import lombok.NonNull;
+
+import java.io.IOException;
+
+/**
+ * Writes NBT data structures as JSON token by token to a Gson {@link JsonWriter}, producing the same JSON as {@link JsonSerializable#toJson}
+ * without building a {@link JsonObject} tree first. Tags of custom types are serialized through their own {@link JsonSerializable#toJson} instead.
+ *
+ * @author dewy
+ */
+public class NbtJsonWriter {
+    static final TypeAdapter<JsonElement> ELEMENT_ADAPTER = new Gson().getAdapter(JsonElement.class);
+
+    private @NonNull TagTypeRegistry typeRegistry;
+
+    /**
+     * Constructs a JSON writer falling back on a given {@link TagTypeRegistry} for tags of custom types.
+     *
+     * @param typeRegistry the tag type registry to be used.
+     */
+    public NbtJsonWriter(@NonNull TagTypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+    }
+
+    /**
+     * Writes the given root {@link CompoundTag} as JSON to a {@link JsonWriter}.
+     *
+     * @param compound the NBT structure to write, contained within a {@link CompoundTag}.
+     * @param out the {@link JsonWriter} to write to.
+     * @throws IOException if any I/O error occurs.
+     */
+    public void toJson(@NonNull CompoundTag compound, @NonNull JsonWriter out) throws IOException {
+        this.writeTag(compound, true, 0, out);
+        out.flush();
+    }
+
+    /**
+     * Returns the {@link TagTypeRegistry} currently in use by this writer.
+     *
+     * @return the {@link TagTypeRegistry} currently in use by this writer.
+     */
+    public TagTypeRegistry getTypeRegistry() {
+        return this.typeRegistry;
+    }
+
+    /**
+     * Sets the {@link TagTypeRegistry} currently in use by this writer.
+     *
+     * @param typeRegistry the new {@link TagTypeRegistry} to be set.
+     */
+    public void setTypeRegistry(@NonNull TagTypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+    }
+
+    /**
+     * Writes a tag as a JSON object holding its type, name (unless it is a list element) and value.
+     */
+    private void writeTag(Tag tag, boolean named, int depth, JsonWriter out) throws IOException {
+        if (!isStandard(tag)) {
+            if (!(tag instanceof JsonSerializable)) {
+                throw new IOException("Tag not JsonSerializable.");
+            }
+
+            JsonObject json = ((JsonSerializable) tag).toJson(depth, this.typeRegistry);
+
+            if (!named) {
+                json.remove("name");
+            }
+
+            ELEMENT_ADAPTER.write(out, json);
+
+            return;
+        }
+
+        out.beginObject();
+        out.name("type").value(tag.getTypeId());
+
+        if (tag instanceof ListTag) {
+            out.name("listType").value(((ListTag<?>) tag).getListType());
+        }
+
+        if (named && tag.getName() != null) {
+            out.name("name").value(tag.getName());
+        }
+
+        out.name("value");
+
+        switch (tag.getTypeId()) {
+            case 1:
+                out.value(((ByteTag) tag).getValue());
+                break;
+            case 2:
+                out.value(((ShortTag) tag).getValue());
+                break;
+            case 3:
+                out.value(((IntTag) tag).getValue());
+                break;
+            case 4:
+                out.value(((LongTag) tag).getValue());
+                break;
+            case 5:
+                // written through Float.toString, as Gson does, rather than widened to a double
+                out.value(((FloatTag) tag).getValue());
+                break;
+            case 6:
+                out.value(((DoubleTag) tag).getValue());
+                break;
+            case 7:
+                out.beginArray();
+                for (byte b : ((ByteArrayTag) tag).getValue()) {
+                    out.value(b);
+                }
+                out.endArray();
+                break;
+            case 8:
+                out.value(((StringTag) tag).getValue());
+                break;
+            case 9:
+                this.writeList((ListTag<?>) tag, depth, out);
+                break;
+            case 10:
+                this.writeCompound((CompoundTag) tag, depth, out);
+                break;
+            case 11:
+                out.beginArray();
+                for (int i : ((IntArrayTag) tag).getValue()) {
+                    out.value(i);
+                }
+                out.endArray();
+                break;
+            default:
+                out.beginArray();
+                for (long l : ((LongArrayTag) tag).getValue()) {
+                    out.value(l);
+                }
+                out.endArray();
+        }
+
+        out.endObject();
+    }
+
+    private void writeCompound(CompoundTag compound, int depth, JsonWriter out) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        out.beginObject();
+
+        for (Tag tag : compound) {
+            out.name(tag.getName());
+            this.writeTag(tag, true, depth + 1, out);
+        }
+
+        out.endObject();
+    }
+
+    private void writeList(ListTag<?> list, int depth, JsonWriter out) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        out.beginArray();
+
+        if (list.getValue() instanceof PrimitiveTagList) {
+            this.writePrimitives((PrimitiveTagList<?>) list.getValue(), out);
+        } else {
+            for (Tag tag : list) {
+                this.writeTag(tag, false, depth + 1, out);
+            }
+        }
+
+        out.endArray();
+    }
+
+    /**
+     * Writes the elements of a primitive list straight from its backing array, without materializing a tag for each.
+     */
+    private void writePrimitives(PrimitiveTagList<?> list, JsonWriter out) throws IOException {
+        byte type = list.getElementType();
+
+        for (int i = 0; i < list.size(); i++) {
+            out.beginObject();
+            out.name("type").value(type);
+            out.name("value");
+
+            switch (type) {
+                case 1:
+                    out.value(((ByteTagList) list).getByte(i));
+                    break;
+                case 2:
+                    out.value(((ShortTagList) list).getShort(i));
+                    break;
+                case 3:
+                    out.value(((IntTagList) list).getInt(i));
+                    break;
+                case 4:
+                    out.value(((LongTagList) list).getLong(i));
+                    break;
+                case 5:
+                    out.value((Number) ((FloatTagList) list).getFloat(i));
+                    break;
+                default:
+                    out.value(((DoubleTagList) list).getDouble(i));
+            }
+
+            out.endObject();
+        }
+    }
+
+    /**
+     * Returns true if the tag is an instance of the standard class for its type ID, which this writer knows how to stream.
+     */
+    private static boolean isStandard(Tag tag) {
+        switch (tag.getTypeId()) {
+            case 1:
+                return tag.getClass() == ByteTag.class;
+            case 2:
+                return tag.getClass() == ShortTag.class;
+            case 3:
+                return tag.getClass() == IntTag.class;
+            case 4:
+                return tag.getClass() == LongTag.class;
+            case 5:
+                return tag.getClass() == FloatTag.class;
+            case 6:
+                return tag.getClass() == DoubleTag.class;
+            case 7:
+                return tag.getClass() == ByteArrayTag.class;
+            case 8:
+                return tag.getClass() == StringTag.class;
+            case 9:
+                return tag.getClass() == ListTag.class;
+            case 10:
+                return tag instanceof CompoundTag;
+            case 11:
+                return tag.getClass() == IntArrayTag.class;
+            case 12:
+                return tag.getClass() == LongArrayTag.class;
+            default:
+                return false;
+        }
+    }
+}
@@ -1,22 +1,38 @@
 package dev.dewy.nbt.io;
 
+import dev.dewy.nbt.api.Tag;
 import dev.dewy.nbt.api.registry.TagTypeRegistry;
 import dev.dewy.nbt.tags.TagType;
 import dev.dewy.nbt.tags.collection.CompoundTag;
-import lombok.AllArgsConstructor;
+import dev.dewy.nbt.tags.collection.LazyCompoundTag;
 import lombok.NonNull;
 
 import java.io.DataInput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
- * Used to read root {@link CompoundTag}s using a certain {@link TagTypeRegistry}.
+ * Used to read root {@link CompoundTag}s using a certain {@link TagTypeRegistry}, either as a tag tree or as a stream of {@link NbtVisitor} events.
  *
  * @author dewy
  */
-@AllArgsConstructor
 public class NbtReader {
     private @NonNull TagTypeRegistry typeRegistry;
+    private NameCache nameCache = new NameCache(1024);
+
+    /**
+     * Constructs a reader using a given {@link TagTypeRegistry}, with tag name caching enabled.
+     *
+     * @param typeRegistry the {@link TagTypeRegistry} used to read tags.
+     */
+    public NbtReader(@NonNull TagTypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+    }
 
     /**
      * Reads a root {@link CompoundTag} from a {@link DataInput} stream.
@@ -26,18 +42,230 @@ public class NbtReader {
      * @throws IOException if any I/O error occurs.
      */
     public CompoundTag fromStream(@NonNull DataInput input) throws IOException {
+        TagTreeBuilder builder = new TagTreeBuilder();
+
+        this.accept(input, builder);
+
+        return builder.getRoot();
+    }
+
+    /**
+     * Reads a root {@link CompoundTag} from a {@link ByteBuffer}, starting at its current position, which is then advanced past the structure.
+     * Array tags are decoded in bulk straight from the buffer.
+     *
+     * @param buffer the buffer to read from.
+     * @return the root {@link CompoundTag} read from the buffer.
+     * @throws IOException if any I/O error occurs.
+     */
+    public CompoundTag fromByteBuffer(@NonNull ByteBuffer buffer) throws IOException {
+        ByteBufferInput input = new ByteBufferInput(buffer);
+        CompoundTag result = this.fromStream(input);
+
+        buffer.position(input.position());
+
+        return result;
+    }
+
+    /**
+     * Reads a root {@link LazyCompoundTag} from a {@link DataInput} stream. Nested compounds and lists are only decoded once accessed.
+     *
+     * @param input the stream to read from.
+     * @return the root {@link LazyCompoundTag} read from the stream.
+     * @throws IOException if any I/O error occurs.
+     */
+    public LazyCompoundTag fromStreamLazy(@NonNull DataInput input) throws IOException {
         if (input.readByte() != TagType.COMPOUND.getId()) {
             throw new IOException("Root tag in NBT structure must be a compound tag.");
         }
 
-        CompoundTag result = new CompoundTag();
+        DataInput in = input instanceof ByteBufferInput ? input : new ScratchDataInput(input);
+        LazyCompoundTag result = new LazyCompoundTag();
 
-        result.setName(input.readUTF());
-        result.read(input, 0, this.typeRegistry);
+        result.setName(ModifiedUtf8.read(in));
+        result.read(in, 0, this.typeRegistry);
 
         return result;
     }
 
+    /**
+     * Reads a root {@link CompoundTag} from a {@link DataInput} stream, passing each tag to a {@link NbtVisitor} as it is decoded rather than building a tag tree.
+     *
+     * @param input the stream to read from.
+     * @param visitor the visitor receiving the decoded tags.
+     * @throws IOException if any I/O error occurs.
+     */
+    public void accept(@NonNull DataInput input, @NonNull NbtVisitor visitor) throws IOException {
+        if (input.readByte() != TagType.COMPOUND.getId()) {
+            throw new IOException("Root tag in NBT structure must be a compound tag.");
+        }
+
+        NameReader names = new NameReader(this.nameCache);
+
+        visitor.visitKey(TagType.COMPOUND.getId(), names.readName(input));
+        this.visitCompound(input, 0, visitor, names);
+    }
+
+    /**
+     * Reads only the tags at the given paths from a root {@link CompoundTag} in a {@link DataInput} stream, skipping over everything else without decoding it.
+     * Paths are the dot-separated names of nested compound entries below the root compound, such as {@code "Data.LastPlayed"} or {@code "Pos"}.
+     *
+     * @param input the stream to read from.
+     * @param paths the paths of the tags to read.
+     * @return the tags found, keyed by path in the order they were encountered. Paths not present in the structure are omitted.
+     * @throws IOException if any I/O error occurs.
+     */
+    public Map<String, Tag> extract(@NonNull DataInput input, @NonNull Collection<String> paths) throws IOException {
+        if (input.readByte() != TagType.COMPOUND.getId()) {
+            throw new IOException("Root tag in NBT structure must be a compound tag.");
+        }
+
+        TagSkipper.skipFully(input, input.readUnsignedShort());
+
+        Extraction extraction = new Extraction(PathNode.of(paths));
+        this.extractCompound(input, 0, extraction.root, extraction);
+
+        return extraction.result;
+    }
+
+    private void extractCompound(DataInput input, int depth, PathNode node, Extraction extraction) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        byte nextTypeId;
+        while ((nextTypeId = input.readByte()) != 0) {
+            PathNode child = extraction.readChild(input, node);
+
+            if (child == null) {
+                TagSkipper.skipPayload(nextTypeId, input, depth + 1, this.typeRegistry);
+            } else if (child.path != null) {
+                Supplier<? extends Tag> factory = this.typeRegistry.getFactoryFromId(nextTypeId);
+
+                if (factory == null) {
+                    throw new IOException("Tag type with ID " + nextTypeId + " not present in tag type registry.");
+                }
+
+                Tag tag = factory.get();
+                tag.read(input, depth + 1, this.typeRegistry);
+                tag.setName(child.name);
+
+                extraction.result.put(child.path, tag);
+                extraction.collect(child, tag);
+            } else if (nextTypeId == TagType.COMPOUND.getId()) {
+                this.extractCompound(input, depth + 1, child, extraction);
+            } else {
+                TagSkipper.skipPayload(nextTypeId, input, depth + 1, this.typeRegistry);
+            }
+        }
+    }
+
+    private void visitCompound(DataInput input, int depth, NbtVisitor visitor, NameReader names) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        visitor.visitCompoundStart();
+
+        byte nextTypeId;
+        while ((nextTypeId = input.readByte()) != 0) {
+            visitor.visitKey(nextTypeId, names.readName(input));
+            this.visitPayload(nextTypeId, input, depth + 1, visitor, names);
+        }
+
+        visitor.visitCompoundEnd();
+    }
+
+    private void visitList(DataInput input, int depth, NbtVisitor visitor, NameReader names) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        byte tagType = input.readByte();
+        int length = input.readInt();
+
+        visitor.visitListStart(tagType, length);
+
+        for (int i = 0; i < length; i++) {
+            this.visitPayload(tagType, input, depth + 1, visitor, names);
+        }
+
+        visitor.visitListEnd();
+    }
+
+    private void visitPayload(byte type, DataInput input, int depth, NbtVisitor visitor, NameReader names) throws IOException {
+        switch (type) {
+            case 1:
+                visitor.visitByte(input.readByte());
+                break;
+            case 2:
+                visitor.visitShort(input.readShort());
+                break;
+            case 3:
+                visitor.visitInt(input.readInt());
+                break;
+            case 4:
+                visitor.visitLong(input.readLong());
+                break;
+            case 5:
+                visitor.visitFloat(input.readFloat());
+                break;
+            case 6:
+                visitor.visitDouble(input.readDouble());
+                break;
+            case 7:
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+
+                visitor.visitByteArray(bytes);
+                break;
+            case 8:
+                visitor.visitString(names.readString(input));
+                break;
+            case 9:
+                this.visitList(input, depth, visitor, names);
+                break;
+            case 10:
+                this.visitCompound(input, depth, visitor, names);
+                break;
+            case 11:
+                int[] ints = new int[input.readInt()];
+                if (input instanceof ByteBufferInput) {
+                    ((ByteBufferInput) input).readInts(ints);
+                } else {
+                    for (int i = 0; i < ints.length; i++) {
+                        ints[i] = input.readInt();
+                    }
+                }
+
+                visitor.visitIntArray(ints);
+                break;
+            case 12:
+                long[] longs = new long[input.readInt()];
+                if (input instanceof ByteBufferInput) {
+                    ((ByteBufferInput) input).readLongs(longs);
+                } else {
+                    for (int i = 0; i < longs.length; i++) {
+                        longs[i] = input.readLong();
+                    }
+                }
+
+                visitor.visitLongArray(longs);
+                break;
+            default:
+                Supplier<? extends Tag> factory = this.typeRegistry.getFactoryFromId(type);
+
+                if (factory == null) {
+                    throw new IOException("Tag type with ID " + type + " not present in tag type registry.");
+                }
+
+                Tag tag = factory.get();
+                tag.read(input, depth, this.typeRegistry);
+                tag.setName(null);
+
+                visitor.visitTag(tag);
+        }
+    }
+
     /**
      * Returns the {@link TagTypeRegistry} currently in use by this reader.
      *
@@ -55,4 +283,152 @@ public class NbtReader {
     public void setTypeRegistry(@NonNull TagTypeRegistry typeRegistry) {
         this.typeRegistry = typeRegistry;
     }
+
+    /**
+     * Returns true if tag names read by this reader are resolved through a name cache, false otherwise.
+     *
+     * @return true if tag names read by this reader are resolved through a name cache, false otherwise.
+     */
+    public boolean isNameCacheEnabled() {
+        return this.nameCache != null;
+    }
+
+    /**
+     * Sets whether tag names read by this reader are resolved through a name cache. Enabled by default.
+     * The cache is a bounded table keyed on the encoded bytes of each name, so that names repeated within and across
+     * structures (such as {@code "id"} or {@code "Count"}) are neither decoded again nor held as separate {@code String} instances.
+     *
+     * @param enabled true to enable the name cache, false to decode every name.
+     */
+    public void setNameCacheEnabled(boolean enabled) {
+        if (enabled != this.isNameCacheEnabled()) {
+            this.nameCache = enabled ? new NameCache(1024) : null;
+        }
+    }
+
+    /**
+     * Per-call state of {@link #extract(DataInput, Collection)}.
+     */
+    private static final class Extraction {
+        private final PathNode root;
+        private final Map<String, Tag> result = new LinkedHashMap<>();
+
+        private byte[] key = new byte[64];
+
+        private Extraction(PathNode root) {
+            this.root = root;
+        }
+
+        /**
+         * Reads the next compound key and returns the matching child of the given node, without decoding the key to a {@code String}.
+         */
+        private PathNode readChild(DataInput input, PathNode node) throws IOException {
+            int length = input.readUnsignedShort();
+
+            if (node.children.length == 0) {
+                TagSkipper.skipFully(input, length);
+
+                return null;
+            }
+
+            if (length > this.key.length) {
+                this.key = new byte[Math.max(length, this.key.length * 2)];
+            }
+
+            input.readFully(this.key, 0, length);
+
+            for (PathNode child : node.children) {
+                if (child.key.length == length && equals(child.key, this.key, length)) {
+                    return child;
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Resolves requested paths nested within a tag that was read in full.
+         */
+        private void collect(PathNode node, Tag tag) {
+            if (!(tag instanceof CompoundTag)) {
+                return;
+            }
+
+            for (PathNode child : node.children) {
+                Tag nested = ((CompoundTag) tag).get(child.name);
+
+                if (nested != null) {
+                    if (child.path != null) {
+                        this.result.put(child.path, nested);
+                    }
+
+                    this.collect(child, nested);
+                }
+            }
+        }
+
+        private static boolean equals(byte[] a, byte[] b, int length) {
+            for (int i = 0; i < length; i++) {
+                if (a[i] != b[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * A node in the tree of requested paths, holding its name encoded as modified UTF-8 so keys can be matched before decoding.
+     */
+    private static final class PathNode {
+        private final String name;
+        private final byte[] key;
+
+        private String path;
+        private PathNode[] children = new PathNode[0];
+
+        private PathNode(String name) {
+            this.name = name;
+            this.key = name == null ? null : encode(name);
+        }
+
+        private static PathNode of(Collection<String> paths) {
+            PathNode root = new PathNode(null);
+
+            for (String path : paths) {
+                PathNode node = root;
+
+                for (String name : path.split("\\.", -1)) {
+                    node = node.child(name);
+                }
+
+                node.path = path;
+            }
+
+            return root;
+        }
+
+        private PathNode child(String name) {
+            for (PathNode child : this.children) {
+                if (child.name.equals(name)) {
+                    return child;
+                }
+            }
+
+            PathNode child = new PathNode(name);
+
+            this.children = Arrays.copyOf(this.children, this.children.length + 1);
+            this.children[this.children.length - 1] = child;
+
+            return child;
+        }
+
+        private static byte[] encode(String name) {
+            byte[] bytes = new byte[ModifiedUtf8.encodedLength(name)];
+            ModifiedUtf8.encode(name, bytes, 0);
+
+            return bytes;
+        }
+    }
 }
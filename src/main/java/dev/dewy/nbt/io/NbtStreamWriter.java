@@ -0,0 +1,631 @@
+package dev.dewy.nbt.io;
+
+import dev.dewy.nbt.api.Tag;
+import dev.dewy.nbt.api.registry.TagTypeRegistry;
+import dev.dewy.nbt.tags.TagType;
+import lombok.NonNull;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Used to write an NBT data structure incrementally to a {@link DataOutput} stream, without first building a tree of {@link Tag}s.
+ *
+ * <p>Documents start with {@link #beginCompound(String)} for the root compound. Inside a compound, entries are written with the named methods
+ * (such as {@link #writeInt(String, int)}), while list elements are written with the unnamed ones (such as {@link #writeInt(int)}).
+ * Every {@code begin} must be matched by its {@code end}. Nesting, list element types and list lengths are validated as the document is written,
+ * with any misuse reported through an {@link IllegalStateException}.</p>
+ *
+ * @author dewy
+ */
+public class NbtStreamWriter {
+    private final @NonNull DataOutput output;
+    private final @NonNull TagTypeRegistry typeRegistry;
+
+    private int[] elementTypes = new int[16];
+    private int[] remaining = new int[16];
+    private int depth;
+
+    private boolean started;
+
+    private byte[] scratch = new byte[64];
+
+    /**
+     * Constructs a stream writer writing to a given {@link DataOutput}, using a default {@link TagTypeRegistry}.
+     *
+     * @param output the stream to write to.
+     */
+    public NbtStreamWriter(@NonNull DataOutput output) {
+        this(output, new TagTypeRegistry());
+    }
+
+    /**
+     * Constructs a stream writer writing to a given {@link DataOutput}, using a given {@link TagTypeRegistry} for any whole tags written.
+     *
+     * @param output the stream to write to.
+     * @param typeRegistry the tag type registry to be used.
+     */
+    public NbtStreamWriter(@NonNull DataOutput output, @NonNull TagTypeRegistry typeRegistry) {
+        this.output = output;
+        this.typeRegistry = typeRegistry;
+    }
+
+    /**
+     * Begins a named compound; the root compound if nothing has been written yet, or an entry of the current compound otherwise.
+     *
+     * @param name the compound's name. May be {@code null} for the root compound only.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if the root compound has already been written, or a list rather than a compound is currently open.
+     */
+    public NbtStreamWriter beginCompound(String name) throws IOException {
+        if (this.depth == 0) {
+            if (this.started) {
+                throw new IllegalStateException("Root compound has already been written.");
+            }
+
+            this.started = true;
+
+            this.output.writeByte(TagType.COMPOUND.getId());
+            this.utf(name == null ? "" : name);
+        } else {
+            this.named(TagType.COMPOUND.getId(), name);
+        }
+
+        this.push(-1, 0);
+
+        return this;
+    }
+
+    /**
+     * Begins an unnamed compound as the next element of the current list.
+     *
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no list is currently open, the list does not hold compound tags, or it already holds its declared number of elements.
+     */
+    public NbtStreamWriter beginCompound() throws IOException {
+        this.unnamed(TagType.COMPOUND.getId());
+        this.push(-1, 0);
+
+        return this;
+    }
+
+    /**
+     * Ends the current compound.
+     *
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no compound is currently open.
+     */
+    public NbtStreamWriter endCompound() throws IOException {
+        if (this.depth == 0 || this.elementTypes[this.depth - 1] != -1) {
+            throw new IllegalStateException("No compound is currently open.");
+        }
+
+        this.output.writeByte(0);
+        this.depth--;
+
+        return this;
+    }
+
+    /**
+     * Begins a named list as an entry of the current compound. Exactly {@code length} elements of type {@code type} must follow before {@link #endList()}.
+     *
+     * @param name the list's name.
+     * @param type the tag type ID of the list's elements.
+     * @param length the number of elements in the list.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no compound is currently open.
+     * @throws IllegalArgumentException if {@code length} is negative, or {@code type} is 0 for a non-empty list.
+     */
+    public NbtStreamWriter beginList(@NonNull String name, byte type, int length) throws IOException {
+        checkList(type, length);
+
+        this.named(TagType.LIST.getId(), name);
+        this.list(type, length);
+
+        return this;
+    }
+
+    /**
+     * Begins an unnamed list as the next element of the current list. Exactly {@code length} elements of type {@code type} must follow before {@link #endList()}.
+     *
+     * @param type the tag type ID of the list's elements.
+     * @param length the number of elements in the list.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no list is currently open, the list does not hold list tags, or it already holds its declared number of elements.
+     * @throws IllegalArgumentException if {@code length} is negative, or {@code type} is 0 for a non-empty list.
+     */
+    public NbtStreamWriter beginList(byte type, int length) throws IOException {
+        checkList(type, length);
+
+        this.unnamed(TagType.LIST.getId());
+        this.list(type, length);
+
+        return this;
+    }
+
+    /**
+     * Ends the current list. All of its elements must have been written.
+     *
+     * @return this writer.
+     * @throws IllegalStateException if no list is currently open, or not all of its elements have been written.
+     */
+    public NbtStreamWriter endList() {
+        if (this.depth == 0 || this.elementTypes[this.depth - 1] == -1) {
+            throw new IllegalStateException("No list is currently open.");
+        }
+
+        if (this.remaining[this.depth - 1] != 0) {
+            throw new IllegalStateException("List ended with " + this.remaining[this.depth - 1] + " element(s) still to be written.");
+        }
+
+        this.depth--;
+
+        return this;
+    }
+
+    /**
+     * Writes a byte tag as an entry of the current compound.
+     *
+     * @param name the entry's name.
+     * @param value the byte's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no compound is currently open.
+     */
+    public NbtStreamWriter writeByte(@NonNull String name, byte value) throws IOException {
+        this.named(TagType.BYTE.getId(), name);
+        this.output.writeByte(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a byte tag as the next element of the current list.
+     *
+     * @param value the byte's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no list is currently open, the list does not hold byte tags, or it already holds its declared number of elements.
+     */
+    public NbtStreamWriter writeByte(byte value) throws IOException {
+        this.unnamed(TagType.BYTE.getId());
+        this.output.writeByte(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a short tag as an entry of the current compound.
+     *
+     * @param name the entry's name.
+     * @param value the short's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no compound is currently open.
+     */
+    public NbtStreamWriter writeShort(@NonNull String name, short value) throws IOException {
+        this.named(TagType.SHORT.getId(), name);
+        this.output.writeShort(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a short tag as the next element of the current list.
+     *
+     * @param value the short's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no list is currently open, the list does not hold short tags, or it already holds its declared number of elements.
+     */
+    public NbtStreamWriter writeShort(short value) throws IOException {
+        this.unnamed(TagType.SHORT.getId());
+        this.output.writeShort(value);
+
+        return this;
+    }
+
+    /**
+     * Writes an int tag as an entry of the current compound.
+     *
+     * @param name the entry's name.
+     * @param value the int's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no compound is currently open.
+     */
+    public NbtStreamWriter writeInt(@NonNull String name, int value) throws IOException {
+        this.named(TagType.INT.getId(), name);
+        this.output.writeInt(value);
+
+        return this;
+    }
+
+    /**
+     * Writes an int tag as the next element of the current list.
+     *
+     * @param value the int's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no list is currently open, the list does not hold int tags, or it already holds its declared number of elements.
+     */
+    public NbtStreamWriter writeInt(int value) throws IOException {
+        this.unnamed(TagType.INT.getId());
+        this.output.writeInt(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a long tag as an entry of the current compound.
+     *
+     * @param name the entry's name.
+     * @param value the long's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no compound is currently open.
+     */
+    public NbtStreamWriter writeLong(@NonNull String name, long value) throws IOException {
+        this.named(TagType.LONG.getId(), name);
+        this.output.writeLong(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a long tag as the next element of the current list.
+     *
+     * @param value the long's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no list is currently open, the list does not hold long tags, or it already holds its declared number of elements.
+     */
+    public NbtStreamWriter writeLong(long value) throws IOException {
+        this.unnamed(TagType.LONG.getId());
+        this.output.writeLong(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a float tag as an entry of the current compound.
+     *
+     * @param name the entry's name.
+     * @param value the float's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no compound is currently open.
+     */
+    public NbtStreamWriter writeFloat(@NonNull String name, float value) throws IOException {
+        this.named(TagType.FLOAT.getId(), name);
+        this.output.writeFloat(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a float tag as the next element of the current list.
+     *
+     * @param value the float's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no list is currently open, the list does not hold float tags, or it already holds its declared number of elements.
+     */
+    public NbtStreamWriter writeFloat(float value) throws IOException {
+        this.unnamed(TagType.FLOAT.getId());
+        this.output.writeFloat(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a double tag as an entry of the current compound.
+     *
+     * @param name the entry's name.
+     * @param value the double's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no compound is currently open.
+     */
+    public NbtStreamWriter writeDouble(@NonNull String name, double value) throws IOException {
+        this.named(TagType.DOUBLE.getId(), name);
+        this.output.writeDouble(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a double tag as the next element of the current list.
+     *
+     * @param value the double's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no list is currently open, the list does not hold double tags, or it already holds its declared number of elements.
+     */
+    public NbtStreamWriter writeDouble(double value) throws IOException {
+        this.unnamed(TagType.DOUBLE.getId());
+        this.output.writeDouble(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a byte array tag as an entry of the current compound.
+     *
+     * @param name the entry's name.
+     * @param value the array's values.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no compound is currently open.
+     */
+    public NbtStreamWriter writeByteArray(@NonNull String name, @NonNull byte[] value) throws IOException {
+        this.named(TagType.BYTE_ARRAY.getId(), name);
+        this.byteArray(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a byte array tag as the next element of the current list.
+     *
+     * @param value the array's values.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no list is currently open, the list does not hold byte array tags, or it already holds its declared number of elements.
+     */
+    public NbtStreamWriter writeByteArray(@NonNull byte[] value) throws IOException {
+        this.unnamed(TagType.BYTE_ARRAY.getId());
+        this.byteArray(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a string tag as an entry of the current compound.
+     *
+     * @param name the entry's name.
+     * @param value the string's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs, or the encoded string is longer than 65535 bytes.
+     * @throws IllegalStateException if no compound is currently open.
+     */
+    public NbtStreamWriter writeString(@NonNull String name, @NonNull String value) throws IOException {
+        this.named(TagType.STRING.getId(), name);
+        this.utf(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a string tag as the next element of the current list.
+     *
+     * @param value the string's value.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs, or the encoded string is longer than 65535 bytes.
+     * @throws IllegalStateException if no list is currently open, the list does not hold string tags, or it already holds its declared number of elements.
+     */
+    public NbtStreamWriter writeString(@NonNull String value) throws IOException {
+        this.unnamed(TagType.STRING.getId());
+        this.utf(value);
+
+        return this;
+    }
+
+    /**
+     * Writes an int array tag as an entry of the current compound.
+     *
+     * @param name the entry's name.
+     * @param value the array's values.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no compound is currently open.
+     */
+    public NbtStreamWriter writeIntArray(@NonNull String name, @NonNull int[] value) throws IOException {
+        this.named(TagType.INT_ARRAY.getId(), name);
+        this.intArray(value);
+
+        return this;
+    }
+
+    /**
+     * Writes an int array tag as the next element of the current list.
+     *
+     * @param value the array's values.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no list is currently open, the list does not hold int array tags, or it already holds its declared number of elements.
+     */
+    public NbtStreamWriter writeIntArray(@NonNull int[] value) throws IOException {
+        this.unnamed(TagType.INT_ARRAY.getId());
+        this.intArray(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a long array tag as an entry of the current compound.
+     *
+     * @param name the entry's name.
+     * @param value the array's values.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no compound is currently open.
+     */
+    public NbtStreamWriter writeLongArray(@NonNull String name, @NonNull long[] value) throws IOException {
+        this.named(TagType.LONG_ARRAY.getId(), name);
+        this.longArray(value);
+
+        return this;
+    }
+
+    /**
+     * Writes a long array tag as the next element of the current list.
+     *
+     * @param value the array's values.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no list is currently open, the list does not hold long array tags, or it already holds its declared number of elements.
+     */
+    public NbtStreamWriter writeLongArray(@NonNull long[] value) throws IOException {
+        this.unnamed(TagType.LONG_ARRAY.getId());
+        this.longArray(value);
+
+        return this;
+    }
+
+    /**
+     * Writes an already built tag, of any type, as an entry of the current compound.
+     *
+     * @param name the entry's name.
+     * @param tag the tag to write.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no compound is currently open.
+     */
+    public NbtStreamWriter writeTag(@NonNull String name, @NonNull Tag tag) throws IOException {
+        this.named(tag.getTypeId(), name);
+        tag.write(this.output, this.depth, this.typeRegistry);
+
+        return this;
+    }
+
+    /**
+     * Writes an already built tag, of any type, as the next element of the current list.
+     *
+     * @param tag the tag to write.
+     * @return this writer.
+     * @throws IOException if any I/O error occurs.
+     * @throws IllegalStateException if no list is currently open, the list does not hold tags of this tag's type, or it already holds its declared number of elements.
+     */
+    public NbtStreamWriter writeTag(@NonNull Tag tag) throws IOException {
+        this.unnamed(tag.getTypeId());
+        tag.write(this.output, this.depth, this.typeRegistry);
+
+        return this;
+    }
+
+    /**
+     * Returns true once the root compound has been ended, false otherwise.
+     *
+     * @return true once the root compound has been ended, false otherwise.
+     */
+    public boolean isComplete() {
+        return this.started && this.depth == 0;
+    }
+
+    private void named(byte type, String name) throws IOException {
+        if (this.depth == 0 || this.elementTypes[this.depth - 1] != -1) {
+            throw new IllegalStateException("Named tags may only be written inside a compound.");
+        }
+
+        this.output.writeByte(type);
+        this.utf(name);
+    }
+
+    private void unnamed(byte type) {
+        if (this.depth == 0 || this.elementTypes[this.depth - 1] == -1) {
+            throw new IllegalStateException("Unnamed tags may only be written inside a list.");
+        }
+
+        if (this.elementTypes[this.depth - 1] != (type & 0xFF)) {
+            throw new IllegalStateException("Cannot write tag type " + type + " to a list of tag type " + (byte) this.elementTypes[this.depth - 1] + ".");
+        }
+
+        if (this.remaining[this.depth - 1] == 0) {
+            throw new IllegalStateException("List already holds its declared number of elements.");
+        }
+
+        this.remaining[this.depth - 1]--;
+    }
+
+    private void list(byte type, int length) throws IOException {
+        this.output.writeByte(type);
+        this.output.writeInt(length);
+
+        this.push(type & 0xFF, length);
+    }
+
+    /**
+     * Validates a list header before anything of the list, including its tag header, is written.
+     */
+    private static void checkList(byte type, int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("List length cannot be negative.");
+        }
+
+        if (type == 0 && length > 0) {
+            throw new IllegalArgumentException("Illegal list element tag type " + type + ".");
+        }
+    }
+
+    private void push(int elementType, int length) throws IOException {
+        if (this.depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        if (this.depth == this.elementTypes.length) {
+            this.elementTypes = Arrays.copyOf(this.elementTypes, this.depth * 2);
+            this.remaining = Arrays.copyOf(this.remaining, this.depth * 2);
+        }
+
+        this.elementTypes[this.depth] = elementType;
+        this.remaining[this.depth] = length;
+        this.depth++;
+    }
+
+    private void utf(String value) throws IOException {
+        if (this.output instanceof ByteBufferOutput) {
+            this.output.writeUTF(value);
+            return;
+        }
+
+        int length = ModifiedUtf8.checkedLength(value);
+
+        if (this.scratch.length < length + 2) {
+            this.scratch = new byte[Integer.highestOneBit(length + 2) << 1];
+        }
+
+        this.scratch[0] = (byte) (length >>> 8);
+        this.scratch[1] = (byte) length;
+        ModifiedUtf8.encode(value, this.scratch, 2);
+
+        this.output.write(this.scratch, 0, length + 2);
+    }
+
+    private void byteArray(byte[] value) throws IOException {
+        this.output.writeInt(value.length);
+        this.output.write(value);
+    }
+
+    private void intArray(int[] value) throws IOException {
+        this.output.writeInt(value.length);
+
+        if (this.output instanceof ByteBufferOutput) {
+            ((ByteBufferOutput) this.output).writeInts(value);
+            return;
+        }
+
+        for (int i : value) {
+            this.output.writeInt(i);
+        }
+    }
+
+    private void longArray(long[] value) throws IOException {
+        this.output.writeInt(value.length);
+
+        if (this.output instanceof ByteBufferOutput) {
+            ((ByteBufferOutput) this.output).writeLongs(value);
+            return;
+        }
+
+        for (long l : value) {
+            this.output.writeLong(l);
+        }
+    }
+}
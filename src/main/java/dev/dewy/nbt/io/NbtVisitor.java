@@ -0,0 +1,138 @@
+package dev.dewy.nbt.io;
+
+import dev.dewy.nbt.api.Tag;
+
+/**
+ * Receives events from {@link NbtReader#accept(java.io.DataInput, NbtVisitor)} as an NBT data structure is decoded, without any tag tree being built.
+ * All methods do nothing by default, so implementations need only override the events they are interested in.
+ *
+ * <p>Every compound entry is announced by {@link #visitKey(byte, String)} followed by exactly one value event.
+ * List elements are value events with no preceding key. The root compound is announced like any other compound entry.</p>
+ *
+ * @author dewy
+ */
+public interface NbtVisitor {
+    /**
+     * Called for each named entry of a compound, before its value is visited.
+     *
+     * @param type the tag type ID of the entry.
+     * @param name the name (key) of the entry.
+     */
+    default void visitKey(byte type, String name) {
+    }
+
+    /**
+     * Called for a byte tag (type ID 1).
+     *
+     * @param value the tag's {@code byte} value.
+     */
+    default void visitByte(byte value) {
+    }
+
+    /**
+     * Called for a short tag (type ID 2).
+     *
+     * @param value the tag's {@code short} value.
+     */
+    default void visitShort(short value) {
+    }
+
+    /**
+     * Called for an int tag (type ID 3).
+     *
+     * @param value the tag's {@code int} value.
+     */
+    default void visitInt(int value) {
+    }
+
+    /**
+     * Called for a long tag (type ID 4).
+     *
+     * @param value the tag's {@code long} value.
+     */
+    default void visitLong(long value) {
+    }
+
+    /**
+     * Called for a float tag (type ID 5).
+     *
+     * @param value the tag's {@code float} value.
+     */
+    default void visitFloat(float value) {
+    }
+
+    /**
+     * Called for a double tag (type ID 6).
+     *
+     * @param value the tag's {@code double} value.
+     */
+    default void visitDouble(double value) {
+    }
+
+    /**
+     * Called for a byte array tag (type ID 7).
+     *
+     * @param value the tag's {@code byte[]} value.
+     */
+    default void visitByteArray(byte[] value) {
+    }
+
+    /**
+     * Called for a string tag (type ID 8).
+     *
+     * @param value the tag's {@code String} value.
+     */
+    default void visitString(String value) {
+    }
+
+    /**
+     * Called at the start of a list tag (type ID 9), before any of its elements are visited.
+     *
+     * @param type the tag type ID of the list's elements.
+     * @param length the number of elements in the list.
+     */
+    default void visitListStart(byte type, int length) {
+    }
+
+    /**
+     * Called once all elements of a list tag have been visited.
+     */
+    default void visitListEnd() {
+    }
+
+    /**
+     * Called at the start of a compound tag (type ID 10), before any of its entries are visited.
+     */
+    default void visitCompoundStart() {
+    }
+
+    /**
+     * Called once all entries of a compound tag have been visited.
+     */
+    default void visitCompoundEnd() {
+    }
+
+    /**
+     * Called for an int array tag (type ID 11).
+     *
+     * @param value the tag's {@code int[]} value.
+     */
+    default void visitIntArray(int[] value) {
+    }
+
+    /**
+     * Called for a long array tag (type ID 12).
+     *
+     * @param value the tag's {@code long[]} value.
+     */
+    default void visitLongArray(long[] value) {
+    }
+
+    /**
+     * Called for a custom-made tag type, which is read in full through the {@link dev.dewy.nbt.api.registry.TagTypeRegistry}.
+     *
+     * @param tag the custom tag read, with a {@code null} name.
+     */
+    default void visitTag(Tag tag) {
+    }
+}
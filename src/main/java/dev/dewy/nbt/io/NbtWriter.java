@@ -8,6 +8,7 @@ import lombok.NonNull;
 
 import java.io.DataOutput;
 import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * Used to write root {@link CompoundTag}s using a certain {@link TagTypeRegistry}.
@@ -16,27 +17,89 @@ import java.io.IOException;
  */
 @AllArgsConstructor
 public class NbtWriter {
+    private static final int BUFFER_SIZE = 8192;
+
     private @NonNull TagTypeRegistry typeRegistry;
 
     /**
-     * Writes the given root {@link CompoundTag} to a {@link DataOutput} stream.
+     * Writes the given root {@link CompoundTag} to a {@link DataOutput} stream. Unless the stream is a {@link ByteBufferOutput},
+     * the structure is written through a buffer of its own, and all of it has reached the stream once this method returns.
      *
      * @param compound the NBT structure to write, contained within a {@link CompoundTag}.
      * @param output the stream to write to.
      * @throws IOException if any I/O error occurs.
      */
     public void toStream(@NonNull CompoundTag compound, @NonNull DataOutput output) throws IOException {
+        if (!(output instanceof ByteBufferOutput)) {
+            // buffered so that primitives reach the stream in large chunks, and strings are encoded without a temporary array each
+            ByteBufferOutput buffered = new ByteBufferOutput(new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    output.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    output.write(b, off, len);
+                }
+            }, BUFFER_SIZE);
+
+            this.toStream(compound, buffered);
+            buffered.flush();
+
+            return;
+        }
+
         output.writeByte(TagType.COMPOUND.getId());
 
         if (compound.getName() == null) {
-            output.writeUTF("");
+            ModifiedUtf8.write("", output);
         } else {
-            output.writeUTF(compound.getName());
+            ModifiedUtf8.write(compound.getName(), output);
         }
 
         compound.write(output, 0, this.typeRegistry);
     }
 
+    /**
+     * Writes the given root {@link CompoundTag} to a {@code byte[]} array, allocated once at its exact {@link #serializedSize(CompoundTag) serialized size}.
+     *
+     * @param compound the NBT structure to write, contained within a {@link CompoundTag}.
+     * @return the resulting {@code byte[]} array.
+     * @throws IOException if any I/O error occurs, or the structure is too large to fit in an array.
+     */
+    public byte[] toByteArray(@NonNull CompoundTag compound) throws IOException {
+        long size = this.serializedSize(compound);
+
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IOException("NBT structure too large to fit in an array (" + size + " bytes).");
+        }
+
+        byte[] bytes = new byte[(int) size];
+        ByteBufferOutput output = new ByteBufferOutput(bytes);
+
+        this.toStream(compound, output);
+
+        if (output.size() != bytes.length) {
+            throw new IOException("NBT structure wrote " + output.size() + " bytes, but its serialized size was computed as " + size + " bytes.");
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Returns the exact number of bytes {@link #toStream(CompoundTag, DataOutput)} writes for the given root {@link CompoundTag}.
+     *
+     * @param compound the NBT structure to measure, contained within a {@link CompoundTag}.
+     * @return the serialized size of the structure, in bytes.
+     * @throws IOException if any I/O error occurs.
+     */
+    public long serializedSize(@NonNull CompoundTag compound) throws IOException {
+        String name = compound.getName() == null ? "" : compound.getName();
+
+        return 3 + ModifiedUtf8.encodedLength(name) + compound.serializedSize(0, this.typeRegistry);
+    }
+
     /**
      * Returns the {@link TagTypeRegistry} currently in use by this writer.
      *
@@ -0,0 +1,56 @@
+package dev.dewy.nbt.io;
+
+import dev.dewy.nbt.api.Tag;
+import dev.dewy.nbt.api.registry.TagTypeRegistry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Copies encoded tag payloads out of a {@link DataInput} stream without decoding them, for {@code LazyCompoundTag}.
+ * This class is internal to the library and is not part of its API.
+ *
+ * @author dewy
+ */
+public final class PayloadCopier {
+    private PayloadCopier() {
+    }
+
+    /**
+     * Skips the payload of a tag of the given type, returning a copy of the skipped bytes.
+     * The copy can later be decoded with {@link Tag#read(DataInput, int, TagTypeRegistry)}, or written back out verbatim.
+     *
+     * @param type the tag type ID of the payload.
+     * @param input the stream to skip within.
+     * @param depth the current depth of the NBT data structure.
+     * @param registry the {@link TagTypeRegistry} used to read (and discard) custom tag types.
+     * @return the encoded payload skipped.
+     * @throws IOException if any I/O error occurs.
+     */
+    public static byte[] copyPayload(byte type, DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        TagSkipper.skipPayload(type, new DataInputStream(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                int b = input.readUnsignedByte();
+                copy.write(b);
+
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                input.readFully(b, off, len);
+                copy.write(b, off, len);
+
+                return len;
+            }
+        }), depth, registry);
+
+        return copy.toByteArray();
+    }
+}
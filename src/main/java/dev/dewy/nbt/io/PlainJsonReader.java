@@ -0,0 +1,228 @@
+package dev.dewy.nbt.io;
+
+import com.google.gson.stream.JsonReader;
+import dev.dewy.nbt.api.Tag;
+import dev.dewy.nbt.api.registry.TagTypeRegistry;
+import dev.dewy.nbt.tags.collection.*;
+import dev.dewy.nbt.tags.primitive.*;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads NBT data structures from the plain JSON written by {@link PlainJsonWriter}. Every JSON value maps to exactly one tag:
+ *
+ * <ul>
+ *     <li>objects are compound tags, and arrays list tags, whose elements must all be of one type;</li>
+ *     <li>numbers with a fraction or exponent are double tags, and other numbers int tags;</li>
+ *     <li>{@code true} and {@code false} are the byte tags {@code 1b} and {@code 0b}, as in SNBT;</li>
+ *     <li>strings holding an SNBT suffixed number, array or quoted string are the tag that SNBT describes, and any other string a string tag.</li>
+ * </ul>
+ *
+ * @author dewy
+ */
+public class PlainJsonReader {
+    private @NonNull TagTypeRegistry typeRegistry;
+    private @NonNull SnbtReader snbtReader;
+
+    /**
+     * Constructs a plain JSON reader using a given {@link TagTypeRegistry}.
+     *
+     * @param typeRegistry the tag type registry to be used.
+     */
+    public PlainJsonReader(@NonNull TagTypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+        this.snbtReader = new SnbtReader(typeRegistry);
+    }
+
+    /**
+     * Reads an NBT data structure (root {@link CompoundTag}) from plain JSON. As plain JSON does not hold the root compound's name, it is left {@code null}.
+     *
+     * @param in the {@link JsonReader} to read from.
+     * @return the root {@link CompoundTag} read.
+     * @throws IOException if any I/O error occurs, or the JSON does not describe a compound tag.
+     */
+    public CompoundTag fromJson(@NonNull JsonReader in) throws IOException {
+        try {
+            return this.readCompound(in, 0);
+        } catch (IllegalStateException e) {
+            throw new IOException("Invalid plain NBT JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the {@link TagTypeRegistry} currently in use by this reader.
+     *
+     * @return the {@link TagTypeRegistry} currently in use by this reader.
+     */
+    public TagTypeRegistry getTypeRegistry() {
+        return this.typeRegistry;
+    }
+
+    /**
+     * Sets the {@link TagTypeRegistry} currently in use by this reader.
+     *
+     * @param typeRegistry the new {@link TagTypeRegistry} to be set.
+     */
+    public void setTypeRegistry(@NonNull TagTypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+        this.snbtReader.setTypeRegistry(typeRegistry);
+    }
+
+    /**
+     * Returns true if a string tag's value would be read back as some other tag were it written as a bare JSON string,
+     * and so must be written as an SNBT quoted string instead.
+     */
+    static boolean isAmbiguous(String value, SnbtReader snbtReader) {
+        if (value.isEmpty()) {
+            return false;
+        }
+
+        char first = value.charAt(0);
+
+        return first == '"' || first == '\'' || isArray(value) || nonFinite(value) != null || snbtReader.parseSuffixedNumber(value) != null;
+    }
+
+    private Tag readValue(JsonReader in, int depth) throws IOException {
+        switch (in.peek()) {
+            case BEGIN_OBJECT:
+                return this.readCompound(in, depth);
+            case BEGIN_ARRAY:
+                return this.readList(in, depth);
+            case NUMBER:
+                return this.readNumber(in.nextString());
+            case STRING:
+                return this.readString(in.nextString());
+            case BOOLEAN:
+                return this.checkType(new ByteTag((byte) (in.nextBoolean() ? 1 : 0)));
+            default:
+                throw new IOException("Plain NBT JSON cannot hold " + in.peek() + " at " + in.getPath() + ".");
+        }
+    }
+
+    private CompoundTag readCompound(JsonReader in, int depth) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        CompoundTag compound = new CompoundTag();
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            String name = in.nextName();
+
+            compound.put(name, this.readValue(in, depth + 1));
+        }
+
+        in.endObject();
+
+        return compound;
+    }
+
+    private ListTag<Tag> readList(JsonReader in, int depth) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        List<Tag> values = new ArrayList<>();
+        byte type = 0;
+
+        in.beginArray();
+
+        while (in.hasNext()) {
+            String path = in.getPath();
+            Tag tag = this.readValue(in, depth + 1);
+
+            if (values.isEmpty()) {
+                type = tag.getTypeId();
+            } else if (tag.getTypeId() != type) {
+                throw new IOException("List of type " + type + " cannot hold a tag of type " + tag.getTypeId() + " at " + path + ".");
+            }
+
+            values.add(tag);
+        }
+
+        in.endArray();
+
+        return new ListTag<>(null, values);
+    }
+
+    private Tag readNumber(String number) throws IOException {
+        try {
+            if (number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0) {
+                return this.checkType(new DoubleTag(Double.parseDouble(number)));
+            }
+
+            return this.checkType(new IntTag(Integer.parseInt(number)));
+        } catch (NumberFormatException e) {
+            throw new IOException("Number " + number + " is out of range for an int tag; longs must be written as strings such as \"" + number + "L\".", e);
+        }
+    }
+
+    private Tag readString(String value) throws IOException {
+        if (value.isEmpty()) {
+            return this.checkType(new StringTag(value));
+        }
+
+        char first = value.charAt(0);
+
+        if (first == '"' || first == '\'') {
+            Tag tag = this.snbtReader.parseTag(value);
+
+            if (!(tag instanceof StringTag)) {
+                throw new IOException("Quoted string " + value + " is not a single SNBT string.");
+            }
+
+            return tag;
+        }
+
+        if (isArray(value)) {
+            return this.snbtReader.parseTag(value);
+        }
+
+        Tag tag = nonFinite(value);
+
+        if (tag == null) {
+            tag = this.snbtReader.parseSuffixedNumber(value);
+        }
+
+        return this.checkType(tag != null ? tag : new StringTag(value));
+    }
+
+    private Tag checkType(Tag tag) throws IOException {
+        if (this.typeRegistry.getFactoryFromId(tag.getTypeId()) == null) {
+            throw new IOException("Tag type with ID " + tag.getTypeId() + " not present in tag type registry.");
+        }
+
+        return tag;
+    }
+
+    private static boolean isArray(String value) {
+        return value.length() >= 3 && value.charAt(0) == '[' && value.charAt(2) == ';' && "BIL".indexOf(value.charAt(1)) >= 0;
+    }
+
+    /**
+     * Returns the float or double tag for the suffixed string forms of NaN and the infinities, which JSON numbers cannot hold, or {@code null}.
+     */
+    private static Tag nonFinite(String value) {
+        switch (value) {
+            case "NaNf":
+                return new FloatTag(Float.NaN);
+            case "Infinityf":
+                return new FloatTag(Float.POSITIVE_INFINITY);
+            case "-Infinityf":
+                return new FloatTag(Float.NEGATIVE_INFINITY);
+            case "NaNd":
+                return new DoubleTag(Double.NaN);
+            case "Infinityd":
+                return new DoubleTag(Double.POSITIVE_INFINITY);
+            case "-Infinityd":
+                return new DoubleTag(Double.NEGATIVE_INFINITY);
+            default:
+                return null;
+        }
+    }
+}
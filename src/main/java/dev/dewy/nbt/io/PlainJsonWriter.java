@@ -0,0 +1,189 @@
+package dev.dewy.nbt.io;
+
+import com.google.gson.stream.JsonWriter;
+import dev.dewy.nbt.api.Tag;
+import dev.dewy.nbt.api.registry.TagTypeRegistry;
+import dev.dewy.nbt.api.snbt.SnbtConfig;
+import dev.dewy.nbt.tags.array.ArrayTag;
+import dev.dewy.nbt.tags.collection.*;
+import dev.dewy.nbt.tags.primitive.*;
+import dev.dewy.nbt.utils.StringUtils;
+import lombok.NonNull;
+
+import java.io.IOException;
+
+/**
+ * Writes NBT data structures as plain JSON, in which compounds are objects keyed by tag name, lists are arrays,
+ * and values carry no per-tag type wrapper. Types are preserved through the value syntax alone:
+ *
+ * <ul>
+ *     <li>int tags are JSON numbers without a fraction or exponent, and double tags JSON numbers with one ({@code 5} and {@code 5.0});</li>
+ *     <li>byte, short, long and float tags are strings holding an SNBT number with its type suffix ({@code "1b"}, {@code "300s"}, {@code "7L"}, {@code "1.5f"});</li>
+ *     <li>array tags are strings holding an SNBT array ({@code "[I;1,2,3]"});</li>
+ *     <li>string tags are plain JSON strings, unless they could be mistaken for one of the above (or begin with a quote),
+ *     in which case they hold an SNBT quoted string ({@code "\"1b\""}).</li>
+ * </ul>
+ *
+ * <p>The root compound's name, and the element type of empty lists, are not preserved. See {@link PlainJsonReader} for the reverse direction.</p>
+ *
+ * @author dewy
+ */
+public class PlainJsonWriter {
+    private static final SnbtConfig COMPACT = new SnbtConfig();
+
+    private @NonNull TagTypeRegistry typeRegistry;
+    private @NonNull SnbtReader snbtReader;
+
+    /**
+     * Constructs a plain JSON writer using a given {@link TagTypeRegistry}.
+     *
+     * @param typeRegistry the tag type registry to be used.
+     */
+    public PlainJsonWriter(@NonNull TagTypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+        this.snbtReader = new SnbtReader(typeRegistry);
+    }
+
+    /**
+     * Writes the given root {@link CompoundTag} as plain JSON to a {@link JsonWriter}.
+     *
+     * @param compound the NBT structure to write, contained within a {@link CompoundTag}.
+     * @param out the {@link JsonWriter} to write to.
+     * @throws IOException if any I/O error occurs, or the structure holds tags of custom types.
+     */
+    public void toJson(@NonNull CompoundTag compound, @NonNull JsonWriter out) throws IOException {
+        this.writeCompound(compound, 0, out);
+        out.flush();
+    }
+
+    /**
+     * Returns the {@link TagTypeRegistry} currently in use by this writer.
+     *
+     * @return the {@link TagTypeRegistry} currently in use by this writer.
+     */
+    public TagTypeRegistry getTypeRegistry() {
+        return this.typeRegistry;
+    }
+
+    /**
+     * Sets the {@link TagTypeRegistry} currently in use by this writer.
+     *
+     * @param typeRegistry the new {@link TagTypeRegistry} to be set.
+     */
+    public void setTypeRegistry(@NonNull TagTypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+        this.snbtReader.setTypeRegistry(typeRegistry);
+    }
+
+    private void writeValue(Tag tag, int depth, JsonWriter out) throws IOException {
+        switch (tag.getTypeId()) {
+            case 1:
+                out.value(((ByteTag) tag).getValue() + "b");
+                break;
+            case 2:
+                out.value(((ShortTag) tag).getValue() + "s");
+                break;
+            case 3:
+                out.value(((IntTag) tag).getValue());
+                break;
+            case 4:
+                out.value(((LongTag) tag).getValue() + "L");
+                break;
+            case 5:
+                out.value(((FloatTag) tag).getValue() + "f");
+                break;
+            case 6:
+                this.writeDouble(((DoubleTag) tag).getValue(), out);
+                break;
+            case 7:
+            case 11:
+            case 12:
+                out.value(((ArrayTag<?>) tag).toSnbt(0, this.typeRegistry, COMPACT));
+                break;
+            case 8:
+                String string = ((StringTag) tag).getValue();
+
+                out.value(PlainJsonReader.isAmbiguous(string, this.snbtReader) ? StringUtils.escapeSnbt(string) : string);
+                break;
+            case 9:
+                this.writeList((ListTag<?>) tag, depth, out);
+                break;
+            case 10:
+                this.writeCompound((CompoundTag) tag, depth, out);
+                break;
+            default:
+                throw new IOException("Tag type with ID " + tag.getTypeId() + " cannot be written as plain JSON.");
+        }
+    }
+
+    private void writeCompound(CompoundTag compound, int depth, JsonWriter out) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        out.beginObject();
+
+        for (Tag tag : compound) {
+            out.name(tag.getName());
+            this.writeValue(tag, depth + 1, out);
+        }
+
+        out.endObject();
+    }
+
+    private void writeList(ListTag<?> list, int depth, JsonWriter out) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        out.beginArray();
+
+        if (list.getValue() instanceof PrimitiveTagList) {
+            this.writePrimitives((PrimitiveTagList<?>) list.getValue(), out);
+        } else {
+            for (Tag tag : list) {
+                this.writeValue(tag, depth + 1, out);
+            }
+        }
+
+        out.endArray();
+    }
+
+    /**
+     * Writes the elements of a primitive list straight from its backing array, without materializing a tag for each.
+     */
+    private void writePrimitives(PrimitiveTagList<?> list, JsonWriter out) throws IOException {
+        byte type = list.getElementType();
+
+        for (int i = 0; i < list.size(); i++) {
+            switch (type) {
+                case 1:
+                    out.value(((ByteTagList) list).getByte(i) + "b");
+                    break;
+                case 2:
+                    out.value(((ShortTagList) list).getShort(i) + "s");
+                    break;
+                case 3:
+                    out.value(((IntTagList) list).getInt(i));
+                    break;
+                case 4:
+                    out.value(((LongTagList) list).getLong(i) + "L");
+                    break;
+                case 5:
+                    out.value(((FloatTagList) list).getFloat(i) + "f");
+                    break;
+                default:
+                    this.writeDouble(((DoubleTagList) list).getDouble(i), out);
+            }
+        }
+    }
+
+    private void writeDouble(double value, JsonWriter out) throws IOException {
+        // JSON has no literal for non-finite numbers, so these are written as suffixed strings
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.value(value + "d");
+        } else {
+            out.value(value);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package dev.dewy.nbt.io;
+
+import lombok.Data;
+
+/**
+ * Configuration class for reading NBT files.
+ *
+ * @author dewy
+ */
+@Data
+public class ReadOptions {
+    /**
+     * Toggles memory-mapped reading of uncompressed files, decoding straight from the mapped file rather than copying it through a stream buffer.
+     * Compressed files are always read through a stream.
+     */
+    private boolean memoryMapped;
+}
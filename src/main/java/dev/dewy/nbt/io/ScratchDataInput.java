@@ -0,0 +1,98 @@
+package dev.dewy.nbt.io;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * A {@link DataInput} delegating to another, which decodes every string read through {@link ModifiedUtf8} into one reusable
+ * scratch buffer rather than a freshly allocated array per string.
+ *
+ * @author dewy
+ */
+final class ScratchDataInput implements DataInput {
+    private final DataInput input;
+    private final NameReader strings = new NameReader(null);
+
+    /**
+     * @param input the stream to read from.
+     */
+    ScratchDataInput(DataInput input) {
+        this.input = input;
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        this.input.readFully(b);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        this.input.readFully(b, off, len);
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        return this.input.skipBytes(n);
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return this.input.readBoolean();
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return this.input.readByte();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return this.input.readUnsignedByte();
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        return this.input.readShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return this.input.readUnsignedShort();
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return this.input.readChar();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        return this.input.readInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        return this.input.readLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return this.input.readFloat();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return this.input.readDouble();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public String readLine() throws IOException {
+        return this.input.readLine();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return this.strings.readString(this.input);
+    }
+}
@@ -0,0 +1,810 @@
+package dev.dewy.nbt.io;
+
+import dev.dewy.nbt.api.Tag;
+import dev.dewy.nbt.api.registry.TagTypeRegistry;
+import dev.dewy.nbt.api.snbt.SnbtParseException;
+import dev.dewy.nbt.tags.array.ByteArrayTag;
+import dev.dewy.nbt.tags.array.IntArrayTag;
+import dev.dewy.nbt.tags.array.LongArrayTag;
+import dev.dewy.nbt.tags.collection.*;
+import dev.dewy.nbt.tags.primitive.*;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parses SNBT (Stringified NBT), as written by {@link dev.dewy.nbt.api.snbt.SnbtSerializable#toSnbt}, back into tags, in a single pass over the input.
+ *
+ * <p>The syntax accepted is that of Minecraft: compounds {@code {key:value,...}} with quoted or unquoted keys, lists {@code [value,...]},
+ * typed arrays {@code [B;...]}, {@code [I;...]} and {@code [L;...]}, numbers with an optional type suffix ({@code b}, {@code s}, {@code L},
+ * {@code f} or {@code d}; integers are ints and decimals doubles without one), {@code true} and {@code false} as bytes, and strings,
+ * either quoted with {@code "} or {@code '} and backslash escapes, or unquoted. As in Minecraft, an unquoted value which is not a valid
+ * number (e.g. out of range for its type) is read as a string.</p>
+ *
+ * <p>Numbers, including the elements of numeric lists, are decoded straight from the input into primitive-backed lists
+ * without intermediate strings. A reader is thread-safe, so long as its {@link TagTypeRegistry} is not changed while in use.</p>
+ *
+ * @author dewy
+ */
+public class SnbtReader {
+    private static final int MAX_DEPTH = 512;
+
+    private @NonNull TagTypeRegistry typeRegistry;
+
+    /**
+     * Constructs an SNBT reader creating tags whose types are checked against a given {@link TagTypeRegistry}.
+     *
+     * @param typeRegistry the tag type registry to be used.
+     */
+    public SnbtReader(@NonNull TagTypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+    }
+
+    /**
+     * Parses an SNBT compound, such as {@code {name:"Bananrama",pos:[I;1,2,3]}}, into a root {@link CompoundTag}.
+     * Nothing but whitespace may follow the compound.
+     *
+     * @param snbt the SNBT to parse.
+     * @return the root {@link CompoundTag} parsed.
+     * @throws SnbtParseException if the input is not a valid SNBT compound.
+     */
+    public CompoundTag fromSnbt(@NonNull CharSequence snbt) throws SnbtParseException {
+        Parser parser = new Parser(snbt);
+        CompoundTag compound = parser.readRoot();
+
+        parser.expectEnd();
+
+        return compound;
+    }
+
+    /**
+     * Parses an SNBT compound read in full from a {@link Reader} into a root {@link CompoundTag}. The reader is not closed.
+     *
+     * @param reader the reader to read SNBT from.
+     * @return the root {@link CompoundTag} parsed.
+     * @throws SnbtParseException if the input is not a valid SNBT compound.
+     * @throws IOException if any I/O error occurs.
+     */
+    public CompoundTag fromSnbt(@NonNull Reader reader) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[8192];
+
+        for (int n; (n = reader.read(buffer)) >= 0; ) {
+            sb.append(buffer, 0, n);
+        }
+
+        return this.fromSnbt(sb);
+    }
+
+    /**
+     * Parses any single SNBT value, such as {@code 5b}, {@code "text"} or {@code [1.0f,2.0f]}, into an unnamed {@link Tag}.
+     * Nothing but whitespace may follow the value.
+     *
+     * @param snbt the SNBT to parse.
+     * @return the tag parsed.
+     * @throws SnbtParseException if the input is not a valid SNBT value.
+     */
+    public Tag parseTag(@NonNull CharSequence snbt) throws SnbtParseException {
+        Parser parser = new Parser(snbt);
+        Tag tag = parser.readValue(0);
+
+        parser.expectEnd();
+
+        return tag;
+    }
+
+    /**
+     * Parses a number with an explicit type suffix, such as {@code 5b}, {@code 300s}, {@code 7L}, {@code 1.5f} or {@code 2.0d}, making up the whole input.
+     * Returns {@code null}, rather than throwing, for any other input, including unsuffixed numbers and out-of-range values.
+     *
+     * @param snbt the SNBT to parse.
+     * @return the numeric tag parsed, or {@code null} if the input is not a suffixed number.
+     */
+    Tag parseSuffixedNumber(CharSequence snbt) {
+        int length = snbt.length();
+
+        if (length < 2 || "bBsSlLfFdD".indexOf(snbt.charAt(length - 1)) < 0) {
+            return null;
+        }
+
+        Parser parser = new Parser(snbt);
+
+        try {
+            byte type = parser.scanUnquoted();
+
+            return parser.pos == length && type != 8 ? parser.toTag(type) : null;
+        } catch (SnbtParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the {@link TagTypeRegistry} currently in use by this reader.
+     *
+     * @return the {@link TagTypeRegistry} currently in use by this reader.
+     */
+    public TagTypeRegistry getTypeRegistry() {
+        return this.typeRegistry;
+    }
+
+    /**
+     * Sets the {@link TagTypeRegistry} currently in use by this reader.
+     *
+     * @param typeRegistry the new {@link TagTypeRegistry} to be set.
+     */
+    public void setTypeRegistry(@NonNull TagTypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+    }
+
+    private static boolean isUnquotedChar(char c) {
+        return c >= '0' && c <= '9' || c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c == '_' || c == '-' || c == '.' || c == '+';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * The state of a single parse: the input and a cursor into it, plus the value of the last unquoted token scanned.
+     */
+    private final class Parser {
+        private final CharSequence in;
+        private final int length;
+        private int pos;
+
+        // the last scanned token: numbers are held as primitives until a tag is actually needed
+        private long integer;
+        private double decimal;
+        private String string;
+
+        private Parser(CharSequence in) {
+            this.in = in;
+            this.length = in.length();
+        }
+
+        CompoundTag readRoot() throws SnbtParseException {
+            this.skipWhitespace();
+
+            if (this.peek() != '{') {
+                throw this.error("Expected '{'");
+            }
+
+            return this.readCompound(1);
+        }
+
+        void expectEnd() throws SnbtParseException {
+            this.skipWhitespace();
+
+            if (this.pos < this.length) {
+                throw this.error("Unexpected trailing data");
+            }
+        }
+
+        Tag readValue(int depth) throws SnbtParseException {
+            this.skipWhitespace();
+
+            switch (this.peek()) {
+                case '{':
+                    return this.readCompound(depth + 1);
+                case '[':
+                    return this.isArrayStart() ? this.readArray() : this.readList(depth + 1);
+                case '"':
+                case '\'':
+                    this.checkType((byte) 8);
+
+                    return new StringTag(this.readQuoted());
+                default:
+                    return this.toTag(this.scanUnquoted());
+            }
+        }
+
+        private CompoundTag readCompound(int depth) throws SnbtParseException {
+            this.checkDepth(depth);
+            this.checkType((byte) 10);
+            this.pos++;
+
+            CompoundTag compound = new CompoundTag();
+
+            this.skipWhitespace();
+
+            while (this.peek() != '}') {
+                String key = this.readKey();
+
+                this.expect(':');
+
+                Tag tag = this.readValue(depth);
+                tag.setName(key);
+                compound.put(tag);
+
+                if (!this.skipSeparator()) {
+                    break;
+                }
+            }
+
+            this.expect('}');
+
+            return compound;
+        }
+
+        private ListTag<Tag> readList(int depth) throws SnbtParseException {
+            this.checkDepth(depth);
+            this.checkType((byte) 9);
+            this.pos++;
+            this.skipWhitespace();
+
+            List<Tag> values = null;
+            PrimitiveTagList<?> primitives = null;
+            byte listType = 0;
+
+            while (this.peek() != ']') {
+                int start = this.pos;
+                byte type;
+                Tag tag = null;
+
+                char c = this.peek();
+
+                if (c == '{' || c == '[' || c == '"' || c == '\'') {
+                    tag = this.readValue(depth);
+                    type = tag.getTypeId();
+                } else {
+                    type = this.scanUnquoted();
+                }
+
+                if (listType == 0) {
+                    listType = type;
+                    primitives = tag == null ? PrimitiveTagList.create(type) : null;
+
+                    if (primitives == null) {
+                        values = new ArrayList<>();
+                    }
+                } else if (type != listType) {
+                    this.pos = start;
+
+                    throw this.error("Can't insert tag of type " + type + " into list of type " + listType);
+                }
+
+                if (primitives != null) {
+                    this.addPrimitive(primitives, type);
+                } else {
+                    values.add(tag != null ? tag : this.toTag(type));
+                }
+
+                if (!this.skipSeparator()) {
+                    break;
+                }
+            }
+
+            this.expect(']');
+
+            ListTag<Tag> list = new ListTag<>(null, primitives != null ? (List<Tag>) (List<?>) primitives : values != null ? values : new ArrayList<>());
+
+            if (primitives != null) {
+                // elements were appended straight to the backing list, so the list type has yet to be set
+                list.setValue(list.getValue());
+            }
+
+            return list;
+        }
+
+        private Tag readArray() throws SnbtParseException {
+            char kind = this.in.charAt(this.pos + 1);
+            byte elementType = kind == 'B' ? (byte) 1 : kind == 'I' ? (byte) 3 : (byte) 4;
+
+            this.checkType(kind == 'B' ? (byte) 7 : kind == 'I' ? (byte) 11 : (byte) 12);
+            this.pos += 3;
+            this.skipWhitespace();
+
+            long[] elements = new long[16];
+            int count = 0;
+
+            while (this.peek() != ']') {
+                int start = this.pos;
+                byte type = this.scanUnquoted();
+
+                // unsuffixed integers are accepted in byte and long arrays, as long as they fit
+                if (type == 3 && elementType != 3) {
+                    type = this.narrow(elementType) ? elementType : type;
+                }
+
+                if (type != elementType) {
+                    this.pos = start;
+
+                    throw this.error("Can't insert tag of type " + type + " into array of type " + elementType);
+                }
+
+                if (count == elements.length) {
+                    elements = Arrays.copyOf(elements, count * 2);
+                }
+
+                elements[count++] = this.integer;
+
+                if (!this.skipSeparator()) {
+                    break;
+                }
+            }
+
+            this.expect(']');
+
+            switch (elementType) {
+                case 1:
+                    byte[] bytes = new byte[count];
+                    for (int i = 0; i < count; i++) {
+                        bytes[i] = (byte) elements[i];
+                    }
+
+                    return new ByteArrayTag(bytes);
+                case 3:
+                    int[] ints = new int[count];
+                    for (int i = 0; i < count; i++) {
+                        ints[i] = (int) elements[i];
+                    }
+
+                    return new IntArrayTag(ints);
+                default:
+                    return new LongArrayTag(Arrays.copyOf(elements, count));
+            }
+        }
+
+        private boolean isArrayStart() {
+            if (this.pos + 2 >= this.length || this.in.charAt(this.pos + 2) != ';') {
+                return false;
+            }
+
+            char kind = this.in.charAt(this.pos + 1);
+
+            return kind == 'B' || kind == 'I' || kind == 'L';
+        }
+
+        private String readKey() throws SnbtParseException {
+            char c = this.peek();
+
+            if (c == '"' || c == '\'') {
+                return this.readQuoted();
+            }
+
+            int start = this.pos;
+
+            while (this.pos < this.length && isUnquotedChar(this.in.charAt(this.pos))) {
+                this.pos++;
+            }
+
+            // only quoted keys may be empty
+            if (start == this.pos) {
+                throw this.error("Expected key");
+            }
+
+            return this.in.subSequence(start, this.pos).toString();
+        }
+
+        private String readQuoted() throws SnbtParseException {
+            int start = this.pos;
+            char quote = this.in.charAt(this.pos++);
+            int from = this.pos;
+
+            // fast path: no escapes, so the string is a plain slice of the input
+            while (this.pos < this.length) {
+                char c = this.in.charAt(this.pos);
+
+                if (c == quote) {
+                    return this.in.subSequence(from, this.pos++).toString();
+                }
+
+                if (c == '\\') {
+                    break;
+                }
+
+                this.pos++;
+            }
+
+            StringBuilder sb = new StringBuilder(this.pos - from + 16).append(this.in, from, this.pos);
+
+            while (this.pos < this.length) {
+                char c = this.in.charAt(this.pos++);
+
+                if (c == quote) {
+                    return sb.toString();
+                }
+
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+
+                if (this.pos >= this.length) {
+                    break;
+                }
+
+                char escaped = this.in.charAt(this.pos++);
+
+                switch (escaped) {
+                    case '\\':
+                    case '"':
+                    case '\'':
+                        sb.append(escaped);
+                        break;
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 's':
+                        sb.append(' ');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'u':
+                        sb.append(this.readHexChar());
+                        break;
+                    default:
+                        this.pos -= 2;
+
+                        throw this.error("Invalid escape sequence '\\" + escaped + "'");
+                }
+            }
+
+            this.pos = start;
+
+            throw this.error("Unclosed quoted string");
+        }
+
+        private char readHexChar() throws SnbtParseException {
+            if (this.pos + 4 > this.length) {
+                throw this.error("Invalid unicode escape");
+            }
+
+            int value = 0;
+
+            for (int i = 0; i < 4; i++) {
+                int digit = Character.digit(this.in.charAt(this.pos), 16);
+
+                if (digit < 0) {
+                    throw this.error("Invalid unicode escape");
+                }
+
+                value = value << 4 | digit;
+                this.pos++;
+            }
+
+            return (char) value;
+        }
+
+        /**
+         * Scans an unquoted token, returning the ID of the tag type it stands for, and leaving its value in {@link #integer}, {@link #decimal} or {@link #string}.
+         */
+        private byte scanUnquoted() throws SnbtParseException {
+            int start = this.pos;
+
+            while (this.pos < this.length && isUnquotedChar(this.in.charAt(this.pos))) {
+                this.pos++;
+            }
+
+            int end = this.pos;
+
+            if (start == end) {
+                throw this.error("Expected value");
+            }
+
+            byte type = this.classify(start, end);
+
+            if (type == 8) {
+                this.string = this.in.subSequence(start, end).toString();
+            }
+
+            return type;
+        }
+
+        private byte classify(int start, int end) {
+            if (this.matches(start, end, "true")) {
+                this.integer = 1;
+
+                return 1;
+            }
+
+            if (this.matches(start, end, "false")) {
+                this.integer = 0;
+
+                return 1;
+            }
+
+            char suffix = this.in.charAt(end - 1);
+            int digitsEnd = end - 1;
+            byte type;
+
+            switch (suffix) {
+                case 'b':
+                case 'B':
+                    type = 1;
+                    break;
+                case 's':
+                case 'S':
+                    type = 2;
+                    break;
+                case 'l':
+                case 'L':
+                    type = 4;
+                    break;
+                case 'f':
+                case 'F':
+                    type = 5;
+                    break;
+                case 'd':
+                case 'D':
+                    type = 6;
+                    break;
+                default:
+                    digitsEnd = end;
+                    type = 0;
+            }
+
+            if (type == 0) {
+                if (this.parseInteger(start, end, Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+                    return 3;
+                }
+
+                // unsuffixed decimals must contain a dot, as in Minecraft
+                return this.isDecimal(start, end, true) && this.parseDecimal(start, end, false) ? (byte) 6 : (byte) 8;
+            }
+
+            switch (type) {
+                case 1:
+                    return this.parseInteger(start, digitsEnd, Byte.MIN_VALUE, Byte.MAX_VALUE) ? type : (byte) 8;
+                case 2:
+                    return this.parseInteger(start, digitsEnd, Short.MIN_VALUE, Short.MAX_VALUE) ? type : (byte) 8;
+                case 4:
+                    return this.parseInteger(start, digitsEnd, Long.MIN_VALUE, Long.MAX_VALUE) ? type : (byte) 8;
+                default:
+                    return this.isDecimal(start, digitsEnd, false) && this.parseDecimal(start, digitsEnd, type == 5) ? type : (byte) 8;
+            }
+        }
+
+        private boolean matches(int start, int end, String word) {
+            if (end - start != word.length()) {
+                return false;
+            }
+
+            for (int i = 0; i < word.length(); i++) {
+                if (Character.toLowerCase(this.in.charAt(start + i)) != word.charAt(i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Parses {@code [-+]?(0|[1-9][0-9]*)} into {@link #integer}, returning false if the range does not match or its value is out of bounds.
+         */
+        private boolean parseInteger(int start, int end, long min, long max) {
+            int i = start;
+            boolean negative = false;
+
+            if (i < end && (this.in.charAt(i) == '-' || this.in.charAt(i) == '+')) {
+                negative = this.in.charAt(i) == '-';
+                i++;
+            }
+
+            if (i == end || this.in.charAt(i) == '0' && end - i > 1) {
+                return false;
+            }
+
+            // accumulated negatively, so as to reach Long.MIN_VALUE
+            long value = 0;
+
+            for (; i < end; i++) {
+                char c = this.in.charAt(i);
+
+                if (!isDigit(c) || value < (Long.MIN_VALUE + (c - '0')) / 10) {
+                    return false;
+                }
+
+                value = value * 10 - (c - '0');
+            }
+
+            if (!negative) {
+                if (value == Long.MIN_VALUE) {
+                    return false;
+                }
+
+                value = -value;
+            }
+
+            if (value < min || value > max) {
+                return false;
+            }
+
+            this.integer = value;
+
+            return true;
+        }
+
+        /**
+         * Checks a range against {@code [-+]?([0-9]+[.]?|[0-9]*[.][0-9]+)(e[-+]?[0-9]+)?}, requiring the dot if {@code requireDot} is set.
+         */
+        private boolean isDecimal(int start, int end, boolean requireDot) {
+            int i = start;
+
+            if (i < end && (this.in.charAt(i) == '-' || this.in.charAt(i) == '+')) {
+                i++;
+            }
+
+            int digits = 0;
+            boolean dot = false;
+
+            for (; i < end; i++) {
+                char c = this.in.charAt(i);
+
+                if (isDigit(c)) {
+                    digits++;
+                } else if (c == '.' && !dot) {
+                    dot = true;
+                } else {
+                    break;
+                }
+            }
+
+            if (digits == 0 || requireDot && !dot) {
+                return false;
+            }
+
+            if (i < end && (this.in.charAt(i) == 'e' || this.in.charAt(i) == 'E')) {
+                i++;
+
+                if (i < end && (this.in.charAt(i) == '-' || this.in.charAt(i) == '+')) {
+                    i++;
+                }
+
+                int exponent = i;
+
+                while (i < end && isDigit(this.in.charAt(i))) {
+                    i++;
+                }
+
+                if (i == exponent) {
+                    return false;
+                }
+            }
+
+            return i == end;
+        }
+
+        /**
+         * Parses a range into {@link #decimal}, rounding it straight to a {@code float} if {@code single} is set, rather than going through a {@code double}.
+         */
+        private boolean parseDecimal(int start, int end, boolean single) {
+            String digits = this.in.subSequence(start, end).toString();
+
+            try {
+                this.decimal = single ? Float.parseFloat(digits) : Double.parseDouble(digits);
+
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Reinterprets the int just scanned as the given integral type, returning false if it is out of that type's range.
+         */
+        private boolean narrow(byte type) {
+            return type == 4 || type == 1 && this.integer >= Byte.MIN_VALUE && this.integer <= Byte.MAX_VALUE;
+        }
+
+        private Tag toTag(byte type) throws SnbtParseException {
+            this.checkType(type);
+
+            switch (type) {
+                case 1:
+                    return new ByteTag((byte) this.integer);
+                case 2:
+                    return new ShortTag((short) this.integer);
+                case 3:
+                    return new IntTag((int) this.integer);
+                case 4:
+                    return new LongTag(this.integer);
+                case 5:
+                    return new FloatTag((float) this.decimal);
+                case 6:
+                    return new DoubleTag(this.decimal);
+                default:
+                    return new StringTag(this.string);
+            }
+        }
+
+        private void addPrimitive(PrimitiveTagList<?> list, byte type) throws SnbtParseException {
+            if (list.isEmpty()) {
+                this.checkType(type);
+            }
+
+            switch (type) {
+                case 1:
+                    ((ByteTagList) list).addByte((byte) this.integer);
+                    break;
+                case 2:
+                    ((ShortTagList) list).addShort((short) this.integer);
+                    break;
+                case 3:
+                    ((IntTagList) list).addInt((int) this.integer);
+                    break;
+                case 4:
+                    ((LongTagList) list).addLong(this.integer);
+                    break;
+                case 5:
+                    ((FloatTagList) list).addFloat((float) this.decimal);
+                    break;
+                default:
+                    ((DoubleTagList) list).addDouble(this.decimal);
+            }
+        }
+
+        private void checkType(byte type) throws SnbtParseException {
+            if (SnbtReader.this.typeRegistry.getFactoryFromId(type) == null) {
+                throw this.error("Tag type with ID " + type + " not present in tag type registry.");
+            }
+        }
+
+        private void checkDepth(int depth) throws SnbtParseException {
+            if (depth > MAX_DEPTH) {
+                throw this.error("NBT structure too complex (depth > 512).");
+            }
+        }
+
+        private char peek() throws SnbtParseException {
+            if (this.pos >= this.length) {
+                throw this.error("Unexpected end of input");
+            }
+
+            return this.in.charAt(this.pos);
+        }
+
+        private void expect(char c) throws SnbtParseException {
+            this.skipWhitespace();
+
+            if (this.pos >= this.length || this.in.charAt(this.pos) != c) {
+                throw this.error("Expected '" + c + "'");
+            }
+
+            this.pos++;
+        }
+
+        /**
+         * Skips an element separator ({@code ,}) and the whitespace around it, returning false if there is none.
+         */
+        private boolean skipSeparator() {
+            this.skipWhitespace();
+
+            if (this.pos < this.length && this.in.charAt(this.pos) == ',') {
+                this.pos++;
+                this.skipWhitespace();
+
+                return true;
+            }
+
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (this.pos < this.length && Character.isWhitespace(this.in.charAt(this.pos))) {
+                this.pos++;
+            }
+        }
+
+        private SnbtParseException error(String message) {
+            int from = Math.max(0, this.pos - 24);
+            String context = (from > 0 ? "..." : "") + this.in.subSequence(from, Math.min(this.pos, this.length));
+
+            return new SnbtParseException(message + " at position " + this.pos + ": " + context + "<--[HERE]", this.pos);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package dev.dewy.nbt.io;
+
+import dev.dewy.nbt.api.Tag;
+import dev.dewy.nbt.api.registry.TagTypeRegistry;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Skips over encoded tag payloads in a {@link DataInput} stream without decoding them.
+ * Fixed-width values, arrays and strings are skipped by their length prefixes; only compounds, lists of variable-width tags and custom tag types are scanned.
+ *
+ * @author dewy
+ */
+final class TagSkipper {
+    private TagSkipper() {
+    }
+
+    /**
+     * Skips the payload of a tag of the given type.
+     *
+     * @param type the tag type ID of the payload.
+     * @param input the stream to skip within.
+     * @param depth the current depth of the NBT data structure.
+     * @param registry the {@link TagTypeRegistry} used to read (and discard) custom tag types.
+     * @throws IOException if any I/O error occurs.
+     */
+    static void skipPayload(byte type, DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        switch (type) {
+            case 1:
+                skipFully(input, 1);
+                break;
+            case 2:
+                skipFully(input, 2);
+                break;
+            case 3:
+            case 5:
+                skipFully(input, 4);
+                break;
+            case 4:
+            case 6:
+                skipFully(input, 8);
+                break;
+            case 7:
+                skipFully(input, input.readInt());
+                break;
+            case 8:
+                skipFully(input, input.readUnsignedShort());
+                break;
+            case 9:
+                skipList(input, depth, registry);
+                break;
+            case 10:
+                skipCompound(input, depth, registry);
+                break;
+            case 11:
+                skipFully(input, 4L * input.readInt());
+                break;
+            case 12:
+                skipFully(input, 8L * input.readInt());
+                break;
+            default:
+                Supplier<? extends Tag> factory = registry.getFactoryFromId(type);
+
+                if (factory == null) {
+                    throw new IOException("Tag type with ID " + type + " not present in tag type registry.");
+                }
+
+                factory.get().read(input, depth, registry);
+        }
+    }
+
+    /**
+     * Skips the remaining entries of a compound tag, including its end tag.
+     *
+     * @param input the stream to skip within.
+     * @param depth the current depth of the NBT data structure.
+     * @param registry the {@link TagTypeRegistry} used to read (and discard) custom tag types.
+     * @throws IOException if any I/O error occurs.
+     */
+    static void skipCompound(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        byte nextTypeId;
+        while ((nextTypeId = input.readByte()) != 0) {
+            skipFully(input, input.readUnsignedShort());
+            skipPayload(nextTypeId, input, depth + 1, registry);
+        }
+    }
+
+    private static void skipList(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        byte tagType = input.readByte();
+        int length = input.readInt();
+
+        if (length <= 0) {
+            return;
+        }
+
+        int width = width(tagType);
+        if (width > 0) {
+            skipFully(input, (long) width * length);
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            skipPayload(tagType, input, depth + 1, registry);
+        }
+    }
+
+    /**
+     * Returns the encoded width in bytes of a fixed-width tag type, or 0 if the type has a variable width.
+     */
+    private static int width(byte type) {
+        switch (type) {
+            case 1:
+                return 1;
+            case 2:
+                return 2;
+            case 3:
+            case 5:
+                return 4;
+            case 4:
+            case 6:
+                return 8;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Skips exactly {@code n} bytes, unlike {@link DataInput#skipBytes(int)} which may skip fewer.
+     *
+     * @param input the stream to skip within.
+     * @param n the number of bytes to skip.
+     * @throws IOException if any I/O error occurs, including reaching the end of the stream.
+     */
+    static void skipFully(DataInput input, long n) throws IOException {
+        if (n < 0) {
+            throw new IOException("Negative length " + n + " in NBT structure.");
+        }
+
+        while (n > 0) {
+            int skipped = input.skipBytes((int) Math.min(n, Integer.MAX_VALUE));
+
+            if (skipped <= 0) {
+                // no progress; force a read so that end of stream surfaces as an EOFException
+                input.readByte();
+                skipped = 1;
+            }
+
+            n -= skipped;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package dev.dewy.nbt.io;
+
+import dev.dewy.nbt.api.Tag;
+import dev.dewy.nbt.tags.array.ByteArrayTag;
+import dev.dewy.nbt.tags.array.IntArrayTag;
+import dev.dewy.nbt.tags.array.LongArrayTag;
+import dev.dewy.nbt.tags.collection.*;
+import dev.dewy.nbt.tags.primitive.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An {@link NbtVisitor} which materializes the visited NBT data structure as a tree of {@link Tag}s.
+ *
+ * @author dewy
+ */
+class TagTreeBuilder implements NbtVisitor {
+    private Tag[] containers = new Tag[16];
+    private int depth;
+
+    private String name;
+    private CompoundTag root;
+
+    /**
+     * Returns the root {@link CompoundTag} built, or {@code null} if nothing has been visited yet.
+     *
+     * @return the root {@link CompoundTag} built.
+     */
+    CompoundTag getRoot() {
+        return this.root;
+    }
+
+    @Override
+    public void visitKey(byte type, String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void visitByte(byte value) {
+        List<?> list = this.primitiveList();
+
+        if (list instanceof ByteTagList) {
+            ((ByteTagList) list).addByte(value);
+        } else {
+            this.add(new ByteTag(value));
+        }
+    }
+
+    @Override
+    public void visitShort(short value) {
+        List<?> list = this.primitiveList();
+
+        if (list instanceof ShortTagList) {
+            ((ShortTagList) list).addShort(value);
+        } else {
+            this.add(new ShortTag(value));
+        }
+    }
+
+    @Override
+    public void visitInt(int value) {
+        List<?> list = this.primitiveList();
+
+        if (list instanceof IntTagList) {
+            ((IntTagList) list).addInt(value);
+        } else {
+            this.add(new IntTag(value));
+        }
+    }
+
+    @Override
+    public void visitLong(long value) {
+        List<?> list = this.primitiveList();
+
+        if (list instanceof LongTagList) {
+            ((LongTagList) list).addLong(value);
+        } else {
+            this.add(new LongTag(value));
+        }
+    }
+
+    @Override
+    public void visitFloat(float value) {
+        List<?> list = this.primitiveList();
+
+        if (list instanceof FloatTagList) {
+            ((FloatTagList) list).addFloat(value);
+        } else {
+            this.add(new FloatTag(value));
+        }
+    }
+
+    @Override
+    public void visitDouble(double value) {
+        List<?> list = this.primitiveList();
+
+        if (list instanceof DoubleTagList) {
+            ((DoubleTagList) list).addDouble(value);
+        } else {
+            this.add(new DoubleTag(value));
+        }
+    }
+
+    @Override
+    public void visitByteArray(byte[] value) {
+        this.add(new ByteArrayTag(value));
+    }
+
+    @Override
+    public void visitString(String value) {
+        this.add(new StringTag(value));
+    }
+
+    @Override
+    public void visitListStart(byte type, int length) {
+        PrimitiveTagList<?> primitives = length > 0 ? PrimitiveTagList.create(type) : null;
+
+        this.push(new ListTag<>(null, primitives != null ? (List<Tag>) (List<?>) primitives : new ArrayList<>()));
+    }
+
+    @Override
+    public void visitListEnd() {
+        ListTag<Tag> list = (ListTag<Tag>) this.containers[--this.depth];
+
+        if (list.getValue() instanceof PrimitiveTagList) {
+            // elements were appended straight to the backing list, so the list type has yet to be set
+            list.setValue(list.getValue());
+        }
+    }
+
+    @Override
+    public void visitCompoundStart() {
+        this.push(new CompoundTag());
+    }
+
+    @Override
+    public void visitCompoundEnd() {
+        this.depth--;
+    }
+
+    @Override
+    public void visitIntArray(int[] value) {
+        this.add(new IntArrayTag(value));
+    }
+
+    @Override
+    public void visitLongArray(long[] value) {
+        this.add(new LongArrayTag(value));
+    }
+
+    @Override
+    public void visitTag(Tag tag) {
+        this.add(tag);
+    }
+
+    /**
+     * Returns the backing list of the innermost container if it is a {@link PrimitiveTagList}, or {@code null} otherwise.
+     */
+    private List<?> primitiveList() {
+        if (this.depth == 0) {
+            return null;
+        }
+
+        Tag parent = this.containers[this.depth - 1];
+
+        if (parent instanceof ListTag && ((ListTag<?>) parent).getValue() instanceof PrimitiveTagList) {
+            return ((ListTag<?>) parent).getValue();
+        }
+
+        return null;
+    }
+
+    private void push(Tag container) {
+        this.add(container);
+
+        if (this.depth == this.containers.length) {
+            this.containers = Arrays.copyOf(this.containers, this.depth * 2);
+        }
+
+        this.containers[this.depth++] = container;
+    }
+
+    private void add(Tag tag) {
+        if (this.depth == 0) {
+            tag.setName(this.name);
+            this.root = (CompoundTag) tag;
+
+            return;
+        }
+
+        Tag parent = this.containers[this.depth - 1];
+
+        if (parent instanceof CompoundTag) {
+            tag.setName(this.name);
+            ((CompoundTag) parent).put(tag);
+        } else {
+            ((ListTag<Tag>) parent).add(tag);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package dev.dewy.nbt.region;
+
+import lombok.Value;
+
+/**
+ * The coordinates of a chunk within a {@link RegionFile}, each from 0 to 31 (inclusive), as yielded when iterating over a region file
+ * and accepted by {@link RegionFile#readChunk(ChunkPosition)}. See {@link WorldChunkPosition} for a chunk's coordinates within the world.
+ *
+ * @author dewy
+ */
+@Value
+public class ChunkPosition {
+    /**
+     * The chunk's x coordinate within its region.
+     */
+    int x;
+
+    /**
+     * The chunk's z coordinate within its region.
+     */
+    int z;
+}
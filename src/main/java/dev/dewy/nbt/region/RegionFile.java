@@ -0,0 +1,349 @@
+package dev.dewy.nbt.region;
+
+import dev.dewy.nbt.io.CompressionType;
+import dev.dewy.nbt.io.NbtReader;
+import dev.dewy.nbt.tags.collection.CompoundTag;
+import lombok.NonNull;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Gives random access to the chunks stored in an Anvil region file ({@code r.<x>.<z>.mca}), each chunk being a root {@link CompoundTag}.
+ * The 8 KiB location and timestamp header is parsed once when the file is opened; each chunk is then read from its sectors
+ * with a single positional read on one {@link FileChannel}, so a region file may be read from several threads at once.
+ *
+ * <p>Iterating over a region file yields the positions of the chunks present in it. All chunks may also be decoded concurrently,
+ * through {@link #readChunksAsync(Executor)} or {@link #forEachChunkAsync(BiConsumer, Executor)}.</p>
+ *
+ * @author dewy
+ */
+public class RegionFile implements Closeable, Iterable<ChunkPosition> {
+    private static final int SECTOR_SIZE = 4096;
+    private static final Pattern NAME_PATTERN = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+
+    private final Path path;
+    private final NbtReader reader;
+    private final FileChannel channel;
+
+    private final int[] locations = new int[1024];
+    private final int[] timestamps = new int[1024];
+
+    private int regionX;
+    private int regionZ;
+
+    /**
+     * Opens a region file, reading its header.
+     *
+     * @param path the path of the region file.
+     * @param reader the {@link NbtReader} used to read chunks.
+     * @throws IOException if any I/O error occurs, or the file is too short to hold a header.
+     */
+    public RegionFile(@NonNull Path path, @NonNull NbtReader reader) throws IOException {
+        this.path = path;
+        this.reader = reader;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(2 * SECTOR_SIZE);
+            this.readFully(header, 0);
+            header.flip();
+
+            header.asIntBuffer().get(this.locations).get(this.timestamps);
+        } catch (IOException e) {
+            this.channel.close();
+
+            throw e;
+        }
+
+        Matcher matcher = NAME_PATTERN.matcher(String.valueOf(path.getFileName()));
+        if (matcher.matches()) {
+            this.regionX = Integer.parseInt(matcher.group(1));
+            this.regionZ = Integer.parseInt(matcher.group(2));
+        }
+    }
+
+    /**
+     * Returns true if a chunk is present at the given coordinates, false otherwise.
+     *
+     * @param x the chunk's x coordinate within the region.
+     * @param z the chunk's z coordinate within the region.
+     * @return true if a chunk is present at the given coordinates, false otherwise.
+     */
+    public boolean hasChunk(int x, int z) {
+        return this.locations[index(x, z)] != 0;
+    }
+
+    /**
+     * Returns the last modification time of the chunk at the given coordinates, in epoch seconds, or 0 if no chunk is present.
+     *
+     * @param x the chunk's x coordinate within the region.
+     * @param z the chunk's z coordinate within the region.
+     * @return the last modification time of the chunk at the given coordinates, in epoch seconds.
+     */
+    public int getTimestamp(int x, int z) {
+        return this.timestamps[index(x, z)];
+    }
+
+    /**
+     * Reads the chunk at the given coordinates.
+     *
+     * @param position the chunk's coordinates within the region.
+     * @return the chunk's root {@link CompoundTag}, or {@code null} if no chunk is present.
+     * @throws IOException if any I/O error occurs.
+     */
+    public CompoundTag readChunk(@NonNull ChunkPosition position) throws IOException {
+        return this.readChunk(position.getX(), position.getZ());
+    }
+
+    /**
+     * Reads the chunk at the given coordinates.
+     *
+     * @param x the chunk's x coordinate within the region.
+     * @param z the chunk's z coordinate within the region.
+     * @return the chunk's root {@link CompoundTag}, or {@code null} if no chunk is present.
+     * @throws IOException if any I/O error occurs.
+     */
+    public CompoundTag readChunk(int x, int z) throws IOException {
+        int location = this.locations[index(x, z)];
+
+        if (location == 0) {
+            return null;
+        }
+
+        int offset = location >>> 8;
+        int sectors = location & 0xFF;
+
+        if (offset < 2 || sectors == 0) {
+            throw new IOException("Invalid location for chunk (" + (x & 31) + ", " + (z & 31) + ") in region file " + this.path + ".");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(5);
+        this.readFully(header, (long) offset * SECTOR_SIZE);
+        header.flip();
+
+        int length = header.getInt();
+        int type = header.get() & 0xFF;
+
+        if (length <= 0 || length + 4L > (long) sectors * SECTOR_SIZE) {
+            throw new IOException("Invalid length " + length + " for chunk (" + (x & 31) + ", " + (z & 31) + ") in region file " + this.path + ".");
+        }
+
+        ByteBuffer data;
+
+        if ((type & 0x80) != 0) {
+            type &= 0x7F;
+            data = ByteBuffer.wrap(Files.readAllBytes(this.path.resolveSibling("c." + (this.regionX * 32 + (x & 31)) + "." + (this.regionZ * 32 + (z & 31)) + ".mcc")));
+        } else {
+            data = ByteBuffer.allocate(length - 1);
+            this.readFully(data, (long) offset * SECTOR_SIZE + 5);
+            data.flip();
+        }
+
+        return this.decode(type, data);
+    }
+
+    /**
+     * Decodes every chunk present in this region file concurrently on the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @return a future completing with the decoded chunks, keyed by their positions within the region in file order.
+     * @see #readChunksAsync(Executor)
+     */
+    public CompletableFuture<Map<ChunkPosition, CompoundTag>> readChunksAsync() {
+        return this.readChunksAsync(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Decodes every chunk present in this region file concurrently, one task per chunk, on the given {@link Executor}.
+     * The returned map is keyed by each chunk's position within the region, as yielded by {@link #iterator()} and accepted by {@link #readChunk(ChunkPosition)};
+     * see {@link #getWorldPosition(ChunkPosition)} for its world coordinates.
+     *
+     * @param executor the executor to decode chunks on.
+     * @return a future completing with the decoded chunks, keyed by their positions within the region in file order,
+     * or completing exceptionally with a {@link CompletionException} wrapping the first {@link IOException} encountered.
+     */
+    public CompletableFuture<Map<ChunkPosition, CompoundTag>> readChunksAsync(@NonNull Executor executor) {
+        Map<ChunkPosition, CompletableFuture<CompoundTag>> futures = new LinkedHashMap<>();
+
+        for (int i = 0; i < this.locations.length; i++) {
+            if (this.locations[i] != 0) {
+                ChunkPosition position = position(i);
+                futures.put(position, CompletableFuture.supplyAsync(() -> this.readChunkUnchecked(position), executor));
+            }
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            Map<ChunkPosition, CompoundTag> chunks = new LinkedHashMap<>();
+            futures.forEach((position, future) -> chunks.put(position, future.join()));
+
+            return chunks;
+        });
+    }
+
+    /**
+     * Decodes every chunk present in this region file concurrently, one task per chunk, on the given {@link Executor},
+     * handing each chunk to the given action as soon as it is decoded. Unlike {@link #readChunksAsync(Executor)},
+     * decoded chunks are not retained, so the action may be invoked from several threads at once.
+     *
+     * @param action the action to perform on each chunk, given its position within the region.
+     * @param executor the executor to decode chunks on.
+     * @return a future completing once every chunk has been handed to the action,
+     * or completing exceptionally with a {@link CompletionException} wrapping the first {@link IOException} encountered.
+     */
+    public CompletableFuture<Void> forEachChunkAsync(@NonNull BiConsumer<ChunkPosition, CompoundTag> action, @NonNull Executor executor) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (int i = 0; i < this.locations.length; i++) {
+            if (this.locations[i] != 0) {
+                ChunkPosition position = position(i);
+                futures.add(CompletableFuture.runAsync(() -> action.accept(position, this.readChunkUnchecked(position)), executor));
+            }
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    @Override
+    public Iterator<ChunkPosition> iterator() {
+        return new Iterator<ChunkPosition>() {
+            private int next = this.find(0);
+
+            @Override
+            public boolean hasNext() {
+                return this.next < RegionFile.this.locations.length;
+            }
+
+            @Override
+            public ChunkPosition next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                ChunkPosition position = position(this.next);
+                this.next = this.find(this.next + 1);
+
+                return position;
+            }
+
+            private int find(int from) {
+                while (from < RegionFile.this.locations.length && RegionFile.this.locations[from] == 0) {
+                    from++;
+                }
+
+                return from;
+            }
+        };
+    }
+
+    /**
+     * Returns the path of this region file.
+     *
+     * @return the path of this region file.
+     */
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Returns the x coordinate of this region, parsed from its file name, or 0 if the name is not of the form {@code r.<x>.<z>.mca}.
+     *
+     * @return the x coordinate of this region.
+     */
+    public int getRegionX() {
+        return this.regionX;
+    }
+
+    /**
+     * Returns the z coordinate of this region, parsed from its file name, or 0 if the name is not of the form {@code r.<x>.<z>.mca}.
+     *
+     * @return the z coordinate of this region.
+     */
+    public int getRegionZ() {
+        return this.regionZ;
+    }
+
+    /**
+     * Returns the world coordinates of the chunk at the given position within this region.
+     *
+     * @param position the chunk's coordinates within the region.
+     * @return the chunk's coordinates within the world, offset by this region's coordinates.
+     */
+    public WorldChunkPosition getWorldPosition(@NonNull ChunkPosition position) {
+        return new WorldChunkPosition(this.regionX * 32 + (position.getX() & 31), this.regionZ * 32 + (position.getZ() & 31));
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private CompoundTag decode(int type, ByteBuffer data) throws IOException {
+        CompressionType compression;
+
+        switch (type) {
+            case 1:
+                compression = CompressionType.GZIP;
+                break;
+            case 2:
+                compression = CompressionType.ZLIB;
+                break;
+            case 3:
+                compression = CompressionType.NONE;
+                break;
+            default:
+                throw new IOException("Unsupported chunk compression type " + type + " in region file " + this.path + ".");
+        }
+
+        if (compression == CompressionType.NONE) {
+            return this.reader.fromByteBuffer(data);
+        }
+
+        InputStream in = new ByteArrayInputStream(data.array(), data.arrayOffset() + data.position(), data.remaining());
+
+        try (InputStream inflater = compression == CompressionType.GZIP ? new GZIPInputStream(in) : new InflaterInputStream(in)) {
+            return this.reader.fromStream(new DataInputStream(new BufferedInputStream(inflater)));
+        }
+    }
+
+    private CompoundTag readChunkUnchecked(ChunkPosition position) {
+        try {
+            return this.readChunk(position);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = this.channel.read(buffer, position);
+
+            if (read < 0) {
+                throw new EOFException("Unexpected end of region file " + this.path + ".");
+            }
+
+            position += read;
+        }
+    }
+
+    private static ChunkPosition position(int index) {
+        return new ChunkPosition(index & 31, index >> 5);
+    }
+
+    private static int index(int x, int z) {
+        return (x & 31) + (z & 31) * 32;
+    }
+}
@@ -0,0 +1,31 @@
+package dev.dewy.nbt.region;
+
+import lombok.Value;
+
+/**
+ * The absolute coordinates of a chunk within a world, as opposed to its {@link ChunkPosition} within a {@link RegionFile}.
+ * A chunk at world coordinates (x, z) is stored in region file {@code r.<x >> 5>.<z >> 5>.mca}, at position ({@code x & 31}, {@code z & 31}) within it.
+ *
+ * @author dewy
+ */
+@Value
+public class WorldChunkPosition {
+    /**
+     * The chunk's x coordinate within the world.
+     */
+    int x;
+
+    /**
+     * The chunk's z coordinate within the world.
+     */
+    int z;
+
+    /**
+     * Returns the position of this chunk within its region file.
+     *
+     * @return the position of this chunk within its region file.
+     */
+    public ChunkPosition toRegionPosition() {
+        return new ChunkPosition(this.x & 31, this.z & 31);
+    }
+}
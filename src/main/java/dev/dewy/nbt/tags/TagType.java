@@ -111,18 +111,18 @@ public enum TagType {
 
     public static void registerAll(TagTypeRegistry registry) {
         try {
-            registry.registerTagType(BYTE.getId(), ByteTag.class);
-            registry.registerTagType(SHORT.getId(), ShortTag.class);
-            registry.registerTagType(INT.getId(), IntTag.class);
-            registry.registerTagType(LONG.getId(), LongTag.class);
-            registry.registerTagType(FLOAT.getId(), FloatTag.class);
-            registry.registerTagType(DOUBLE.getId(), DoubleTag.class);
-            registry.registerTagType(BYTE_ARRAY.getId(), ByteArrayTag.class);
-            registry.registerTagType(STRING.getId(), StringTag.class);
-            registry.registerTagType(LIST.getId(), ListTag.class);
-            registry.registerTagType(COMPOUND.getId(), CompoundTag.class);
-            registry.registerTagType(INT_ARRAY.getId(), IntArrayTag.class);
-            registry.registerTagType(LONG_ARRAY.getId(), LongArrayTag.class);
+            registry.registerTagType(BYTE.getId(), ByteTag.class, ByteTag::new);
+            registry.registerTagType(SHORT.getId(), ShortTag.class, ShortTag::new);
+            registry.registerTagType(INT.getId(), IntTag.class, IntTag::new);
+            registry.registerTagType(LONG.getId(), LongTag.class, LongTag::new);
+            registry.registerTagType(FLOAT.getId(), FloatTag.class, FloatTag::new);
+            registry.registerTagType(DOUBLE.getId(), DoubleTag.class, DoubleTag::new);
+            registry.registerTagType(BYTE_ARRAY.getId(), ByteArrayTag.class, ByteArrayTag::new);
+            registry.registerTagType(STRING.getId(), StringTag.class, StringTag::new);
+            registry.registerTagType(LIST.getId(), ListTag.class, ListTag::new);
+            registry.registerTagType(COMPOUND.getId(), CompoundTag.class, CompoundTag::new);
+            registry.registerTagType(INT_ARRAY.getId(), IntArrayTag.class, IntArrayTag::new);
+            registry.registerTagType(LONG_ARRAY.getId(), LongArrayTag.class, LongArrayTag::new);
         } catch (TagTypeRegistryException e) {
             // Should never happen.
             e.printStackTrace();
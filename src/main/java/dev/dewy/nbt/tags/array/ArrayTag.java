@@ -17,6 +17,9 @@ import java.util.regex.Pattern;
 public abstract class ArrayTag<T> extends Tag implements SnbtSerializable, JsonSerializable, Iterable<T> {
     public static final Pattern NUMBER_PATTERN = Pattern.compile("[-0-9]+");
 
+    // the hash code of a frozen array tag, computed on first use (0 until then)
+    int hash;
+
     /**
      * Returns the number of elements in this array tag.
      *
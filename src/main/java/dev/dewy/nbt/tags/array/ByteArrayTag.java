@@ -68,9 +68,14 @@ public class ByteArrayTag extends ArrayTag<Byte> {
         return TagType.BYTE_ARRAY.getId();
     }
 
+    /**
+     * Returns the {@code byte[]} value of this byte array tag. If the tag is frozen, a copy is returned, as the array itself cannot be made read-only.
+     *
+     * @return the {@code byte[]} value of this byte array tag.
+     */
     @Override
     public byte[] getValue() {
-        return this.value;
+        return this.isFrozen() ? this.value.clone() : this.value;
     }
 
     /**
@@ -79,6 +84,8 @@ public class ByteArrayTag extends ArrayTag<Byte> {
      * @param value new {@code byte[]} value to be set.
      */
     public void setValue(@NonNull byte[] value) {
+        this.checkMutable();
+
         this.value = value;
     }
 
@@ -90,6 +97,8 @@ public class ByteArrayTag extends ArrayTag<Byte> {
 
     @Override
     public ByteArrayTag read(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         byte[] tmp = new byte[input.readInt()];
         input.readFully(tmp);
 
@@ -119,6 +128,8 @@ public class ByteArrayTag extends ArrayTag<Byte> {
 
     @Override
     public ByteArrayTag fromJson(JsonObject json, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         JsonArray array = json.getAsJsonArray("value");
 
         if (json.has("name")) {
@@ -136,41 +147,48 @@ public class ByteArrayTag extends ArrayTag<Byte> {
         return this;
     }
 
+    @Override
+    public long serializedSize(int depth, TagTypeRegistry registry) {
+        return 4 + this.value.length;
+    }
+
     @Override
     public String toSnbt(int depth, TagTypeRegistry registry, SnbtConfig config) {
-        StringBuilder sb = new StringBuilder("[B;");
+        return StringUtils.toSnbt(this, depth, registry, config);
+    }
 
-        if (config.isPrettyPrint()) {
-            if (this.value.length < config.getInlineThreshold()) {
-                sb.append('\n').append(StringUtils.multiplyIndent(depth + 1, config));
-            } else {
-                sb.append(' ');
-            }
+    @Override
+    public void writeSnbt(Appendable out, int depth, TagTypeRegistry registry, SnbtConfig config) throws IOException {
+        boolean block = config.isPrettyPrint() && this.value.length < config.getInlineThreshold();
+
+        out.append("[B;");
+
+        if (block) {
+            out.append('\n');
+            StringUtils.writeIndent(out, depth + 1, config);
+        } else if (config.isPrettyPrint()) {
+            out.append(' ');
         }
 
         for (int i = 0; i < this.value.length; ++i) {
             if (i != 0) {
-                if (config.isPrettyPrint()) {
-                    if (this.value.length < config.getInlineThreshold()) {
-                        sb.append(",\n").append(StringUtils.multiplyIndent(depth + 1, config));
-                    } else {
-                        sb.append(", ");
-                    }
+                if (block) {
+                    out.append(",\n");
+                    StringUtils.writeIndent(out, depth + 1, config);
                 } else {
-                    sb.append(',');
+                    out.append(config.isPrettyPrint() ? ", " : ",");
                 }
             }
 
-            sb.append(this.value[i]).append('B');
+            out.append(Byte.toString(this.value[i])).append('B');
         }
 
-        if (config.isPrettyPrint() && this.value.length < config.getInlineThreshold()) {
-            sb.append("\n").append(StringUtils.multiplyIndent(depth , config)).append(']');
-        } else {
-            sb.append(']');
+        if (block) {
+            out.append('\n');
+            StringUtils.writeIndent(out, depth, config);
         }
 
-        return sb.toString();
+        out.append(']');
     }
 
     @Override
@@ -185,16 +203,22 @@ public class ByteArrayTag extends ArrayTag<Byte> {
 
     @Override
     public Byte set(int index, @NonNull Byte element) {
+        this.checkMutable();
+
         return this.value[index] = element;
     }
 
     @Override
     public void insert(int index, @NonNull Byte... elements) {
+        this.checkMutable();
+
         this.value = ArrayUtils.insert(index, this.value, ArrayUtils.toPrimitive(elements));
     }
 
     @Override
     public Byte remove(int index) {
+        this.checkMutable();
+
         Byte previous = this.value[index];
         this.value = ArrayUtils.remove(this.value, index);
 
@@ -203,6 +227,8 @@ public class ByteArrayTag extends ArrayTag<Byte> {
 
     @Override
     public void clear() {
+        this.checkMutable();
+
         this.value = new byte[0];
     }
 
@@ -228,11 +254,23 @@ public class ByteArrayTag extends ArrayTag<Byte> {
 
         ByteArrayTag that = (ByteArrayTag) o;
 
+        if (this.isFrozen() && that.isFrozen() && this.hashCode() != that.hashCode()) return false;
         return Arrays.equals(value, that.value);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(value);
+        if (!this.isFrozen()) {
+            return Arrays.hashCode(value);
+        }
+
+        int hash = this.hash;
+
+        if (hash == 0) {
+            hash = Arrays.hashCode(value);
+            this.hash = hash;
+        }
+
+        return hash;
     }
 }
@@ -4,6 +4,8 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import dev.dewy.nbt.api.registry.TagTypeRegistry;
 import dev.dewy.nbt.api.snbt.SnbtConfig;
+import dev.dewy.nbt.io.ByteBufferInput;
+import dev.dewy.nbt.io.ByteBufferOutput;
 import dev.dewy.nbt.tags.TagType;
 import dev.dewy.nbt.tags.primitive.IntTag;
 import dev.dewy.nbt.utils.StringUtils;
@@ -68,9 +70,14 @@ public class IntArrayTag extends ArrayTag<Integer> {
         return TagType.INT_ARRAY.getId();
     }
 
+    /**
+     * Returns the {@code int[]} value of this int array tag. If the tag is frozen, a copy is returned, as the array itself cannot be made read-only.
+     *
+     * @return the {@code int[]} value of this int array tag.
+     */
     @Override
     public int[] getValue() {
-        return this.value;
+        return this.isFrozen() ? this.value.clone() : this.value;
     }
 
     /**
@@ -79,6 +86,8 @@ public class IntArrayTag extends ArrayTag<Integer> {
      * @param value new {@code int[]} value to be set.
      */
     public void setValue(@NonNull int[] value) {
+        this.checkMutable();
+
         this.value = value;
     }
 
@@ -86,17 +95,28 @@ public class IntArrayTag extends ArrayTag<Integer> {
     public void write(DataOutput output, int depth, TagTypeRegistry registry) throws IOException {
         output.writeInt(this.value.length);
 
-        for (int i : this) {
+        if (output instanceof ByteBufferOutput) {
+            ((ByteBufferOutput) output).writeInts(this.value);
+            return;
+        }
+
+        for (int i : this.value) {
             output.writeInt(i);
         }
     }
 
     @Override
     public IntArrayTag read(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         this.value = new int[input.readInt()];
 
-        for (int i = 0; i < this.value.length; i++) {
-            this.value[i] = input.readInt();
+        if (input instanceof ByteBufferInput) {
+            ((ByteBufferInput) input).readInts(this.value);
+        } else {
+            for (int i = 0; i < this.value.length; i++) {
+                this.value[i] = input.readInt();
+            }
         }
 
         return this;
@@ -123,6 +143,8 @@ public class IntArrayTag extends ArrayTag<Integer> {
 
     @Override
     public IntArrayTag fromJson(JsonObject json, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         JsonArray array = json.getAsJsonArray("value");
 
         if (json.has("name")) {
@@ -140,41 +162,48 @@ public class IntArrayTag extends ArrayTag<Integer> {
         return this;
     }
 
+    @Override
+    public long serializedSize(int depth, TagTypeRegistry registry) {
+        return 4 + 4L * this.value.length;
+    }
+
     @Override
     public String toSnbt(int depth, TagTypeRegistry registry, SnbtConfig config) {
-        StringBuilder sb = new StringBuilder("[I;");
+        return StringUtils.toSnbt(this, depth, registry, config);
+    }
 
-        if (config.isPrettyPrint()) {
-            if (this.value.length < config.getInlineThreshold()) {
-                sb.append('\n').append(StringUtils.multiplyIndent(depth + 1, config));
-            } else {
-                sb.append(' ');
-            }
+    @Override
+    public void writeSnbt(Appendable out, int depth, TagTypeRegistry registry, SnbtConfig config) throws IOException {
+        boolean block = config.isPrettyPrint() && this.value.length < config.getInlineThreshold();
+
+        out.append("[I;");
+
+        if (block) {
+            out.append('\n');
+            StringUtils.writeIndent(out, depth + 1, config);
+        } else if (config.isPrettyPrint()) {
+            out.append(' ');
         }
 
         for (int i = 0; i < this.value.length; ++i) {
             if (i != 0) {
-                if (config.isPrettyPrint()) {
-                    if (this.value.length < config.getInlineThreshold()) {
-                        sb.append(",\n").append(StringUtils.multiplyIndent(depth + 1, config));
-                    } else {
-                        sb.append(", ");
-                    }
+                if (block) {
+                    out.append(",\n");
+                    StringUtils.writeIndent(out, depth + 1, config);
                 } else {
-                    sb.append(',');
+                    out.append(config.isPrettyPrint() ? ", " : ",");
                 }
             }
 
-            sb.append(this.value[i]);
+            out.append(Integer.toString(this.value[i]));
         }
 
-        if (config.isPrettyPrint() && this.value.length < config.getInlineThreshold()) {
-            sb.append("\n").append(StringUtils.multiplyIndent(depth , config)).append(']');
-        } else {
-            sb.append(']');
+        if (block) {
+            out.append('\n');
+            StringUtils.writeIndent(out, depth, config);
         }
 
-        return sb.toString();
+        out.append(']');
     }
 
     @Override
@@ -189,16 +218,22 @@ public class IntArrayTag extends ArrayTag<Integer> {
 
     @Override
     public Integer set(int index, @NonNull Integer element) {
+        this.checkMutable();
+
         return this.value[index] = element;
     }
 
     @Override
     public void insert(int index, @NonNull Integer... elements) {
+        this.checkMutable();
+
         this.value = ArrayUtils.insert(index, this.value, ArrayUtils.toPrimitive(elements));
     }
 
     @Override
     public Integer remove(int index) {
+        this.checkMutable();
+
         Integer previous = this.value[index];
         this.value = ArrayUtils.remove(this.value, index);
 
@@ -207,6 +242,8 @@ public class IntArrayTag extends ArrayTag<Integer> {
 
     @Override
     public void clear() {
+        this.checkMutable();
+
         this.value = new int[0];
     }
 
@@ -232,11 +269,23 @@ public class IntArrayTag extends ArrayTag<Integer> {
 
         IntArrayTag that = (IntArrayTag) o;
 
+        if (this.isFrozen() && that.isFrozen() && this.hashCode() != that.hashCode()) return false;
         return Arrays.equals(value, that.value);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(value);
+        if (!this.isFrozen()) {
+            return Arrays.hashCode(value);
+        }
+
+        int hash = this.hash;
+
+        if (hash == 0) {
+            hash = Arrays.hashCode(value);
+            this.hash = hash;
+        }
+
+        return hash;
     }
 }
@@ -4,6 +4,8 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import dev.dewy.nbt.api.registry.TagTypeRegistry;
 import dev.dewy.nbt.api.snbt.SnbtConfig;
+import dev.dewy.nbt.io.ByteBufferInput;
+import dev.dewy.nbt.io.ByteBufferOutput;
 import dev.dewy.nbt.tags.TagType;
 import dev.dewy.nbt.tags.primitive.LongTag;
 import dev.dewy.nbt.utils.StringUtils;
@@ -68,9 +70,14 @@ public class LongArrayTag extends ArrayTag<Long> {
         return TagType.LONG_ARRAY.getId();
     }
 
+    /**
+     * Returns the {@code long[]} value of this long array tag. If the tag is frozen, a copy is returned, as the array itself cannot be made read-only.
+     *
+     * @return the {@code long[]} value of this long array tag.
+     */
     @Override
     public long[] getValue() {
-        return this.value;
+        return this.isFrozen() ? this.value.clone() : this.value;
     }
 
     /**
@@ -79,6 +86,8 @@ public class LongArrayTag extends ArrayTag<Long> {
      * @param value new {@code long[]} value to be set.
      */
     public void setValue(@NonNull long[] value) {
+        this.checkMutable();
+
         this.value = value;
     }
 
@@ -86,17 +95,28 @@ public class LongArrayTag extends ArrayTag<Long> {
     public void write(DataOutput output, int depth, TagTypeRegistry registry) throws IOException {
         output.writeInt(this.value.length);
 
-        for (long l : this) {
+        if (output instanceof ByteBufferOutput) {
+            ((ByteBufferOutput) output).writeLongs(this.value);
+            return;
+        }
+
+        for (long l : this.value) {
             output.writeLong(l);
         }
     }
 
     @Override
     public LongArrayTag read(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         this.value = new long[input.readInt()];
 
-        for (int i = 0; i < this.value.length; i++) {
-            this.value[i] = input.readLong();
+        if (input instanceof ByteBufferInput) {
+            ((ByteBufferInput) input).readLongs(this.value);
+        } else {
+            for (int i = 0; i < this.value.length; i++) {
+                this.value[i] = input.readLong();
+            }
         }
 
         return this;
@@ -123,6 +143,8 @@ public class LongArrayTag extends ArrayTag<Long> {
 
     @Override
     public LongArrayTag fromJson(JsonObject json, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         JsonArray array = json.getAsJsonArray("value");
 
         if (json.has("name")) {
@@ -140,41 +162,48 @@ public class LongArrayTag extends ArrayTag<Long> {
         return this;
     }
 
+    @Override
+    public long serializedSize(int depth, TagTypeRegistry registry) {
+        return 4 + 8L * this.value.length;
+    }
+
     @Override
     public String toSnbt(int depth, TagTypeRegistry registry, SnbtConfig config) {
-        StringBuilder sb = new StringBuilder("[L;");
+        return StringUtils.toSnbt(this, depth, registry, config);
+    }
 
-        if (config.isPrettyPrint()) {
-            if (this.value.length < config.getInlineThreshold()) {
-                sb.append('\n').append(StringUtils.multiplyIndent(depth + 1, config));
-            } else {
-                sb.append(' ');
-            }
+    @Override
+    public void writeSnbt(Appendable out, int depth, TagTypeRegistry registry, SnbtConfig config) throws IOException {
+        boolean block = config.isPrettyPrint() && this.value.length < config.getInlineThreshold();
+
+        out.append("[L;");
+
+        if (block) {
+            out.append('\n');
+            StringUtils.writeIndent(out, depth + 1, config);
+        } else if (config.isPrettyPrint()) {
+            out.append(' ');
         }
 
         for (int i = 0; i < this.value.length; ++i) {
             if (i != 0) {
-                if (config.isPrettyPrint()) {
-                    if (this.value.length < config.getInlineThreshold()) {
-                        sb.append(",\n").append(StringUtils.multiplyIndent(depth + 1, config));
-                    } else {
-                        sb.append(", ");
-                    }
+                if (block) {
+                    out.append(",\n");
+                    StringUtils.writeIndent(out, depth + 1, config);
                 } else {
-                    sb.append(',');
+                    out.append(config.isPrettyPrint() ? ", " : ",");
                 }
             }
 
-            sb.append(this.value[i]).append('L');
+            out.append(Long.toString(this.value[i])).append('L');
         }
 
-        if (config.isPrettyPrint() && this.value.length < config.getInlineThreshold()) {
-            sb.append("\n").append(StringUtils.multiplyIndent(depth , config)).append(']');
-        } else {
-            sb.append(']');
+        if (block) {
+            out.append('\n');
+            StringUtils.writeIndent(out, depth, config);
         }
 
-        return sb.toString();
+        out.append(']');
     }
 
     @Override
@@ -189,16 +218,22 @@ public class LongArrayTag extends ArrayTag<Long> {
 
     @Override
     public Long set(int index, @NonNull Long element) {
+        this.checkMutable();
+
         return this.value[index] = element;
     }
 
     @Override
     public void insert(int index, @NonNull Long... elements) {
+        this.checkMutable();
+
         this.value = ArrayUtils.insert(index, this.value, ArrayUtils.toPrimitive(elements));
     }
 
     @Override
     public Long remove(int index) {
+        this.checkMutable();
+
         Long previous = this.value[index];
         this.value = ArrayUtils.remove(this.value, index);
 
@@ -207,6 +242,8 @@ public class LongArrayTag extends ArrayTag<Long> {
 
     @Override
     public void clear() {
+        this.checkMutable();
+
         this.value = new long[0];
     }
 
@@ -232,11 +269,23 @@ public class LongArrayTag extends ArrayTag<Long> {
 
         LongArrayTag that = (LongArrayTag) o;
 
+        if (this.isFrozen() && that.isFrozen() && this.hashCode() != that.hashCode()) return false;
         return Arrays.equals(value, that.value);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(value);
+        if (!this.isFrozen()) {
+            return Arrays.hashCode(value);
+        }
+
+        int hash = this.hash;
+
+        if (hash == 0) {
+            hash = Arrays.hashCode(value);
+            this.hash = hash;
+        }
+
+        return hash;
     }
 }
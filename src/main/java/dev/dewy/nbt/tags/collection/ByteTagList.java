@@ -0,0 +1,202 @@
+package dev.dewy.nbt.tags.collection;
+
+import dev.dewy.nbt.tags.TagType;
+import dev.dewy.nbt.tags.primitive.ByteTag;
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A {@code List<>} of {@link ByteTag}s backed by a primitive {@code byte} array, used as the value of a {@link ListTag} holding byte tags.
+ *
+ * @author dewy
+ */
+public class ByteTagList extends PrimitiveTagList<ByteTag> {
+    private byte[] values;
+
+    /**
+     * Constructs an empty list.
+     */
+    public ByteTagList() {
+        this.values = new byte[0];
+    }
+
+    /**
+     * Constructs a list holding a copy of the given values.
+     *
+     * @param values the list's values.
+     */
+    public ByteTagList(@NonNull byte... values) {
+        this.values = values.clone();
+        this.size = values.length;
+    }
+
+    @Override
+    public byte getElementType() {
+        return TagType.BYTE.getId();
+    }
+
+    @Override
+    ByteTagList copy() {
+        ByteTagList copy = new ByteTagList();
+        copy.values = this.toByteArray();
+        copy.size = copy.values.length;
+
+        return copy;
+    }
+
+    @Override
+    ByteTag element(int index) {
+        return new ByteTag(this.values[index]);
+    }
+
+    @Override
+    void release() {
+        this.values = new byte[0];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the value at the specified index in this list.
+     *
+     * @param index the index of the value to be retrieved.
+     * @return the value at the specified index.
+     */
+    public byte getByte(int index) {
+        if (this.tags != null) {
+            return this.tags.get(index).getValue();
+        }
+
+        this.checkIndex(index);
+
+        return this.values[index];
+    }
+
+    /**
+     * Replaces the value at the specified index in this list.
+     *
+     * @param index the index of the value to be replaced.
+     * @param value the new value.
+     * @return the previous value at the specified index.
+     */
+    public byte setByte(int index, byte value) {
+        if (this.tags != null) {
+            ByteTag tag = this.tags.get(index);
+            byte previous = tag.getValue();
+            tag.setValue(value);
+
+            return previous;
+        }
+
+        this.checkIndex(index);
+
+        byte previous = this.values[index];
+        this.values[index] = value;
+
+        return previous;
+    }
+
+    /**
+     * Appends a value to the end of this list.
+     *
+     * @param value the value to be added.
+     */
+    public void addByte(byte value) {
+        if (this.tags != null) {
+            this.tags.add(new ByteTag(value));
+            this.modCount++;
+            return;
+        }
+
+        if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, grow(this.size));
+        }
+
+        this.values[this.size++] = value;
+        this.modCount++;
+    }
+
+    /**
+     * Returns a copy of the values in this list.
+     *
+     * @return a copy of the values in this list.
+     */
+    public byte[] toByteArray() {
+        if (this.tags != null) {
+            byte[] values = new byte[this.tags.size()];
+
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.tags.get(i).getValue();
+            }
+
+            return values;
+        }
+
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    @Override
+    public ByteTag remove(int index) {
+        if (this.tags != null) {
+            this.modCount++;
+
+            return this.tags.remove(index);
+        }
+
+        byte previous = this.getByte(index);
+
+        System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+
+        this.size--;
+        this.modCount++;
+
+        return new ByteTag(previous);
+    }
+
+    @Override
+    public void clear() {
+        this.tags = null;
+        this.values = new byte[0];
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    int width() {
+        return 1;
+    }
+
+    @Override
+    void read(DataInput input, int length) throws IOException {
+        byte[] values = new byte[initialCapacity(input, length, 1)];
+        input.readFully(values);
+
+        while (values.length < length) {
+            int read = values.length;
+
+            values = Arrays.copyOf(values, grownCapacity(read, length));
+            input.readFully(values, read, values.length - read);
+        }
+
+        this.values = values;
+        this.size = values.length;
+        this.tags = null;
+        this.modCount++;
+    }
+
+    @Override
+    void write(DataOutput output) throws IOException {
+        if (this.tags != null) {
+            for (ByteTag tag : this.tags) {
+                output.writeByte(tag.getValue());
+            }
+
+            return;
+        }
+
+        output.write(this.values, 0, this.size);
+    }
+}
@@ -0,0 +1,391 @@
+package dev.dewy.nbt.tags.collection;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * An insertion-ordered {@code Map<>} keyed by tag names, used as the default value of a {@link CompoundTag}.
+ * Keys and values are held in two parallel arrays, with no per-entry objects; small maps are searched linearly,
+ * and a hash index over the arrays is only built once a map grows past {@value #INDEX_THRESHOLD} entries.
+ *
+ * @param <V> the type of the map's values.
+ * @author dewy
+ */
+class CompactMap<V> extends AbstractMap<String, V> {
+    private static final int INDEX_THRESHOLD = 8;
+
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+
+    private String[] keys;
+    private Object[] values;
+    private int size;
+    private int modCount;
+
+    // open-addressed table of entry positions + 1 (0 marks an empty slot), null while the map is small
+    private int[] index;
+
+    /**
+     * Constructs an empty map.
+     */
+    CompactMap() {
+        this.keys = EMPTY_KEYS;
+        this.values = EMPTY_VALUES;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        int i = this.indexOf(key);
+
+        return i < 0 ? null : this.valueAt(i);
+    }
+
+    @Override
+    public V put(String key, V value) {
+        int i = this.indexOf(key);
+
+        if (i >= 0) {
+            V previous = this.valueAt(i);
+            this.values[i] = value;
+
+            return previous;
+        }
+
+        if (this.size == this.keys.length) {
+            int capacity = Math.max(4, this.size + (this.size >> 1));
+
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        this.keys[this.size] = key;
+        this.values[this.size] = value;
+        this.size++;
+        this.modCount++;
+
+        if (this.index != null && this.size * 2 <= this.index.length) {
+            this.insertIndex(this.size - 1);
+        } else if (this.size > INDEX_THRESHOLD) {
+            this.rebuildIndex();
+        }
+
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        int i = this.indexOf(key);
+
+        return i < 0 ? null : this.removeAt(i);
+    }
+
+    @Override
+    public void clear() {
+        this.keys = EMPTY_KEYS;
+        this.values = EMPTY_VALUES;
+        this.size = 0;
+        this.index = null;
+        this.modCount++;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super V> action) {
+        int expectedModCount = this.modCount;
+
+        for (int i = 0; i < this.size; i++) {
+            action.accept(this.keys[i], this.valueAt(i));
+
+            if (this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<Entry<String, V>>() {
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                return new Itr<Entry<String, V>>() {
+                    @Override
+                    Entry<String, V> element(int i) {
+                        return new CompactEntry(i);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactMap.this.size;
+            }
+
+            @Override
+            public void clear() {
+                CompactMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new Itr<String>() {
+                    @Override
+                    String element(int i) {
+                        return CompactMap.this.keys[i];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactMap.this.size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return CompactMap.this.containsKey(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                int i = CompactMap.this.indexOf(o);
+
+                if (i < 0) {
+                    return false;
+                }
+
+                CompactMap.this.removeAt(i);
+
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                CompactMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new Itr<V>() {
+                    @Override
+                    V element(int i) {
+                        return CompactMap.this.valueAt(i);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CompactMap.this.size;
+            }
+
+            @Override
+            public void clear() {
+                CompactMap.this.clear();
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+        if (this.index == null) {
+            for (int i = 0; i < this.size; i++) {
+                if (Objects.equals(this.keys[i], key)) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        int mask = this.index.length - 1;
+
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int position = this.index[slot];
+
+            if (position == 0) {
+                return -1;
+            }
+
+            if (Objects.equals(this.keys[position - 1], key)) {
+                return position - 1;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int i) {
+        return (V) this.values[i];
+    }
+
+    private V removeAt(int i) {
+        V previous = this.valueAt(i);
+        int moved = this.size - i - 1;
+
+        System.arraycopy(this.keys, i + 1, this.keys, i, moved);
+        System.arraycopy(this.values, i + 1, this.values, i, moved);
+
+        this.size--;
+        this.keys[this.size] = null;
+        this.values[this.size] = null;
+        this.modCount++;
+
+        if (this.index != null) {
+            // removal shifts every later position down, so the index is rebuilt (or dropped) rather than patched
+            this.index = null;
+
+            if (this.size > INDEX_THRESHOLD) {
+                this.rebuildIndex();
+            }
+        }
+
+        return previous;
+    }
+
+    private void rebuildIndex() {
+        this.index = new int[Integer.highestOneBit(this.size * 4 - 1)];
+
+        for (int i = 0; i < this.size; i++) {
+            this.insertIndex(i);
+        }
+    }
+
+    private void insertIndex(int i) {
+        int mask = this.index.length - 1;
+        int slot = hash(this.keys[i]) & mask;
+
+        while (this.index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        this.index[slot] = i + 1;
+    }
+
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key);
+
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * An iterator over the positions of the map, supporting removal.
+     */
+    private abstract class Itr<E> implements Iterator<E> {
+        private int cursor;
+        private int last = -1;
+        private int expectedModCount = CompactMap.this.modCount;
+
+        abstract E element(int i);
+
+        @Override
+        public boolean hasNext() {
+            return this.cursor < CompactMap.this.size;
+        }
+
+        @Override
+        public E next() {
+            if (CompactMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (this.cursor >= CompactMap.this.size) {
+                throw new NoSuchElementException();
+            }
+
+            this.last = this.cursor++;
+
+            return this.element(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            }
+
+            if (CompactMap.this.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            CompactMap.this.removeAt(this.last);
+
+            this.cursor = this.last;
+            this.last = -1;
+            this.expectedModCount = CompactMap.this.modCount;
+        }
+    }
+
+    /**
+     * A map entry writing through to its position of the map, for as long as that position holds the entry's key.
+     */
+    private final class CompactEntry implements Entry<String, V> {
+        private final int position;
+        private final String key;
+        private V value;
+
+        private CompactEntry(int position) {
+            this.position = position;
+            this.key = CompactMap.this.keys[position];
+            this.value = CompactMap.this.valueAt(position);
+        }
+
+        @Override
+        public String getKey() {
+            return this.key;
+        }
+
+        @Override
+        public V getValue() {
+            return this.value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = this.value;
+            this.value = value;
+
+            if (this.position < CompactMap.this.size && CompactMap.this.keys[this.position] == this.key) {
+                CompactMap.this.values[this.position] = value;
+            }
+
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Map.Entry)) return false;
+
+            Map.Entry<?, ?> that = (Map.Entry<?, ?>) o;
+
+            return Objects.equals(this.getKey(), that.getKey()) && Objects.equals(this.getValue(), that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.getKey()) ^ Objects.hashCode(this.getValue());
+        }
+
+        @Override
+        public String toString() {
+            return this.getKey() + "=" + this.getValue();
+        }
+    }
+}
@@ -5,16 +5,15 @@ import com.google.gson.JsonObject;
 import dev.dewy.nbt.api.Tag;
 import dev.dewy.nbt.api.json.JsonSerializable;
 import dev.dewy.nbt.api.registry.TagTypeRegistry;
-import dev.dewy.nbt.api.registry.TagTypeRegistryException;
 import dev.dewy.nbt.api.snbt.SnbtConfig;
 import dev.dewy.nbt.api.snbt.SnbtSerializable;
+import dev.dewy.nbt.io.ModifiedUtf8;
 import dev.dewy.nbt.tags.TagType;
 import dev.dewy.nbt.tags.array.ByteArrayTag;
 import dev.dewy.nbt.tags.array.IntArrayTag;
 import dev.dewy.nbt.tags.array.LongArrayTag;
 import dev.dewy.nbt.tags.primitive.*;
 import dev.dewy.nbt.utils.StringUtils;
-import lombok.AllArgsConstructor;
 import lombok.NonNull;
 
 import java.io.DataInput;
@@ -22,6 +21,7 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * The compound tag (type ID 10) is used for storing an unordered map of any and all named tags.
@@ -29,15 +29,26 @@ import java.util.function.Consumer;
  *
  * @author dewy
  */
-@AllArgsConstructor
 public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializable, Iterable<Tag> {
     private @NonNull Map<String, Tag> value;
 
+    // the hash code of a frozen compound, computed on first use (0 until then)
+    private int hash;
+
     /**
      * Constructs an empty, unnamed compound tag.
      */
     public CompoundTag() {
-        this(null, new LinkedHashMap<>());
+        this(null, new CompactMap<>());
+    }
+
+    /**
+     * Constructs an unnamed compound tag with a given {@code Map<>} value.
+     *
+     * @param value the tag's {@code Map<>} value.
+     */
+    public CompoundTag(@NonNull Map<String, Tag> value) {
+        this(null, value);
     }
 
     /**
@@ -46,7 +57,7 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
      * @param name the tag's name.
      */
     public CompoundTag(String name) {
-        this(name, new LinkedHashMap<>());
+        this(name, new CompactMap<>());
     }
 
     /**
@@ -65,9 +76,14 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
         return TagType.COMPOUND.getId();
     }
 
+    /**
+     * Returns the {@code Map<>} value of this compound tag, which is read-only if the compound is frozen.
+     *
+     * @return the {@code Map<>} value of this compound tag.
+     */
     @Override
     public Map<String, Tag> getValue() {
-        return this.value;
+        return this.isFrozen() ? Collections.unmodifiableMap(this.value) : this.value;
     }
 
     /**
@@ -76,18 +92,71 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
      * @param value new {@code Map<>} value to be set.
      */
     public void setValue(@NonNull Map<String, Tag> value) {
+        this.checkMutable();
+
         this.value = value;
     }
 
+    /**
+     * Returns a snapshot of this compound tag: a compound with the same name and contents, which can be read, written or serialized
+     * on another thread while this compound continues to be modified. The compounds and lists within it are snapshotted in turn and
+     * its other tags are copied, leaving this compound and every tag within it untouched, so tags obtained from it before or after
+     * the snapshot was taken can still be modified without affecting the snapshot.
+     *
+     * <p>Frozen tags cannot be modified and tags of custom types cannot be copied, so both are shared with the snapshot as they are.
+     * As a frozen compound can be shared as a whole, its snapshot is the compound itself: freezing the parts of a tree that no longer
+     * change makes snapshots of it cheaper.</p>
+     *
+     * @return a snapshot of this compound tag.
+     */
+    public CompoundTag snapshot() {
+        if (this.isFrozen()) {
+            return this;
+        }
+
+        Map<String, Tag> copy = new CompactMap<>();
+
+        for (Map.Entry<String, Tag> entry : this.value.entrySet()) {
+            copy.put(entry.getKey(), SharedTags.snapshot(entry.getValue()));
+        }
+
+        return new CompoundTag(this.getName(), copy);
+    }
+
+    /**
+     * Freezes this compound tag and every tag within it. See {@link Tag#freeze()}.
+     *
+     * @return this compound tag.
+     */
+    @Override
+    public CompoundTag freeze() {
+        if (!this.isFrozen()) {
+            for (Tag tag : this.value.values()) {
+                tag.freeze();
+            }
+
+            super.freeze();
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns this compound's map as it is, even if the compound is frozen.
+     */
+    Map<String, Tag> peekValue() {
+        return this.value;
+    }
+
     @Override
     public void write(DataOutput output, int depth, TagTypeRegistry registry) throws IOException {
         if (depth > 512) {
             throw new IOException("NBT structure too complex (depth > 512).");
         }
 
-        for (Tag tag : this) {
+        for (Tag tag : this.value.values()) {
             output.writeByte(tag.getTypeId());
-            output.writeUTF(tag.getName());
+            ModifiedUtf8.write(tag.getName(), output);
 
             tag.write(output, depth + 1, registry);
         }
@@ -97,28 +166,25 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
 
     @Override
     public CompoundTag read(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         if (depth > 512) {
             throw new IOException("NBT structure too complex (depth > 512).");
         }
 
-        Map<String, Tag> tags = new LinkedHashMap<>();
+        Map<String, Tag> tags = new CompactMap<>();
 
         byte nextTypeId;
         Tag nextTag;
         while ((nextTypeId = input.readByte()) != 0) {
-            Class<? extends Tag> tagClass = registry.getClassFromId(nextTypeId);
+            Supplier<? extends Tag> factory = registry.getFactoryFromId(nextTypeId);
 
-            if (tagClass == null) {
+            if (factory == null) {
                 throw new IOException("Tag type with ID " + nextTypeId + " not present in tag type registry.");
             }
 
-            try {
-                nextTag = registry.instantiate(tagClass);
-            } catch (TagTypeRegistryException e) {
-                throw new IOException(e);
-            }
-
-            nextTag.setName(input.readUTF());
+            nextTag = factory.get();
+            nextTag.setName(ModifiedUtf8.read(input));
             nextTag.read(input, depth + 1, registry);
 
             tags.put(nextTag.getName(), nextTag);
@@ -129,6 +195,21 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
         return this;
     }
 
+    @Override
+    public long serializedSize(int depth, TagTypeRegistry registry) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        long size = 1;
+
+        for (Tag tag : this.value.values()) {
+            size += 3 + ModifiedUtf8.encodedLength(tag.getName()) + tag.serializedSize(depth + 1, registry);
+        }
+
+        return size;
+    }
+
     @Override
     public JsonObject toJson(int depth, TagTypeRegistry registry) throws IOException {
         if (depth > 512) {
@@ -143,7 +224,7 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
             json.addProperty("name", this.getName());
         }
 
-        for (Tag tag : this) {
+        for (Tag tag : this.value.values()) {
             try {
                 value.add(tag.getName(), ((JsonSerializable) tag).toJson(depth + 1, registry));
             } catch (ClassCastException e) {
@@ -158,6 +239,8 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
 
     @Override
     public CompoundTag fromJson(JsonObject json, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         if (depth > 512) {
             throw new IOException("NBT structure too complex (depth > 512).");
         }
@@ -170,7 +253,7 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
             this.setName(null);
         }
 
-        Map<String, Tag> tags = new LinkedHashMap<>();
+        Map<String, Tag> tags = new CompactMap<>();
 
         byte nextTypeId;
         Tag nextTag;
@@ -178,17 +261,13 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
             JsonObject entryJson = entry.getValue().getAsJsonObject();
 
             nextTypeId = entryJson.get("type").getAsByte();
-            Class<? extends Tag> tagClass = registry.getClassFromId(nextTypeId);
+            Supplier<? extends Tag> factory = registry.getFactoryFromId(nextTypeId);
 
-            if (tagClass == null) {
+            if (factory == null) {
                 throw new IOException("Tag type with ID " + nextTypeId + " not present in tag type registry.");
             }
 
-            try {
-                nextTag = registry.instantiate(tagClass);
-            } catch (TagTypeRegistryException e) {
-                throw new IOException(e);
-            }
+            nextTag = factory.get();
 
             ((JsonSerializable) nextTag).fromJson(entryJson, depth + 1, registry);
             tags.put(nextTag.getName(), nextTag);
@@ -201,48 +280,47 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
 
     @Override
     public String toSnbt(int depth, TagTypeRegistry registry, SnbtConfig config) {
+        return StringUtils.toSnbt(this, depth, registry, config);
+    }
+
+    @Override
+    public void writeSnbt(Appendable out, int depth, TagTypeRegistry registry, SnbtConfig config) throws IOException {
         if (this.value.isEmpty()) {
-            return "{}";
+            out.append("{}");
+            return;
         }
 
-        StringBuilder sb = new StringBuilder("{");
+        out.append('{');
 
         if (config.isPrettyPrint()) {
-            sb.append('\n').append(StringUtils.multiplyIndent(depth + 1, config));
+            out.append('\n');
+            StringUtils.writeIndent(out, depth + 1, config);
         }
 
         boolean first = true;
-        for (Tag tag : this) {
+        for (Tag tag : this.value.values()) {
             if (!first) {
                 if (config.isPrettyPrint()) {
-                    sb.append(",\n").append(StringUtils.multiplyIndent(depth + 1, config));
+                    out.append(",\n");
+                    StringUtils.writeIndent(out, depth + 1, config);
                 } else {
-                    sb.append(',');
+                    out.append(',');
                 }
             }
 
-            sb.append(StringUtils.escapeSnbt(tag.getName()));
-
-            if (config.isPrettyPrint()) {
-                sb.append(": ");
-            } else {
-                sb.append(':');
-            }
-
-            sb.append(((SnbtSerializable) tag).toSnbt(depth + 1, registry, config));
+            StringUtils.writeSnbtString(out, tag.getName());
+            out.append(config.isPrettyPrint() ? ": " : ":");
 
-            if (first) {
-                first = false;
-            }
+            ((SnbtSerializable) tag).writeSnbt(out, depth + 1, registry, config);
+            first = false;
         }
 
         if (config.isPrettyPrint()) {
-            sb.append("\n").append(StringUtils.multiplyIndent(depth , config)).append('}');
-        } else {
-            sb.append('}');
+            out.append('\n');
+            StringUtils.writeIndent(out, depth, config);
         }
 
-        return sb.toString();
+        out.append('}');
     }
 
     /**
@@ -270,8 +348,11 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
      * @param <E> the type of an existing tag you believe you may be replacing (optional).
      * @return the previous value mapped with the tag's name as type E if provided, or null if there wasn't any.
      * @throws NullPointerException if the tag's name is null.
+     * @throws UnsupportedOperationException if this compound is frozen.
      */
     public <E extends Tag> E put(@NonNull Tag tag) {
+        this.checkMutable();
+
         return (E) this.value.put(tag.getName(), tag);
     }
 
@@ -282,59 +363,78 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
      * @param tag the tag to be added to the compound.
      * @param <E> the type of an existing tag you believe you may be replacing (optional).
      * @return the previous value mapped with the tag's name as type E if provided, or null if there wasn't any.
+     * @throws UnsupportedOperationException if this compound is frozen, or the tag is frozen under a different name.
      */
     public <E extends Tag> E put(@NonNull String name, @NonNull Tag tag) {
+        this.checkMutable();
+
         tag.setName(name);
 
         return this.put(tag);
     }
 
     public void putByte(@NonNull String name, byte value) {
-        this.put(name, new ByteTag(name, value));
+        this.set(name, new ByteTag(name, value));
     }
 
     public void putShort(@NonNull String name, short value) {
-        this.put(name, new ShortTag(name, value));
+        this.set(name, new ShortTag(name, value));
     }
 
     public void putInt(@NonNull String name, int value) {
-        this.put(name, new IntTag(name, value));
+        this.set(name, new IntTag(name, value));
     }
 
     public void putLong(@NonNull String name, long value) {
-        this.put(name, new LongTag(name, value));
+        this.set(name, new LongTag(name, value));
     }
 
     public void putFloat(@NonNull String name, float value) {
-        this.put(name, new FloatTag(name, value));
+        this.set(name, new FloatTag(name, value));
     }
 
     public void putDouble(@NonNull String name, double value) {
-        this.put(name, new DoubleTag(name, value));
+        this.set(name, new DoubleTag(name, value));
     }
 
     public void putByteArray(@NonNull String name, @NonNull byte[] value) {
-        this.put(name, new ByteArrayTag(name, value));
+        this.set(name, new ByteArrayTag(name, value));
     }
 
     public void putString(@NonNull String name, @NonNull String value) {
-        this.put(name, new StringTag(name, value));
+        this.set(name, new StringTag(name, value));
     }
 
     public <T extends Tag> void putList(@NonNull String name, List<T> value) {
-        this.put(name, new ListTag<>(name, value));
+        this.set(name, new ListTag<>(name, value));
     }
 
     public void putCompound(@NonNull String name, @NonNull Map<String, Tag> value) {
-        this.put(name, new CompoundTag(name, value));
+        this.set(name, new CompoundTag(name, value));
     }
 
     public void putIntArray(@NonNull String name, @NonNull int[] value) {
-        this.put(name, new IntArrayTag(name, value));
+        this.set(name, new IntArrayTag(name, value));
     }
 
     public void putLongArray(@NonNull String name, @NonNull long[] value) {
-        this.put(name, new LongArrayTag(name, value));
+        this.set(name, new LongArrayTag(name, value));
+    }
+
+    /**
+     * Adds a given tag as {@link #put(String, Tag)} does, for callers with no use for the previous value, which a {@link LazyCompoundTag}
+     * would otherwise have to decode only to return it.
+     */
+    private void set(String name, Tag tag) {
+        this.checkMutable();
+
+        tag.setName(name);
+
+        if (this.value instanceof LazyTagMap) {
+            ((LazyTagMap) this.value).putWithoutDecoding(name, tag);
+        } else {
+            this.value.put(name, tag);
+        }
     }
 
     /**
@@ -345,6 +445,8 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
      * @return the previous value associated with {@code key} as type T if provided.
      */
     public <T extends Tag> T remove(@NonNull String key) {
+        this.checkMutable();
+
         return (T) this.value.remove(key);
     }
 
@@ -490,7 +592,7 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
      * @return all {@link Tag}s contained within this compound.
      */
     public Collection<Tag> values() {
-        return this.value.values();
+        return this.getValue().values();
     }
 
     /**
@@ -499,29 +601,31 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
      * @return a {@code Set<>} of all names (keys) currently used within this compound.
      */
     public Set<String> keySet() {
-        return this.value.keySet();
+        return this.getValue().keySet();
     }
 
     /**
      * Removes all entries from the compound. The compound will be empty after this call returns.
      */
     public void clear() {
+        this.checkMutable();
+
         this.value.clear();
     }
 
     @Override
     public Iterator<Tag> iterator() {
-        return this.value.values().iterator();
+        return this.getValue().values().iterator();
     }
 
     @Override
     public void forEach(Consumer<? super Tag> action) {
-        this.value.values().forEach(action);
+        this.getValue().values().forEach(action);
     }
 
     @Override
     public Spliterator<Tag> spliterator() {
-        return this.value.values().spliterator();
+        return this.getValue().values().spliterator();
     }
 
     @Override
@@ -532,15 +636,27 @@ public class CompoundTag extends Tag implements SnbtSerializable, JsonSerializab
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof CompoundTag)) return false;
 
         CompoundTag that = (CompoundTag) o;
 
+        if (this.isFrozen() && that.isFrozen() && this.hashCode() != that.hashCode()) return false;
         return Objects.equals(value, that.value);
     }
 
     @Override
     public int hashCode() {
-        return value != null ? value.hashCode() : 0;
+        if (!this.isFrozen()) {
+            return value != null ? value.hashCode() : 0;
+        }
+
+        int hash = this.hash;
+
+        if (hash == 0) {
+            hash = value.hashCode();
+            this.hash = hash;
+        }
+
+        return hash;
     }
 }
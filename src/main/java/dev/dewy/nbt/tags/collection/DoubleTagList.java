@@ -0,0 +1,204 @@
+package dev.dewy.nbt.tags.collection;
+
+import dev.dewy.nbt.tags.TagType;
+import dev.dewy.nbt.tags.primitive.DoubleTag;
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A {@code List<>} of {@link DoubleTag}s backed by a primitive {@code double} array, used as the value of a {@link ListTag} holding double tags.
+ *
+ * @author dewy
+ */
+public class DoubleTagList extends PrimitiveTagList<DoubleTag> {
+    private double[] values;
+
+    /**
+     * Constructs an empty list.
+     */
+    public DoubleTagList() {
+        this.values = new double[0];
+    }
+
+    /**
+     * Constructs a list holding a copy of the given values.
+     *
+     * @param values the list's values.
+     */
+    public DoubleTagList(@NonNull double... values) {
+        this.values = values.clone();
+        this.size = values.length;
+    }
+
+    @Override
+    public byte getElementType() {
+        return TagType.DOUBLE.getId();
+    }
+
+    @Override
+    DoubleTagList copy() {
+        DoubleTagList copy = new DoubleTagList();
+        copy.values = this.toDoubleArray();
+        copy.size = copy.values.length;
+
+        return copy;
+    }
+
+    @Override
+    DoubleTag element(int index) {
+        return new DoubleTag(this.values[index]);
+    }
+
+    @Override
+    void release() {
+        this.values = new double[0];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the value at the specified index in this list.
+     *
+     * @param index the index of the value to be retrieved.
+     * @return the value at the specified index.
+     */
+    public double getDouble(int index) {
+        if (this.tags != null) {
+            return this.tags.get(index).getValue();
+        }
+
+        this.checkIndex(index);
+
+        return this.values[index];
+    }
+
+    /**
+     * Replaces the value at the specified index in this list.
+     *
+     * @param index the index of the value to be replaced.
+     * @param value the new value.
+     * @return the previous value at the specified index.
+     */
+    public double setDouble(int index, double value) {
+        if (this.tags != null) {
+            DoubleTag tag = this.tags.get(index);
+            double previous = tag.getValue();
+            tag.setValue(value);
+
+            return previous;
+        }
+
+        this.checkIndex(index);
+
+        double previous = this.values[index];
+        this.values[index] = value;
+
+        return previous;
+    }
+
+    /**
+     * Appends a value to the end of this list.
+     *
+     * @param value the value to be added.
+     */
+    public void addDouble(double value) {
+        if (this.tags != null) {
+            this.tags.add(new DoubleTag(value));
+            this.modCount++;
+            return;
+        }
+
+        if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, grow(this.size));
+        }
+
+        this.values[this.size++] = value;
+        this.modCount++;
+    }
+
+    /**
+     * Returns a copy of the values in this list.
+     *
+     * @return a copy of the values in this list.
+     */
+    public double[] toDoubleArray() {
+        if (this.tags != null) {
+            double[] values = new double[this.tags.size()];
+
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.tags.get(i).getValue();
+            }
+
+            return values;
+        }
+
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    @Override
+    public DoubleTag remove(int index) {
+        if (this.tags != null) {
+            this.modCount++;
+
+            return this.tags.remove(index);
+        }
+
+        double previous = this.getDouble(index);
+
+        System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+
+        this.size--;
+        this.modCount++;
+
+        return new DoubleTag(previous);
+    }
+
+    @Override
+    public void clear() {
+        this.tags = null;
+        this.values = new double[0];
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    int width() {
+        return 8;
+    }
+
+    @Override
+    void read(DataInput input, int length) throws IOException {
+        double[] values = new double[initialCapacity(input, length, 8)];
+
+        for (int i = 0; i < length; i++) {
+            if (i == values.length) {
+                values = Arrays.copyOf(values, grownCapacity(i, length));
+            }
+
+            values[i] = input.readDouble();
+        }
+
+        this.values = values;
+        this.size = values.length;
+        this.tags = null;
+        this.modCount++;
+    }
+
+    @Override
+    void write(DataOutput output) throws IOException {
+        if (this.tags != null) {
+            for (DoubleTag tag : this.tags) {
+                output.writeDouble(tag.getValue());
+            }
+
+            return;
+        }
+
+        for (int i = 0; i < this.size; i++) {
+            output.writeDouble(this.values[i]);
+        }
+    }
+}
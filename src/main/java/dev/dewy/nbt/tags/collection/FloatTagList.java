@@ -0,0 +1,204 @@
+package dev.dewy.nbt.tags.collection;
+
+import dev.dewy.nbt.tags.TagType;
+import dev.dewy.nbt.tags.primitive.FloatTag;
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A {@code List<>} of {@link FloatTag}s backed by a primitive {@code float} array, used as the value of a {@link ListTag} holding float tags.
+ *
+ * @author dewy
+ */
+public class FloatTagList extends PrimitiveTagList<FloatTag> {
+    private float[] values;
+
+    /**
+     * Constructs an empty list.
+     */
+    public FloatTagList() {
+        this.values = new float[0];
+    }
+
+    /**
+     * Constructs a list holding a copy of the given values.
+     *
+     * @param values the list's values.
+     */
+    public FloatTagList(@NonNull float... values) {
+        this.values = values.clone();
+        this.size = values.length;
+    }
+
+    @Override
+    public byte getElementType() {
+        return TagType.FLOAT.getId();
+    }
+
+    @Override
+    FloatTagList copy() {
+        FloatTagList copy = new FloatTagList();
+        copy.values = this.toFloatArray();
+        copy.size = copy.values.length;
+
+        return copy;
+    }
+
+    @Override
+    FloatTag element(int index) {
+        return new FloatTag(this.values[index]);
+    }
+
+    @Override
+    void release() {
+        this.values = new float[0];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the value at the specified index in this list.
+     *
+     * @param index the index of the value to be retrieved.
+     * @return the value at the specified index.
+     */
+    public float getFloat(int index) {
+        if (this.tags != null) {
+            return this.tags.get(index).getValue();
+        }
+
+        this.checkIndex(index);
+
+        return this.values[index];
+    }
+
+    /**
+     * Replaces the value at the specified index in this list.
+     *
+     * @param index the index of the value to be replaced.
+     * @param value the new value.
+     * @return the previous value at the specified index.
+     */
+    public float setFloat(int index, float value) {
+        if (this.tags != null) {
+            FloatTag tag = this.tags.get(index);
+            float previous = tag.getValue();
+            tag.setValue(value);
+
+            return previous;
+        }
+
+        this.checkIndex(index);
+
+        float previous = this.values[index];
+        this.values[index] = value;
+
+        return previous;
+    }
+
+    /**
+     * Appends a value to the end of this list.
+     *
+     * @param value the value to be added.
+     */
+    public void addFloat(float value) {
+        if (this.tags != null) {
+            this.tags.add(new FloatTag(value));
+            this.modCount++;
+            return;
+        }
+
+        if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, grow(this.size));
+        }
+
+        this.values[this.size++] = value;
+        this.modCount++;
+    }
+
+    /**
+     * Returns a copy of the values in this list.
+     *
+     * @return a copy of the values in this list.
+     */
+    public float[] toFloatArray() {
+        if (this.tags != null) {
+            float[] values = new float[this.tags.size()];
+
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.tags.get(i).getValue();
+            }
+
+            return values;
+        }
+
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    @Override
+    public FloatTag remove(int index) {
+        if (this.tags != null) {
+            this.modCount++;
+
+            return this.tags.remove(index);
+        }
+
+        float previous = this.getFloat(index);
+
+        System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+
+        this.size--;
+        this.modCount++;
+
+        return new FloatTag(previous);
+    }
+
+    @Override
+    public void clear() {
+        this.tags = null;
+        this.values = new float[0];
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    int width() {
+        return 4;
+    }
+
+    @Override
+    void read(DataInput input, int length) throws IOException {
+        float[] values = new float[initialCapacity(input, length, 4)];
+
+        for (int i = 0; i < length; i++) {
+            if (i == values.length) {
+                values = Arrays.copyOf(values, grownCapacity(i, length));
+            }
+
+            values[i] = input.readFloat();
+        }
+
+        this.values = values;
+        this.size = values.length;
+        this.tags = null;
+        this.modCount++;
+    }
+
+    @Override
+    void write(DataOutput output) throws IOException {
+        if (this.tags != null) {
+            for (FloatTag tag : this.tags) {
+                output.writeFloat(tag.getValue());
+            }
+
+            return;
+        }
+
+        for (int i = 0; i < this.size; i++) {
+            output.writeFloat(this.values[i]);
+        }
+    }
+}
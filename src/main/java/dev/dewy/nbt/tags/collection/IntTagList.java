@@ -0,0 +1,215 @@
+package dev.dewy.nbt.tags.collection;
+
+import dev.dewy.nbt.io.ByteBufferInput;
+import dev.dewy.nbt.io.ByteBufferOutput;
+import dev.dewy.nbt.tags.TagType;
+import dev.dewy.nbt.tags.primitive.IntTag;
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A {@code List<>} of {@link IntTag}s backed by a primitive {@code int} array, used as the value of a {@link ListTag} holding int tags.
+ *
+ * @author dewy
+ */
+public class IntTagList extends PrimitiveTagList<IntTag> {
+    private int[] values;
+
+    /**
+     * Constructs an empty list.
+     */
+    public IntTagList() {
+        this.values = new int[0];
+    }
+
+    /**
+     * Constructs a list holding a copy of the given values.
+     *
+     * @param values the list's values.
+     */
+    public IntTagList(@NonNull int... values) {
+        this.values = values.clone();
+        this.size = values.length;
+    }
+
+    @Override
+    public byte getElementType() {
+        return TagType.INT.getId();
+    }
+
+    @Override
+    IntTagList copy() {
+        IntTagList copy = new IntTagList();
+        copy.values = this.toIntArray();
+        copy.size = copy.values.length;
+
+        return copy;
+    }
+
+    @Override
+    IntTag element(int index) {
+        return new IntTag(this.values[index]);
+    }
+
+    @Override
+    void release() {
+        this.values = new int[0];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the value at the specified index in this list.
+     *
+     * @param index the index of the value to be retrieved.
+     * @return the value at the specified index.
+     */
+    public int getInt(int index) {
+        if (this.tags != null) {
+            return this.tags.get(index).getValue();
+        }
+
+        this.checkIndex(index);
+
+        return this.values[index];
+    }
+
+    /**
+     * Replaces the value at the specified index in this list.
+     *
+     * @param index the index of the value to be replaced.
+     * @param value the new value.
+     * @return the previous value at the specified index.
+     */
+    public int setInt(int index, int value) {
+        if (this.tags != null) {
+            IntTag tag = this.tags.get(index);
+            int previous = tag.getValue();
+            tag.setValue(value);
+
+            return previous;
+        }
+
+        this.checkIndex(index);
+
+        int previous = this.values[index];
+        this.values[index] = value;
+
+        return previous;
+    }
+
+    /**
+     * Appends a value to the end of this list.
+     *
+     * @param value the value to be added.
+     */
+    public void addInt(int value) {
+        if (this.tags != null) {
+            this.tags.add(new IntTag(value));
+            this.modCount++;
+            return;
+        }
+
+        if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, grow(this.size));
+        }
+
+        this.values[this.size++] = value;
+        this.modCount++;
+    }
+
+    /**
+     * Returns a copy of the values in this list.
+     *
+     * @return a copy of the values in this list.
+     */
+    public int[] toIntArray() {
+        if (this.tags != null) {
+            int[] values = new int[this.tags.size()];
+
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.tags.get(i).getValue();
+            }
+
+            return values;
+        }
+
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    @Override
+    public IntTag remove(int index) {
+        if (this.tags != null) {
+            this.modCount++;
+
+            return this.tags.remove(index);
+        }
+
+        int previous = this.getInt(index);
+
+        System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+
+        this.size--;
+        this.modCount++;
+
+        return new IntTag(previous);
+    }
+
+    @Override
+    public void clear() {
+        this.tags = null;
+        this.values = new int[0];
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    int width() {
+        return 4;
+    }
+
+    @Override
+    void read(DataInput input, int length) throws IOException {
+        int[] values = new int[initialCapacity(input, length, 4)];
+
+        if (input instanceof ByteBufferInput) {
+            ((ByteBufferInput) input).readInts(values);
+        } else {
+            for (int i = 0; i < length; i++) {
+                if (i == values.length) {
+                    values = Arrays.copyOf(values, grownCapacity(i, length));
+                }
+
+                values[i] = input.readInt();
+            }
+        }
+
+        this.values = values;
+        this.size = values.length;
+        this.tags = null;
+        this.modCount++;
+    }
+
+    @Override
+    void write(DataOutput output) throws IOException {
+        if (this.tags != null) {
+            for (IntTag tag : this.tags) {
+                output.writeInt(tag.getValue());
+            }
+
+            return;
+        }
+
+        if (output instanceof ByteBufferOutput) {
+            ((ByteBufferOutput) output).writeInts(this.values, 0, this.size);
+            return;
+        }
+
+        for (int i = 0; i < this.size; i++) {
+            output.writeInt(this.values[i]);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package dev.dewy.nbt.tags.collection;
+
+import dev.dewy.nbt.api.Tag;
+import dev.dewy.nbt.api.registry.TagTypeRegistry;
+import dev.dewy.nbt.io.ModifiedUtf8;
+import dev.dewy.nbt.io.PayloadCopier;
+import dev.dewy.nbt.tags.TagType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A {@link CompoundTag} which defers decoding of its nested compound and list tags until they are first accessed.
+ * When read, the encoded bytes of each nested compound or list are kept aside; {@link #get(String)}, {@link #iterator()} and every other
+ * accessor decode them on demand (nested compounds are themselves decoded lazily). When written, entries that were never decoded
+ * have their original bytes copied back out, so a load-modify-save cycle only pays for the parts of the tree it touched.
+ * Replacing an entry with one of the {@code putX} methods, or removing one through {@link #keySet()}, does not decode it either,
+ * whereas {@link #put(Tag)} and {@link #remove(String)} decode the entry they replace or remove in order to return it.
+ *
+ * <p>Like {@link CompoundTag}, instances are not thread-safe; note that even reading a lazy compound may modify it.</p>
+ *
+ * @author dewy
+ */
+public class LazyCompoundTag extends CompoundTag {
+    /**
+     * Constructs an empty, unnamed lazy compound tag.
+     */
+    public LazyCompoundTag() {
+        super();
+    }
+
+    /**
+     * Constructs an empty lazy compound tag with a given name.
+     *
+     * @param name the tag's name.
+     */
+    public LazyCompoundTag(String name) {
+        super(name);
+    }
+
+    /**
+     * Returns a snapshot of this compound tag, as {@link CompoundTag#snapshot()} does. The snapshot is itself a lazy compound, sharing
+     * the encoded payloads of the entries not yet decoded, which are never modified; taking it therefore decodes nothing.
+     *
+     * @return a snapshot of this compound tag.
+     */
+    @Override
+    public CompoundTag snapshot() {
+        if (!(this.peekValue() instanceof LazyTagMap)) {
+            return super.snapshot();
+        }
+
+        LazyCompoundTag snapshot = new LazyCompoundTag(this.getName());
+        snapshot.setValue(((LazyTagMap) this.peekValue()).snapshot());
+
+        return snapshot;
+    }
+
+    /**
+     * Freezes this compound tag and every tag within it, as {@link CompoundTag#freeze()} does. As decoding modifies a lazy compound,
+     * this compound and the lazy compounds nested within it are first decoded in full.
+     *
+     * @return this compound tag.
+     */
+    @Override
+    public CompoundTag freeze() {
+        this.decodeAll();
+
+        return super.freeze();
+    }
+
+    @Override
+    public void write(DataOutput output, int depth, TagTypeRegistry registry) throws IOException {
+        if (!(this.peekValue() instanceof LazyTagMap)) {
+            super.write(output, depth, registry);
+            return;
+        }
+
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        for (Map.Entry<String, Object> entry : ((LazyTagMap) this.peekValue()).rawEntries()) {
+            Object value = entry.getValue();
+
+            if (LazyTagMap.isEncoded(value)) {
+                output.writeByte(LazyTagMap.encodedType(value));
+                ModifiedUtf8.write(entry.getKey(), output);
+                output.write(LazyTagMap.encodedPayload(value));
+            } else {
+                Tag tag = (Tag) value;
+
+                output.writeByte(tag.getTypeId());
+                ModifiedUtf8.write(tag.getName(), output);
+
+                tag.write(output, depth + 1, registry);
+            }
+        }
+
+        output.writeByte(0);
+    }
+
+    @Override
+    public long serializedSize(int depth, TagTypeRegistry registry) throws IOException {
+        if (!(this.peekValue() instanceof LazyTagMap)) {
+            return super.serializedSize(depth, registry);
+        }
+
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        long size = 1;
+
+        for (Map.Entry<String, Object> entry : ((LazyTagMap) this.peekValue()).rawEntries()) {
+            Object value = entry.getValue();
+
+            size += 3 + ModifiedUtf8.encodedLength(entry.getKey());
+
+            if (LazyTagMap.isEncoded(value)) {
+                size += LazyTagMap.encodedPayload(value).length;
+            } else {
+                size += ((Tag) value).serializedSize(depth + 1, registry);
+            }
+        }
+
+        return size;
+    }
+
+    @Override
+    public LazyCompoundTag read(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        LazyTagMap tags = new LazyTagMap(registry, depth);
+
+        byte nextTypeId;
+        while ((nextTypeId = input.readByte()) != 0) {
+            String name = ModifiedUtf8.read(input);
+
+            if (nextTypeId == TagType.COMPOUND.getId() || nextTypeId == TagType.LIST.getId()) {
+                tags.putEncoded(name, nextTypeId, PayloadCopier.copyPayload(nextTypeId, input, depth + 1, registry));
+                continue;
+            }
+
+            Supplier<? extends Tag> factory = registry.getFactoryFromId(nextTypeId);
+
+            if (factory == null) {
+                throw new IOException("Tag type with ID " + nextTypeId + " not present in tag type registry.");
+            }
+
+            Tag nextTag = factory.get();
+            nextTag.setName(name);
+            nextTag.read(input, depth + 1, registry);
+
+            tags.putWithoutDecoding(name, nextTag);
+        }
+
+        this.setValue(tags);
+
+        return this;
+    }
+
+    private void decodeAll() {
+        Map<String, Tag> value = this.peekValue();
+
+        if (value instanceof LazyTagMap) {
+            Map<String, Tag> decoded = new CompactMap<>();
+
+            for (Map.Entry<String, Tag> entry : value.entrySet()) {
+                decoded.put(entry.getKey(), entry.getValue());
+            }
+
+            this.setValue(decoded);
+        }
+
+        for (Tag tag : this.peekValue().values()) {
+            if (tag instanceof LazyCompoundTag) {
+                ((LazyCompoundTag) tag).decodeAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package dev.dewy.nbt.tags.collection;
+
+import dev.dewy.nbt.api.Tag;
+import dev.dewy.nbt.api.registry.TagTypeRegistry;
+import dev.dewy.nbt.io.ByteBufferInput;
+import dev.dewy.nbt.tags.TagType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * The {@code Map<>} value of a {@link LazyCompoundTag}. Entries may hold the still encoded payload of a nested tag,
+ * which is decoded (and replaces the encoded payload) the first time its value is accessed.
+ *
+ * @author dewy
+ */
+class LazyTagMap extends AbstractMap<String, Tag> {
+    private final Map<String, Object> entries = new CompactMap<>();
+    private final TagTypeRegistry registry;
+    private final int depth;
+
+    /**
+     * @param registry the {@link TagTypeRegistry} used to decode entries.
+     * @param depth the depth of the owning compound in the NBT data structure.
+     */
+    LazyTagMap(TagTypeRegistry registry, int depth) {
+        this.registry = registry;
+        this.depth = depth;
+    }
+
+    /**
+     * Adds an entry holding an encoded payload, to be decoded on first access.
+     *
+     * @param name the entry's name (key).
+     * @param type the tag type ID of the payload.
+     * @param payload the encoded payload.
+     */
+    void putEncoded(String name, byte type, byte[] payload) {
+        this.entries.put(name, new Encoded(type, payload));
+    }
+
+    /**
+     * Adds or replaces an entry as {@link #put(String, Tag)} does, but without decoding the replaced entry only to return it.
+     *
+     * @param name the entry's name (key).
+     * @param tag the entry's new value.
+     */
+    void putWithoutDecoding(String name, Tag tag) {
+        this.entries.put(name, tag);
+    }
+
+    /**
+     * Returns a snapshot of this map, for {@link LazyCompoundTag#snapshot()}. Encoded payloads are never modified, so they are shared
+     * with the snapshot, while decoded entries are snapshotted as {@link CompoundTag#snapshot()} does.
+     *
+     * @return a snapshot of this map.
+     */
+    LazyTagMap snapshot() {
+        LazyTagMap snapshot = new LazyTagMap(this.registry, this.depth);
+
+        for (Map.Entry<String, Object> entry : this.entries.entrySet()) {
+            Object value = entry.getValue();
+
+            snapshot.entries.put(entry.getKey(), value instanceof Encoded ? value : SharedTags.snapshot((Tag) value));
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Returns the entries of this map as either {@link Tag}s, or the encoded payloads of entries not yet decoded.
+     *
+     * @return the entries of this map, without decoding any.
+     */
+    Set<Map.Entry<String, Object>> rawEntries() {
+        return this.entries.entrySet();
+    }
+
+    /**
+     * Returns true if the given raw entry value has not yet been decoded.
+     */
+    static boolean isEncoded(Object value) {
+        return value instanceof Encoded;
+    }
+
+    /**
+     * Returns the tag type ID of an encoded raw entry value.
+     */
+    static byte encodedType(Object value) {
+        return ((Encoded) value).type;
+    }
+
+    /**
+     * Returns the payload of an encoded raw entry value.
+     */
+    static byte[] encodedPayload(Object value) {
+        return ((Encoded) value).payload;
+    }
+
+    @Override
+    public int size() {
+        return this.entries.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.entries.containsKey(key);
+    }
+
+    @Override
+    public Tag get(Object key) {
+        Object value = this.entries.get(key);
+
+        if (value instanceof Encoded) {
+            Tag tag = this.decode((String) key, (Encoded) value);
+            this.entries.put((String) key, tag);
+
+            return tag;
+        }
+
+        return (Tag) value;
+    }
+
+    @Override
+    public Tag put(String key, Tag value) {
+        return this.resolve(key, this.entries.put(key, value));
+    }
+
+    @Override
+    public Tag remove(Object key) {
+        return this.resolve((String) key, this.entries.remove(key));
+    }
+
+    @Override
+    public void clear() {
+        this.entries.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Tag>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Tag>>() {
+            @Override
+            public Iterator<Map.Entry<String, Tag>> iterator() {
+                Iterator<Map.Entry<String, Object>> iterator = LazyTagMap.this.entries.entrySet().iterator();
+
+                return new Iterator<Map.Entry<String, Tag>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, Tag> next() {
+                        return new LazyEntry(iterator.next());
+                    }
+
+                    @Override
+                    public void remove() {
+                        iterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return LazyTagMap.this.entries.size();
+            }
+
+            @Override
+            public void clear() {
+                LazyTagMap.this.entries.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return this.entries.keySet();
+    }
+
+    private Tag resolve(String key, Object value) {
+        return value instanceof Encoded ? this.decode(key, (Encoded) value) : (Tag) value;
+    }
+
+    private Tag decode(String name, Encoded encoded) {
+        Tag tag;
+
+        if (encoded.type == TagType.COMPOUND.getId()) {
+            tag = new LazyCompoundTag();
+        } else {
+            Supplier<? extends Tag> factory = this.registry.getFactoryFromId(encoded.type);
+
+            if (factory == null) {
+                throw new IllegalStateException("Tag type with ID " + encoded.type + " not present in tag type registry.");
+            }
+
+            tag = factory.get();
+        }
+
+        try {
+            tag.read(new ByteBufferInput(ByteBuffer.wrap(encoded.payload)), this.depth + 1, this.registry);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode lazily read tag " + name + ".", e);
+        }
+
+        tag.setName(name);
+
+        return tag;
+    }
+
+    /**
+     * The encoded payload of an entry which has not been decoded yet.
+     */
+    private static final class Encoded {
+        private final byte type;
+        private final byte[] payload;
+
+        private Encoded(byte type, byte[] payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * A map entry decoding its backing entry's value when first accessed.
+     */
+    private final class LazyEntry implements Map.Entry<String, Tag> {
+        private final Map.Entry<String, Object> entry;
+
+        private LazyEntry(Map.Entry<String, Object> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public String getKey() {
+            return this.entry.getKey();
+        }
+
+        @Override
+        public Tag getValue() {
+            Object value = this.entry.getValue();
+
+            if (value instanceof Encoded) {
+                Tag tag = LazyTagMap.this.decode(this.entry.getKey(), (Encoded) value);
+                this.entry.setValue(tag);
+
+                return tag;
+            }
+
+            return (Tag) value;
+        }
+
+        @Override
+        public Tag setValue(Tag value) {
+            return LazyTagMap.this.resolve(this.entry.getKey(), this.entry.setValue(value));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Map.Entry)) return false;
+
+            Map.Entry<?, ?> that = (Map.Entry<?, ?>) o;
+
+            return Objects.equals(this.getKey(), that.getKey()) && Objects.equals(this.getValue(), that.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.getKey()) ^ Objects.hashCode(this.getValue());
+        }
+    }
+}
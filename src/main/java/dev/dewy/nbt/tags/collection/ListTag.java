@@ -6,12 +6,10 @@ import com.google.gson.JsonObject;
 import dev.dewy.nbt.api.Tag;
 import dev.dewy.nbt.api.json.JsonSerializable;
 import dev.dewy.nbt.api.registry.TagTypeRegistry;
-import dev.dewy.nbt.api.registry.TagTypeRegistryException;
 import dev.dewy.nbt.api.snbt.SnbtConfig;
 import dev.dewy.nbt.api.snbt.SnbtSerializable;
 import dev.dewy.nbt.tags.TagType;
 import dev.dewy.nbt.utils.StringUtils;
-import lombok.AllArgsConstructor;
 import lombok.NonNull;
 
 import java.io.DataInput;
@@ -19,17 +17,24 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * The list tag (type ID 9) is used for storing an ordered list of unnamed NBT tags all of the same type.
  *
+ * <p>When read, lists of numeric tags are backed by a {@link PrimitiveTagList} rather than one tag object per element.
+ * Tag objects are only created once the elements are accessed as tags, for instance through {@link #get(int)};
+ * use {@link #getValue()} and the primitive list's accessors to read or modify the values without creating any.</p>
+ *
  * @author dewy
  */
-@AllArgsConstructor
 public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, JsonSerializable, Iterable<T> {
     private @NonNull List<T> value;
     private byte type;
 
+    // the hash code of a frozen list tag, computed on first use (0 until then)
+    private int hash;
+
     /**
      * Constructs an empty, unnamed list tag.
      */
@@ -43,7 +48,7 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
      * @param name the tag's name.
      */
     public ListTag(String name) {
-        this(name, new LinkedList<>());
+        this(name, new ArrayList<>());
     }
 
     /**
@@ -63,14 +68,30 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
         this.setValue(value);
     }
 
+    /**
+     * Constructs an unnamed list tag with a given {@code List<>} value and list type.
+     *
+     * @param value the tag's {@code List<>} value.
+     * @param type the ID of the NBT tag type the list holds.
+     */
+    public ListTag(@NonNull List<T> value, byte type) {
+        this.value = value;
+        this.type = type;
+    }
+
     @Override
     public byte getTypeId() {
         return TagType.LIST.getId();
     }
 
+    /**
+     * Returns the {@code List<>} value of this list tag, which is read-only if the list tag is frozen.
+     *
+     * @return the {@code List<>} value of this list tag.
+     */
     @Override
     public List<T> getValue() {
-        return this.value;
+        return this.isFrozen() ? Collections.unmodifiableList(this.value) : this.value;
     }
 
     /**
@@ -88,6 +109,8 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
      * @param value new {@code List<>} value to be set.
      */
     public void setValue(@NonNull List<T> value) {
+        this.checkMutable();
+
         if (value.isEmpty()) {
             this.type = 0;
         } else {
@@ -97,6 +120,60 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
         this.value = value;
     }
 
+    /**
+     * Returns a snapshot of this list tag: a list with the same name and contents, which can be read, written or serialized
+     * on another thread while this list continues to be modified. The compounds and lists among its elements are snapshotted in turn
+     * and its other elements are copied, leaving this list and its elements untouched. See {@link CompoundTag#snapshot()}.
+     * As a frozen list tag can be shared as it is, its snapshot is the list tag itself.
+     *
+     * @return a snapshot of this list tag.
+     */
+    public ListTag<T> snapshot() {
+        if (this.isFrozen()) {
+            return this;
+        }
+
+        List<T> copy;
+
+        if (this.value instanceof PrimitiveTagList) {
+            copy = (List<T>) ((PrimitiveTagList<?>) this.value).copy();
+        } else {
+            copy = new ArrayList<>(this.value.size());
+
+            for (T tag : this.value) {
+                copy.add((T) SharedTags.snapshot(tag));
+            }
+        }
+
+        ListTag<T> snapshot = new ListTag<>(copy, this.type);
+        snapshot.setName(this.getName());
+
+        return snapshot;
+    }
+
+    /**
+     * Freezes this list tag and every tag within it. See {@link Tag#freeze()}.
+     *
+     * @return this list tag.
+     */
+    @Override
+    public ListTag<T> freeze() {
+        if (!this.isFrozen()) {
+            // a primitive list may not hold its elements as tag objects yet, and must not create them once frozen
+            if (this.value instanceof PrimitiveTagList) {
+                ((PrimitiveTagList<?>) this.value).freeze();
+            } else {
+                for (T tag : this.value) {
+                    tag.freeze();
+                }
+            }
+
+            super.freeze();
+        }
+
+        return this;
+    }
+
     @Override
     public void write(DataOutput output, int depth, TagTypeRegistry registry) throws IOException {
         if (depth > 512) {
@@ -106,36 +183,49 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
         output.writeByte(this.type);
         output.writeInt(this.value.size());
 
-        for (T tag : this) {
+        if (this.value instanceof PrimitiveTagList) {
+            ((PrimitiveTagList<?>) this.value).write(output);
+            return;
+        }
+
+        for (T tag : this.value) {
             tag.write(output, depth + 1, registry);
         }
     }
 
     @Override
     public ListTag<T> read(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         if (depth > 512) {
             throw new IOException("NBT structure too complex (depth > 512).");
         }
 
-        List<T> tags = new ArrayList<>();
-
         byte tagType = input.readByte();
         int length = input.readInt();
 
-        T next;
-        for (int i = 0; i < length; i++) {
-            Class<? extends Tag> tagClass = registry.getClassFromId(tagType);
+        PrimitiveTagList<?> primitives = length > 0 ? PrimitiveTagList.create(tagType) : null;
 
-            if (tagClass == null) {
-                throw new IOException("Tag type with ID " + tagType + " not present in tag type registry.");
-            }
+        if (primitives != null) {
+            primitives.read(input, length);
 
-            try {
-                next = (T) registry.instantiate(tagClass);
-            } catch (TagTypeRegistryException e) {
-                throw new IOException(e);
-            }
+            this.type = tagType;
+            this.value = (List<T>) primitives;
 
+            return this;
+        }
+
+        List<T> tags = new ArrayList<>();
+
+        Supplier<? extends Tag> factory = registry.getFactoryFromId(tagType);
+
+        if (factory == null && length > 0) {
+            throw new IOException("Tag type with ID " + tagType + " not present in tag type registry.");
+        }
+
+        T next;
+        for (int i = 0; i < length; i++) {
+            next = (T) factory.get();
             next.read(input, depth + 1, registry);
             next.setName(null);
 
@@ -153,33 +243,67 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
         return this;
     }
 
+    /**
+     * Returns the elements of this list tag for reading, without making a primitive list create a tag object for each of its elements.
+     */
+    private Iterable<T> elements() {
+        return this.value instanceof PrimitiveTagList ? (Iterable<T>) ((PrimitiveTagList<?>) this.value).peekAll() : this.value;
+    }
+
+    @Override
+    public long serializedSize(int depth, TagTypeRegistry registry) throws IOException {
+        if (depth > 512) {
+            throw new IOException("NBT structure too complex (depth > 512).");
+        }
+
+        if (this.value instanceof PrimitiveTagList) {
+            return 5 + ((PrimitiveTagList<?>) this.value).payloadSize();
+        }
+
+        long size = 5;
+
+        for (T tag : this.value) {
+            size += tag.serializedSize(depth + 1, registry);
+        }
+
+        return size;
+    }
+
     @Override
     public String toSnbt(int depth, TagTypeRegistry registry, SnbtConfig config) {
-        StringBuilder sb = new StringBuilder("[");
+        return StringUtils.toSnbt(this, depth, registry, config);
+    }
+
+    @Override
+    public void writeSnbt(Appendable out, int depth, TagTypeRegistry registry, SnbtConfig config) throws IOException {
+        out.append('[');
 
         if (config.isPrettyPrint()) {
-            sb.append('\n').append(StringUtils.multiplyIndent(depth + 1, config));
+            out.append('\n');
+            StringUtils.writeIndent(out, depth + 1, config);
         }
 
-        for (int i = 0; i < this.value.size(); ++i) {
-            if (i != 0) {
+        boolean first = true;
+        for (T tag : this.elements()) {
+            if (!first) {
                 if (config.isPrettyPrint()) {
-                    sb.append(",\n").append(StringUtils.multiplyIndent(depth + 1, config));
+                    out.append(",\n");
+                    StringUtils.writeIndent(out, depth + 1, config);
                 } else {
-                    sb.append(',');
+                    out.append(',');
                 }
             }
 
-            sb.append(((SnbtSerializable) this.value.get(i)).toSnbt(depth + 1, registry, config));
+            ((SnbtSerializable) tag).writeSnbt(out, depth + 1, registry, config);
+            first = false;
         }
 
         if (config.isPrettyPrint()) {
-            sb.append("\n").append(StringUtils.multiplyIndent(depth , config)).append(']');
-        } else {
-            sb.append(']');
+            out.append('\n');
+            StringUtils.writeIndent(out, depth, config);
         }
 
-        return sb.toString();
+        out.append(']');
     }
 
     @Override
@@ -198,9 +322,15 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
             json.addProperty("name", this.getName());
         }
 
-        for (T tag : this) {
-            tag.setName(null);
-            value.add(((JsonSerializable) tag).toJson(depth + 1, registry));
+        for (T tag : this.elements()) {
+            if (!tag.isFrozen()) {
+                tag.setName(null);
+            }
+
+            JsonObject element = ((JsonSerializable) tag).toJson(depth + 1, registry);
+            element.remove("name");
+
+            value.add(element);
         }
 
         json.add("value", value);
@@ -210,6 +340,8 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
 
     @Override
     public ListTag<T> fromJson(JsonObject json, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         if (depth > 512) {
             throw new IOException("NBT structure too complex (depth > 512).");
         }
@@ -223,21 +355,17 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
         }
 
         byte listType = json.get("listType").getAsByte();
-        List<T> tags = new LinkedList<>();
+        List<T> tags = new ArrayList<>();
+
+        Supplier<? extends Tag> factory = registry.getFactoryFromId(listType);
 
         T nextTag;
         for (JsonElement element : json.getAsJsonArray("value")) {
-            Class<? extends Tag> tagClass = registry.getClassFromId(listType);
-
-            if (tagClass == null) {
+            if (factory == null) {
                 throw new IOException("Tag type with ID " + listType + " not present in tag type registry.");
             }
 
-            try {
-                nextTag = (T) registry.instantiate(tagClass);
-            } catch (TagTypeRegistryException e) {
-                throw new IOException(e);
-            }
+            nextTag = (T) factory.get();
 
             ((JsonSerializable) nextTag).fromJson((JsonObject) element, depth + 1, registry);
             tags.add(nextTag);
@@ -279,8 +407,10 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
      * @return true if added successfully.
      */
     public boolean add(@NonNull T tag) {
+        this.checkMutable();
+
         if (this.value.isEmpty()) {
-            this.type = tag.getTypeId();
+            this.retype(tag.getTypeId());
         }
 
         if (tag.getTypeId() != this.type) {
@@ -298,8 +428,10 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
      * @param tag tag to be inserted.
      */
     public void insert(int index, @NonNull T tag) {
+        this.checkMutable();
+
         if (this.value.isEmpty()) {
-            this.type = tag.getTypeId();
+            this.retype(tag.getTypeId());
         }
 
         if (tag.getTypeId() != this.type) {
@@ -309,6 +441,17 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
         this.value.add(index, tag);
     }
 
+    /**
+     * Sets the type of this empty list tag, first replacing its {@code List<>} value if it is a primitive list of another type.
+     */
+    private void retype(byte type) {
+        if (this.value instanceof PrimitiveTagList && ((PrimitiveTagList<?>) this.value).getElementType() != type) {
+            this.value = new ArrayList<>();
+        }
+
+        this.type = type;
+    }
+
     /**
      * Removes a given tag from the list. Returns true if removed successfully, false otherwise.
      *
@@ -316,6 +459,8 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
      * @return true if the tag was removed successfully, false otherwise.
      */
     public boolean remove(@NonNull T tag) {
+        this.checkMutable();
+
         boolean success = this.value.remove(tag);
 
         if (this.value.isEmpty()) {
@@ -332,6 +477,8 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
      * @return the removed tag.
      */
     public T remove(int index) {
+        this.checkMutable();
+
         T previous = this.value.remove(index);
 
         if (this.value.isEmpty()) {
@@ -375,23 +522,25 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
      * Removes all tags from the list. The list will be empty after this call returns.
      */
     public void clear() {
+        this.checkMutable();
+
         this.type = 0;
         this.value.clear();
     }
 
     @Override
     public Iterator<T> iterator() {
-        return this.value.iterator();
+        return this.getValue().iterator();
     }
 
     @Override
     public void forEach(Consumer<? super T> action) {
-        this.value.forEach(action);
+        this.getValue().forEach(action);
     }
 
     @Override
     public Spliterator<T> spliterator() {
-        return this.value.spliterator();
+        return this.getValue().spliterator();
     }
 
     @Override
@@ -407,11 +556,27 @@ public class ListTag<T extends Tag> extends Tag implements SnbtSerializable, Jso
         ListTag<?> listTag = (ListTag<?>) o;
 
         if (type != listTag.type) return false;
+        if (this.isFrozen() && listTag.isFrozen() && this.hashCode() != listTag.hashCode()) return false;
         return Objects.equals(value, listTag.value);
     }
 
     @Override
     public int hashCode() {
+        if (!this.isFrozen()) {
+            return this.computeHashCode();
+        }
+
+        int hash = this.hash;
+
+        if (hash == 0) {
+            hash = this.computeHashCode();
+            this.hash = hash;
+        }
+
+        return hash;
+    }
+
+    private int computeHashCode() {
         int result = value != null ? value.hashCode() : 0;
         result = 31 * result + (int) type;
         return result;
@@ -0,0 +1,215 @@
+package dev.dewy.nbt.tags.collection;
+
+import dev.dewy.nbt.io.ByteBufferInput;
+import dev.dewy.nbt.io.ByteBufferOutput;
+import dev.dewy.nbt.tags.TagType;
+import dev.dewy.nbt.tags.primitive.LongTag;
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A {@code List<>} of {@link LongTag}s backed by a primitive {@code long} array, used as the value of a {@link ListTag} holding long tags.
+ *
+ * @author dewy
+ */
+public class LongTagList extends PrimitiveTagList<LongTag> {
+    private long[] values;
+
+    /**
+     * Constructs an empty list.
+     */
+    public LongTagList() {
+        this.values = new long[0];
+    }
+
+    /**
+     * Constructs a list holding a copy of the given values.
+     *
+     * @param values the list's values.
+     */
+    public LongTagList(@NonNull long... values) {
+        this.values = values.clone();
+        this.size = values.length;
+    }
+
+    @Override
+    public byte getElementType() {
+        return TagType.LONG.getId();
+    }
+
+    @Override
+    LongTagList copy() {
+        LongTagList copy = new LongTagList();
+        copy.values = this.toLongArray();
+        copy.size = copy.values.length;
+
+        return copy;
+    }
+
+    @Override
+    LongTag element(int index) {
+        return new LongTag(this.values[index]);
+    }
+
+    @Override
+    void release() {
+        this.values = new long[0];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the value at the specified index in this list.
+     *
+     * @param index the index of the value to be retrieved.
+     * @return the value at the specified index.
+     */
+    public long getLong(int index) {
+        if (this.tags != null) {
+            return this.tags.get(index).getValue();
+        }
+
+        this.checkIndex(index);
+
+        return this.values[index];
+    }
+
+    /**
+     * Replaces the value at the specified index in this list.
+     *
+     * @param index the index of the value to be replaced.
+     * @param value the new value.
+     * @return the previous value at the specified index.
+     */
+    public long setLong(int index, long value) {
+        if (this.tags != null) {
+            LongTag tag = this.tags.get(index);
+            long previous = tag.getValue();
+            tag.setValue(value);
+
+            return previous;
+        }
+
+        this.checkIndex(index);
+
+        long previous = this.values[index];
+        this.values[index] = value;
+
+        return previous;
+    }
+
+    /**
+     * Appends a value to the end of this list.
+     *
+     * @param value the value to be added.
+     */
+    public void addLong(long value) {
+        if (this.tags != null) {
+            this.tags.add(new LongTag(value));
+            this.modCount++;
+            return;
+        }
+
+        if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, grow(this.size));
+        }
+
+        this.values[this.size++] = value;
+        this.modCount++;
+    }
+
+    /**
+     * Returns a copy of the values in this list.
+     *
+     * @return a copy of the values in this list.
+     */
+    public long[] toLongArray() {
+        if (this.tags != null) {
+            long[] values = new long[this.tags.size()];
+
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.tags.get(i).getValue();
+            }
+
+            return values;
+        }
+
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    @Override
+    public LongTag remove(int index) {
+        if (this.tags != null) {
+            this.modCount++;
+
+            return this.tags.remove(index);
+        }
+
+        long previous = this.getLong(index);
+
+        System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+
+        this.size--;
+        this.modCount++;
+
+        return new LongTag(previous);
+    }
+
+    @Override
+    public void clear() {
+        this.tags = null;
+        this.values = new long[0];
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    int width() {
+        return 8;
+    }
+
+    @Override
+    void read(DataInput input, int length) throws IOException {
+        long[] values = new long[initialCapacity(input, length, 8)];
+
+        if (input instanceof ByteBufferInput) {
+            ((ByteBufferInput) input).readLongs(values);
+        } else {
+            for (int i = 0; i < length; i++) {
+                if (i == values.length) {
+                    values = Arrays.copyOf(values, grownCapacity(i, length));
+                }
+
+                values[i] = input.readLong();
+            }
+        }
+
+        this.values = values;
+        this.size = values.length;
+        this.tags = null;
+        this.modCount++;
+    }
+
+    @Override
+    void write(DataOutput output) throws IOException {
+        if (this.tags != null) {
+            for (LongTag tag : this.tags) {
+                output.writeLong(tag.getValue());
+            }
+
+            return;
+        }
+
+        if (output instanceof ByteBufferOutput) {
+            ((ByteBufferOutput) output).writeLongs(this.values, 0, this.size);
+            return;
+        }
+
+        for (int i = 0; i < this.size; i++) {
+            output.writeLong(this.values[i]);
+        }
+    }
+}
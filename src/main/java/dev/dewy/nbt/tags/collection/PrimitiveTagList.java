@@ -0,0 +1,315 @@
+package dev.dewy.nbt.tags.collection;
+
+import dev.dewy.nbt.io.ByteBufferInput;
+import dev.dewy.nbt.tags.primitive.NumericalTag;
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An abstract superclass of the {@code List<>} values of {@link ListTag}s holding numeric tags, which store their elements
+ * in a primitive array rather than as one tag object per element. {@link ListTag#read} picks the matching implementation
+ * automatically for lists of byte, short, int, long, float and double tags.
+ *
+ * <p>Tag objects are only created for the elements once they are needed: {@link #get(int)}, the list's iterators and adding or setting
+ * a tag all first turn the stored values into tags, which the list then holds as an {@code ArrayList<>} would, so that modifying a tag
+ * obtained from the list modifies the list. The primitive accessors of each implementation read and write the values without creating any tags.</p>
+ *
+ * @param <T> the type of numeric tag this list holds.
+ * @author dewy
+ */
+public abstract class PrimitiveTagList<T extends NumericalTag<?>> extends AbstractList<T> implements RandomAccess {
+    private static final int READ_CHUNK = 8192;
+
+    int size;
+
+    // the elements of this list as tag objects once they have been created (see #tags()), from which point the stored values are unused
+    List<T> tags;
+
+    // true once the list tag holding this list is frozen (see #freeze())
+    boolean frozen;
+
+    PrimitiveTagList() {
+    }
+
+    /**
+     * Returns a new, empty primitive list for the given tag type ID, or {@code null} if the type is not numeric.
+     *
+     * @param type the tag type ID of the list's elements.
+     * @return a new, empty primitive list, or {@code null} if the type is not numeric.
+     */
+    public static PrimitiveTagList<?> create(byte type) {
+        switch (type) {
+            case 1:
+                return new ByteTagList();
+            case 2:
+                return new ShortTagList();
+            case 3:
+                return new IntTagList();
+            case 4:
+                return new LongTagList();
+            case 5:
+                return new FloatTagList();
+            case 6:
+                return new DoubleTagList();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the ID of the NBT tag type this list holds.
+     *
+     * @return the ID of the NBT tag type this list holds.
+     */
+    public abstract byte getElementType();
+
+    /**
+     * Returns a new tag holding the stored value at the specified index, which must be in range.
+     */
+    abstract T element(int index);
+
+    /**
+     * Releases the stored values of this list, once its elements are held as tag objects.
+     */
+    abstract void release();
+
+    /**
+     * Returns the elements of this list as tag objects, first creating them from the stored values if they are not held as tags yet.
+     *
+     * @return the elements of this list as tag objects.
+     */
+    List<T> tags() {
+        if (this.tags == null) {
+            List<T> tags = new ArrayList<>(this.size);
+
+            for (int i = 0; i < this.size; i++) {
+                tags.add(this.element(i));
+            }
+
+            this.release();
+            this.tags = tags;
+        }
+
+        return this.tags;
+    }
+
+    /**
+     * Returns the element at the specified index for reading, without creating tag objects for the rest of the list.
+     * Unless the list already holds its elements as tags, the returned tag is a copy of the stored value.
+     *
+     * @param index the index of the element.
+     * @return the element at the specified index.
+     */
+    T peek(int index) {
+        if (this.tags != null) {
+            return this.tags.get(index);
+        }
+
+        this.checkIndex(index);
+
+        return this.element(index);
+    }
+
+    /**
+     * Makes this list read-only for {@link ListTag#freeze()}, freezing the tags it holds. As a frozen list tag may be shared across threads,
+     * {@link #get(int)} then returns frozen copies of the stored values instead of turning them into tag objects held by the list.
+     */
+    void freeze() {
+        if (this.tags != null) {
+            for (T tag : this.tags) {
+                tag.freeze();
+            }
+        }
+
+        this.frozen = true;
+    }
+
+    /**
+     * Returns the elements of this list for reading, as {@link #peek(int)} does.
+     *
+     * @return the elements of this list.
+     */
+    Iterable<T> peekAll() {
+        return () -> new Iterator<T>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < PrimitiveTagList.this.size();
+            }
+
+            @Override
+            public T next() {
+                return PrimitiveTagList.this.peek(this.index++);
+            }
+        };
+    }
+
+    /**
+     * Returns a new list holding a copy of this list's values.
+     *
+     * @return a copy of this list.
+     */
+    abstract PrimitiveTagList<T> copy();
+
+    /**
+     * Replaces the contents of this list with {@code length} payloads read from the given stream, or empties it if {@code length} is negative.
+     *
+     * @param input the stream to read from.
+     * @param length the number of elements to read, as given by the untrusted length prefix.
+     * @throws IOException if any I/O error occurs.
+     */
+    abstract void read(DataInput input, int length) throws IOException;
+
+    /**
+     * Writes the payloads of all elements in this list to the given stream.
+     *
+     * @param output the stream to write to.
+     * @throws IOException if any I/O error occurs.
+     */
+    abstract void write(DataOutput output) throws IOException;
+
+    /**
+     * Returns the number of bytes {@link #write(DataOutput)} writes.
+     *
+     * @return the serialized size of this list's payloads, in bytes.
+     */
+    long payloadSize() {
+        return (long) this.size() * this.width();
+    }
+
+    /**
+     * Returns the encoded width in bytes of one element of this list.
+     */
+    abstract int width();
+
+    /**
+     * Returns the capacity to allocate before reading {@code length} elements of the given width. As the length comes from the data itself,
+     * a {@link ByteBufferInput} is first checked to hold that many elements, and other streams start with at most {@link #READ_CHUNK}
+     * elements, growing through {@link #grownCapacity(int, int)} as they are read, so that a corrupt length cannot allocate more than
+     * about twice the data actually present.
+     *
+     * @throws EOFException if a {@link ByteBufferInput} holds fewer than {@code length} elements.
+     */
+    static int initialCapacity(DataInput input, int length, int width) throws EOFException {
+        if (length <= 0) {
+            return 0;
+        }
+
+        if (input instanceof ByteBufferInput) {
+            if ((long) length * width > ((ByteBufferInput) input).remaining()) {
+                throw new EOFException();
+            }
+
+            return length;
+        }
+
+        return Math.min(length, READ_CHUNK);
+    }
+
+    /**
+     * Returns the capacity to grow to once {@code capacity} of {@code length} elements have been read.
+     */
+    static int grownCapacity(int capacity, int length) {
+        return (int) Math.min(length, (long) capacity * 2);
+    }
+
+    @Override
+    public int size() {
+        return this.tags != null ? this.tags.size() : this.size;
+    }
+
+    @Override
+    public T get(int index) {
+        if (this.frozen) {
+            T tag = this.peek(index);
+            tag.freeze();
+
+            return tag;
+        }
+
+        return this.tags().get(index);
+    }
+
+    @Override
+    public T set(int index, @NonNull T tag) {
+        this.checkMutable();
+
+        return this.tags().set(index, tag);
+    }
+
+    @Override
+    public void add(int index, @NonNull T tag) {
+        this.checkMutable();
+
+        this.tags().add(index, tag);
+        this.modCount++;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < this.size(); i++) {
+            if (this.peek(i).equals(o)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof List)) return false;
+
+        List<?> that = (List<?>) o;
+
+        if (this.size() != that.size()) return false;
+
+        Iterator<?> iterator = that instanceof PrimitiveTagList ? ((PrimitiveTagList<?>) that).peekAll().iterator() : that.iterator();
+
+        for (T tag : this.peekAll()) {
+            if (!tag.equals(iterator.next())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+
+        for (T tag : this.peekAll()) {
+            hash = 31 * hash + tag.hashCode();
+        }
+
+        return hash;
+    }
+
+    void checkMutable() {
+        if (this.frozen) {
+            throw new UnsupportedOperationException("Tag is frozen.");
+        }
+    }
+
+    void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+
+    static int grow(int capacity) {
+        return Math.max(8, capacity + (capacity >> 1));
+    }
+}
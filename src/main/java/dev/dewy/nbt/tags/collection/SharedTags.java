@@ -0,0 +1,66 @@
+package dev.dewy.nbt.tags.collection;
+
+import dev.dewy.nbt.api.Tag;
+import dev.dewy.nbt.tags.array.ByteArrayTag;
+import dev.dewy.nbt.tags.array.IntArrayTag;
+import dev.dewy.nbt.tags.array.LongArrayTag;
+import dev.dewy.nbt.tags.primitive.*;
+
+/**
+ * Helpers for taking snapshots of the tag trees held by {@link CompoundTag}s and {@link ListTag}s.
+ *
+ * @author dewy
+ */
+final class SharedTags {
+    private SharedTags() {
+    }
+
+    /**
+     * Returns the tag to hold in place of a child of a container being snapshotted. Compounds and lists are snapshotted in turn,
+     * while other standard tags are copied outright, since they can be modified in place. Frozen tags need no copying, and tags
+     * of custom types cannot be copied, so both are shared with the snapshot as they are.
+     *
+     * @param tag the child tag.
+     * @return the tag to hold in the snapshot.
+     */
+    static Tag snapshot(Tag tag) {
+        if (tag.isFrozen()) {
+            return tag;
+        }
+
+        if (tag instanceof CompoundTag) {
+            return ((CompoundTag) tag).snapshot();
+        }
+
+        if (tag instanceof ListTag) {
+            return ((ListTag<?>) tag).snapshot();
+        }
+
+        String name = tag.getName();
+
+        switch (tag.getTypeId()) {
+            case 1:
+                return tag.getClass() == ByteTag.class ? new ByteTag(name, ((ByteTag) tag).getValue()) : tag;
+            case 2:
+                return tag.getClass() == ShortTag.class ? new ShortTag(name, ((ShortTag) tag).getValue()) : tag;
+            case 3:
+                return tag.getClass() == IntTag.class ? new IntTag(name, ((IntTag) tag).getValue()) : tag;
+            case 4:
+                return tag.getClass() == LongTag.class ? new LongTag(name, ((LongTag) tag).getValue()) : tag;
+            case 5:
+                return tag.getClass() == FloatTag.class ? new FloatTag(name, ((FloatTag) tag).getValue()) : tag;
+            case 6:
+                return tag.getClass() == DoubleTag.class ? new DoubleTag(name, ((DoubleTag) tag).getValue()) : tag;
+            case 7:
+                return tag.getClass() == ByteArrayTag.class ? new ByteArrayTag(name, ((ByteArrayTag) tag).getValue().clone()) : tag;
+            case 8:
+                return tag.getClass() == StringTag.class ? new StringTag(name, ((StringTag) tag).getValue()) : tag;
+            case 11:
+                return tag.getClass() == IntArrayTag.class ? new IntArrayTag(name, ((IntArrayTag) tag).getValue().clone()) : tag;
+            case 12:
+                return tag.getClass() == LongArrayTag.class ? new LongArrayTag(name, ((LongArrayTag) tag).getValue().clone()) : tag;
+            default:
+                return tag;
+        }
+    }
+}
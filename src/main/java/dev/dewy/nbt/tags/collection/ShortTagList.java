@@ -0,0 +1,204 @@
+package dev.dewy.nbt.tags.collection;
+
+import dev.dewy.nbt.tags.TagType;
+import dev.dewy.nbt.tags.primitive.ShortTag;
+import lombok.NonNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A {@code List<>} of {@link ShortTag}s backed by a primitive {@code short} array, used as the value of a {@link ListTag} holding short tags.
+ *
+ * @author dewy
+ */
+public class ShortTagList extends PrimitiveTagList<ShortTag> {
+    private short[] values;
+
+    /**
+     * Constructs an empty list.
+     */
+    public ShortTagList() {
+        this.values = new short[0];
+    }
+
+    /**
+     * Constructs a list holding a copy of the given values.
+     *
+     * @param values the list's values.
+     */
+    public ShortTagList(@NonNull short... values) {
+        this.values = values.clone();
+        this.size = values.length;
+    }
+
+    @Override
+    public byte getElementType() {
+        return TagType.SHORT.getId();
+    }
+
+    @Override
+    ShortTagList copy() {
+        ShortTagList copy = new ShortTagList();
+        copy.values = this.toShortArray();
+        copy.size = copy.values.length;
+
+        return copy;
+    }
+
+    @Override
+    ShortTag element(int index) {
+        return new ShortTag(this.values[index]);
+    }
+
+    @Override
+    void release() {
+        this.values = new short[0];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the value at the specified index in this list.
+     *
+     * @param index the index of the value to be retrieved.
+     * @return the value at the specified index.
+     */
+    public short getShort(int index) {
+        if (this.tags != null) {
+            return this.tags.get(index).getValue();
+        }
+
+        this.checkIndex(index);
+
+        return this.values[index];
+    }
+
+    /**
+     * Replaces the value at the specified index in this list.
+     *
+     * @param index the index of the value to be replaced.
+     * @param value the new value.
+     * @return the previous value at the specified index.
+     */
+    public short setShort(int index, short value) {
+        if (this.tags != null) {
+            ShortTag tag = this.tags.get(index);
+            short previous = tag.getValue();
+            tag.setValue(value);
+
+            return previous;
+        }
+
+        this.checkIndex(index);
+
+        short previous = this.values[index];
+        this.values[index] = value;
+
+        return previous;
+    }
+
+    /**
+     * Appends a value to the end of this list.
+     *
+     * @param value the value to be added.
+     */
+    public void addShort(short value) {
+        if (this.tags != null) {
+            this.tags.add(new ShortTag(value));
+            this.modCount++;
+            return;
+        }
+
+        if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, grow(this.size));
+        }
+
+        this.values[this.size++] = value;
+        this.modCount++;
+    }
+
+    /**
+     * Returns a copy of the values in this list.
+     *
+     * @return a copy of the values in this list.
+     */
+    public short[] toShortArray() {
+        if (this.tags != null) {
+            short[] values = new short[this.tags.size()];
+
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.tags.get(i).getValue();
+            }
+
+            return values;
+        }
+
+        return Arrays.copyOf(this.values, this.size);
+    }
+
+    @Override
+    public ShortTag remove(int index) {
+        if (this.tags != null) {
+            this.modCount++;
+
+            return this.tags.remove(index);
+        }
+
+        short previous = this.getShort(index);
+
+        System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+
+        this.size--;
+        this.modCount++;
+
+        return new ShortTag(previous);
+    }
+
+    @Override
+    public void clear() {
+        this.tags = null;
+        this.values = new short[0];
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @Override
+    int width() {
+        return 2;
+    }
+
+    @Override
+    void read(DataInput input, int length) throws IOException {
+        short[] values = new short[initialCapacity(input, length, 2)];
+
+        for (int i = 0; i < length; i++) {
+            if (i == values.length) {
+                values = Arrays.copyOf(values, grownCapacity(i, length));
+            }
+
+            values[i] = input.readShort();
+        }
+
+        this.values = values;
+        this.size = values.length;
+        this.tags = null;
+        this.modCount++;
+    }
+
+    @Override
+    void write(DataOutput output) throws IOException {
+        if (this.tags != null) {
+            for (ShortTag tag : this.tags) {
+                output.writeShort(tag.getValue());
+            }
+
+            return;
+        }
+
+        for (int i = 0; i < this.size; i++) {
+            output.writeShort(this.values[i]);
+        }
+    }
+}
@@ -68,6 +68,8 @@ public class ByteTag extends NumericalTag<Byte> {
      * @param value new {@code byte} value to be set.
      */
     public void setValue(byte value) {
+        this.checkMutable();
+
         this.value = value;
     }
 
@@ -78,11 +80,18 @@ public class ByteTag extends NumericalTag<Byte> {
 
     @Override
     public ByteTag read(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         this.value = input.readByte();
 
         return this;
     }
 
+    @Override
+    public long serializedSize(int depth, TagTypeRegistry registry) {
+        return 1;
+    }
+
     @Override
     public String toSnbt(int depth, TagTypeRegistry registry, SnbtConfig config) {
         return this.value + "b";
@@ -104,6 +113,8 @@ public class ByteTag extends NumericalTag<Byte> {
 
     @Override
     public ByteTag fromJson(JsonObject json, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         if (json.has("name")) {
             this.setName(json.getAsJsonPrimitive("name").getAsString());
         } else {
@@ -48,6 +48,8 @@ public class DoubleTag extends NumericalTag<Double> {
      * @param value new {@code double} value to be set.
      */
     public void setValue(double value) {
+        this.checkMutable();
+
         this.value = value;
     }
 
@@ -58,11 +60,18 @@ public class DoubleTag extends NumericalTag<Double> {
 
     @Override
     public DoubleTag read(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         this.value = input.readDouble();
 
         return this;
     }
 
+    @Override
+    public long serializedSize(int depth, TagTypeRegistry registry) {
+        return 8;
+    }
+
     @Override
     public String toSnbt(int depth, TagTypeRegistry registry, SnbtConfig config) {
         return this.value + "d";
@@ -84,6 +93,8 @@ public class DoubleTag extends NumericalTag<Double> {
 
     @Override
     public DoubleTag fromJson(JsonObject json, int depth, TagTypeRegistry registry) {
+        this.checkMutable();
+
         if (json.has("name")) {
             this.setName(json.getAsJsonPrimitive("name").getAsString());
         } else {
@@ -48,6 +48,8 @@ public class FloatTag extends NumericalTag<Float> {
      * @param value new {@code float} value to be set.
      */
     public void setValue(float value) {
+        this.checkMutable();
+
         this.value = value;
     }
 
@@ -58,11 +60,18 @@ public class FloatTag extends NumericalTag<Float> {
 
     @Override
     public FloatTag read(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         this.value = input.readFloat();
 
         return this;
     }
 
+    @Override
+    public long serializedSize(int depth, TagTypeRegistry registry) {
+        return 4;
+    }
+
     @Override
     public String toSnbt(int depth, TagTypeRegistry registry, SnbtConfig config) {
         return this.value + "f";
@@ -84,6 +93,8 @@ public class FloatTag extends NumericalTag<Float> {
 
     @Override
     public FloatTag fromJson(JsonObject json, int depth, TagTypeRegistry registry) {
+        this.checkMutable();
+
         if (json.has("name")) {
             this.setName(json.getAsJsonPrimitive("name").getAsString());
         } else {
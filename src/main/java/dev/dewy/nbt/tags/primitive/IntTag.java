@@ -48,6 +48,8 @@ public class IntTag extends NumericalTag<Integer> {
      * @param value new {@code int} value to be set.
      */
     public void setValue(int value) {
+        this.checkMutable();
+
         this.value = value;
     }
 
@@ -58,11 +60,18 @@ public class IntTag extends NumericalTag<Integer> {
 
     @Override
     public IntTag read(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         this.value = input.readInt();
 
         return this;
     }
 
+    @Override
+    public long serializedSize(int depth, TagTypeRegistry registry) {
+        return 4;
+    }
+
     @Override
     public String toSnbt(int depth, TagTypeRegistry registry, SnbtConfig config) {
         return Integer.toString(this.value);
@@ -84,6 +93,8 @@ public class IntTag extends NumericalTag<Integer> {
 
     @Override
     public IntTag fromJson(JsonObject json, int depth, TagTypeRegistry registry) {
+        this.checkMutable();
+
         if (json.has("name")) {
             this.setName(json.getAsJsonPrimitive("name").getAsString());
         } else {
@@ -48,6 +48,8 @@ public class LongTag extends NumericalTag<Long> {
      * @param value new {@code long} value to be set.
      */
     public void setValue(long value) {
+        this.checkMutable();
+
         this.value = value;
     }
 
@@ -58,11 +60,18 @@ public class LongTag extends NumericalTag<Long> {
 
     @Override
     public LongTag read(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         this.value = input.readLong();
 
         return this;
     }
 
+    @Override
+    public long serializedSize(int depth, TagTypeRegistry registry) {
+        return 8;
+    }
+
     @Override
     public String toSnbt(int depth, TagTypeRegistry registry, SnbtConfig config) {
         return this.value + "L";
@@ -84,6 +93,8 @@ public class LongTag extends NumericalTag<Long> {
 
     @Override
     public LongTag fromJson(JsonObject json, int depth, TagTypeRegistry registry) {
+        this.checkMutable();
+
         if (json.has("name")) {
             this.setName(json.getAsJsonPrimitive("name").getAsString());
         } else {
@@ -68,6 +68,8 @@ public class ShortTag extends NumericalTag<Short> {
      * @param value new {@code short} value to be set.
      */
     public void setValue(short value) {
+        this.checkMutable();
+
         this.value = value;
     }
 
@@ -78,11 +80,18 @@ public class ShortTag extends NumericalTag<Short> {
 
     @Override
     public ShortTag read(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
+        this.checkMutable();
+
         this.value = input.readShort();
 
         return this;
     }
 
+    @Override
+    public long serializedSize(int depth, TagTypeRegistry registry) {
+        return 2;
+    }
+
     @Override
     public String toSnbt(int depth, TagTypeRegistry registry, SnbtConfig config) {
         return this.value + "s";
@@ -104,6 +113,8 @@ public class ShortTag extends NumericalTag<Short> {
 
     @Override
     public ShortTag fromJson(JsonObject json, int depth, TagTypeRegistry registry) {
+        this.checkMutable();
+
         if (json.has("name")) {
             this.setName(json.getAsJsonPrimitive("name").getAsString());
         } else {
@@ -6,6 +6,7 @@ import dev.dewy.nbt.api.json.JsonSerializable;
 import dev.dewy.nbt.api.registry.TagTypeRegistry;
 import dev.dewy.nbt.api.snbt.SnbtConfig;
 import dev.dewy.nbt.api.snbt.SnbtSerializable;
+import dev.dewy.nbt.io.ModifiedUtf8;
 import dev.dewy.nbt.tags.TagType;
 import dev.dewy.nbt.utils.StringUtils;
 import lombok.AllArgsConstructor;
@@ -54,26 +55,40 @@ public class StringTag extends Tag implements SnbtSerializable, JsonSerializable
      * @param value new {@code String} value to be set.
      */
     public void setValue(@NonNull String value) {
+        this.checkMutable();
+
         this.value = value;
     }
 
     @Override
     public void write(DataOutput output, int depth, TagTypeRegistry registry) throws IOException {
-        output.writeUTF(this.value);
+        ModifiedUtf8.write(this.value, output);
     }
 
     @Override
     public StringTag read(DataInput input, int depth, TagTypeRegistry registry) throws IOException {
-        this.value = input.readUTF();
+        this.checkMutable();
+
+        this.value = ModifiedUtf8.read(input);
 
         return this;
     }
 
+    @Override
+    public long serializedSize(int depth, TagTypeRegistry registry) {
+        return 2 + ModifiedUtf8.encodedLength(this.value);
+    }
+
     @Override
     public String toSnbt(int depth, TagTypeRegistry registry, SnbtConfig config) {
         return StringUtils.escapeSnbt(this.value);
     }
 
+    @Override
+    public void writeSnbt(Appendable out, int depth, TagTypeRegistry registry, SnbtConfig config) throws IOException {
+        StringUtils.writeSnbtString(out, this.value);
+    }
+
     @Override
     public JsonObject toJson(int depth, TagTypeRegistry registry) {
         JsonObject json = new JsonObject();
@@ -90,6 +105,8 @@ public class StringTag extends Tag implements SnbtSerializable, JsonSerializable
 
     @Override
     public StringTag fromJson(JsonObject json, int depth, TagTypeRegistry registry) {
+        this.checkMutable();
+
         if (json.has("name")) {
             this.setName(json.getAsJsonPrimitive("name").getAsString());
         } else {
@@ -0,0 +1,50 @@
+package dev.dewy.nbt.utils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExecutorUtils {
+    private static volatile Executor defaultExecutor;
+
+    /**
+     * Returns the executor used for asynchronous reads and writes by default: one virtual thread per task where the JVM supports them (Java 21+),
+     * otherwise a cached pool of daemon platform threads. Either way, blocking I/O never occupies a {@code ForkJoinPool} worker.
+     *
+     * @return the default executor for asynchronous reads and writes.
+     */
+    public static Executor defaultExecutor() {
+        Executor executor = defaultExecutor;
+
+        if (executor == null) {
+            synchronized (ExecutorUtils.class) {
+                executor = defaultExecutor;
+
+                if (executor == null) {
+                    executor = defaultExecutor = createDefaultExecutor();
+                }
+            }
+        }
+
+        return executor;
+    }
+
+    private static Executor createDefaultExecutor() {
+        try {
+            // looked up reflectively so as to still compile against, and run on, Java 8
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger count = new AtomicInteger();
+            ThreadFactory factory = runnable -> {
+                Thread thread = new Thread(runnable, "nbt-io-" + count.incrementAndGet());
+                thread.setDaemon(true);
+
+                return thread;
+            };
+
+            return Executors.newCachedThreadPool(factory);
+        }
+    }
+}
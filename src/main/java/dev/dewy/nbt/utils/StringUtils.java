@@ -1,47 +1,98 @@
 package dev.dewy.nbt.utils;
 
+import dev.dewy.nbt.api.registry.TagTypeRegistry;
 import dev.dewy.nbt.api.snbt.SnbtConfig;
+import dev.dewy.nbt.api.snbt.SnbtSerializable;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class StringUtils {
+    private static final String SPACES = "                                                                ";
+
     public static String escapeSnbt(String str) {
-        StringBuilder sb = new StringBuilder(" ");
+        StringBuilder sb = new StringBuilder(str.length() + 2);
+
+        try {
+            writeSnbtString(sb, str);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
 
+        return sb.toString();
+    }
+
+    public static void writeSnbtString(Appendable out, String str) throws IOException {
         char quote = 0;
+        boolean plain = true;
+
         for (int i = 0; i < str.length(); ++i) {
             char current = str.charAt(i);
 
-            if (current == '\\') {
-                sb.append('\\');
-            } else if (current == '"' || current == '\'') {
+            if (current == '"' || current == '\'') {
                 if (quote == 0) {
                     quote = current == '"' ? '\'' : '"';
                 }
 
-                if (quote == current) {
-                    sb.append('\\');
-                }
+                plain &= quote != current;
+            } else if (current == '\\') {
+                plain = false;
             }
-
-            sb.append(current);
         }
 
         if (quote == 0) {
             quote = '"';
         }
 
-        sb.setCharAt(0, quote);
-        sb.append(quote);
+        out.append(quote);
 
-        return sb.toString();
+        if (plain) {
+            out.append(str);
+        } else {
+            int from = 0;
+
+            for (int i = 0; i < str.length(); ++i) {
+                char current = str.charAt(i);
+
+                if (current == '\\' || current == quote) {
+                    out.append(str, from, i).append('\\');
+                    from = i;
+                }
+            }
+
+            out.append(str, from, str.length());
+        }
+
+        out.append(quote);
     }
 
     public static String multiplyIndent(int by, SnbtConfig config) {
-        return new String(new char[by * config.getIndentSpaces()]).replace("\0", " ");
+        int length = by * config.getIndentSpaces();
+
+        return length <= SPACES.length() ? SPACES.substring(0, length) : new String(new char[length]).replace("\0", " ");
+    }
+
+    public static void writeIndent(Appendable out, int by, SnbtConfig config) throws IOException {
+        for (int length = by * config.getIndentSpaces(); length > 0; length -= SPACES.length()) {
+            out.append(SPACES, 0, Math.min(length, SPACES.length()));
+        }
+    }
+
+    public static String toSnbt(SnbtSerializable tag, int depth, TagTypeRegistry registry, SnbtConfig config) {
+        StringBuilder sb = new StringBuilder();
+
+        try {
+            tag.writeSnbt(sb, depth, registry, config);
+        } catch (IOException e) {
+            // a StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+
+        return sb.toString();
     }
 
     public static String[] getMatches(Pattern regex, String in) {
@@ -0,0 +1,99 @@
+package dev.dewy.nbt.test;
+
+import dev.dewy.nbt.Nbt;
+import dev.dewy.nbt.api.Tag;
+import dev.dewy.nbt.tags.collection.CompoundTag;
+import dev.dewy.nbt.tags.primitive.IntTag;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Checks the map behind compound tags against a {@link LinkedHashMap}, across random operations which grow and shrink
+ * compounds past the size at which the map indexes its entries. Throws on the first failed check.
+ *
+ * @author dewy
+ */
+public class CompactMapTest {
+    private static final Nbt NBT = new Nbt();
+
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(42);
+
+        for (int round = 0; round < 200; round++) {
+            CompoundTag compound = new CompoundTag();
+            Map<String, Integer> model = new LinkedHashMap<>();
+
+            // a small key space, so that puts replace and removals hit often
+            int keys = 4 + random.nextInt(28);
+
+            for (int op = 0; op < 500; op++) {
+                String key = "k" + random.nextInt(keys);
+
+                switch (random.nextInt(10)) {
+                    case 0:
+                        check(Objects.equals(removed(compound.remove(key)), model.remove(key)), "remove returns the removed value");
+                        break;
+                    case 1:
+                        check(compound.keySet().remove(key) == (model.remove(key) != null), "keySet().remove reports removal");
+                        break;
+                    case 2:
+                        removeEveryOther(compound.values().iterator());
+                        removeEveryOther(model.values().iterator());
+                        break;
+                    case 3:
+                        if (random.nextInt(20) == 0) {
+                            compound.clear();
+                            model.clear();
+                        }
+
+                        break;
+                    default:
+                        int value = random.nextInt();
+
+                        compound.putInt(key, value);
+                        model.put(key, value);
+                }
+
+                checkSame(compound, model, keys);
+            }
+
+            check(NBT.fromByteArray(NBT.toByteArray(compound)).equals(compound), "a compound round-trips");
+        }
+
+        System.out.println("CompactMapTest passed.");
+    }
+
+    private static void checkSame(CompoundTag compound, Map<String, Integer> model, int keys) {
+        check(compound.size() == model.size(), "sizes match");
+        check(new ArrayList<>(compound.keySet()).equals(new ArrayList<>(model.keySet())), "keys are kept in insertion order");
+
+        for (int i = 0; i < keys; i++) {
+            String key = "k" + i;
+            IntTag tag = compound.getInt(key);
+
+            check(compound.contains(key) == model.containsKey(key), "contains matches for " + key);
+            check(Objects.equals(tag == null ? null : tag.getValue(), model.get(key)), "get matches for " + key);
+        }
+    }
+
+    private static Integer removed(Tag tag) {
+        return tag == null ? null : ((IntTag) tag).getValue();
+    }
+
+    private static void removeEveryOther(Iterator<?> iterator) {
+        for (boolean remove = false; iterator.hasNext(); remove = !remove) {
+            iterator.next();
+
+            if (remove) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static void check(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Check failed: " + description);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package dev.dewy.nbt.test;
+
+import dev.dewy.nbt.Nbt;
+import dev.dewy.nbt.tags.collection.CompoundTag;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Checks how batch file reads handle GZIP data: concatenated members, trailing bytes and corrupt or truncated trailers.
+ * Throws on the first failed check.
+ *
+ * @author dewy
+ */
+public class GzipTest {
+    private static final File STANDARD_SAMPLE = new File("samples/sample.nbt");
+
+    private static final Nbt NBT = new Nbt();
+
+    public static void main(String[] args) throws IOException {
+        CompoundTag sample = NBT.fromFile(STANDARD_SAMPLE);
+        byte[] raw = NBT.toByteArray(sample);
+        byte[] gzipped = gzip(raw, 0, raw.length);
+
+        Path dir = Files.createTempDirectory("nbt-gzip-test");
+
+        try {
+            check(read(dir, gzipped).equals(sample), "a single member is read");
+
+            int half = raw.length / 2;
+            byte[] members = concat(gzip(raw, 0, half), gzip(raw, half, raw.length - half));
+            check(read(dir, members).equals(sample), "concatenated members are read as one stream");
+
+            check(read(dir, concat(gzipped, "junk".getBytes("US-ASCII"))).equals(sample), "bytes after the last member are ignored");
+
+            byte[] badCrc = gzipped.clone();
+            badCrc[badCrc.length - 8] ^= 1;
+            checkThrows(dir, badCrc, ZipException.class, "a CRC mismatch is detected");
+
+            byte[] badSize = gzipped.clone();
+            badSize[badSize.length - 4] ^= 1;
+            checkThrows(dir, badSize, ZipException.class, "a size mismatch is detected");
+
+            checkThrows(dir, Arrays.copyOf(gzipped, gzipped.length - 3), EOFException.class, "a truncated trailer is detected");
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+
+            Files.delete(dir);
+        }
+
+        System.out.println("GzipTest passed.");
+    }
+
+    private static CompoundTag read(Path dir, byte[] contents) throws IOException {
+        Path file = Files.createTempFile(dir, "sample", ".nbt");
+        Files.write(file, contents);
+
+        return NBT.fromFiles(Collections.singletonList(file), 1).get(file);
+    }
+
+    private static void checkThrows(Path dir, byte[] contents, Class<? extends IOException> expected, String description) {
+        try {
+            read(dir, contents);
+        } catch (IOException e) {
+            check(expected.isInstance(e), description + " (threw " + e + ")");
+
+            return;
+        }
+
+        throw new IllegalStateException("Check failed: " + description);
+    }
+
+    private static byte[] gzip(byte[] data, int offset, int length) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data, offset, length);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] both = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, both, first.length, second.length);
+
+        return both;
+    }
+
+    private static void check(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Check failed: " + description);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package dev.dewy.nbt.test;
+
+import dev.dewy.nbt.io.ModifiedUtf8;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * Checks the library's modified UTF-8 coder against {@link DataOutputStream#writeUTF(String)} and
+ * {@link DataInputStream#readUTF()}, including strings outside ASCII and malformed input. Throws on the first failed check.
+ *
+ * @author dewy
+ */
+public class ModifiedUtf8Test {
+    private static final String[] STRINGS = {
+            "",
+            "plain ascii",
+            "nul \u0000 inside",
+            "caf\u00e9 \u00fcber \u00df",
+            "\u65e5\u672c\u8a9e \u4e2d\u6587",
+            "emoji \ud83d\ude00 as a surrogate pair",
+            "lone surrogate \ud800 and \udfff",
+            "\u007f\u0080\u07ff\u0800\uffff"
+    };
+
+    public static void main(String[] args) throws IOException {
+        for (String string : STRINGS) {
+            byte[] expected = writeUtf(string);
+
+            check(ModifiedUtf8.encodedLength(string) == expected.length - 2, "encoded length of \"" + string + "\"");
+
+            byte[] encoded = new byte[expected.length - 2];
+            check(ModifiedUtf8.encode(string, encoded, 0) == encoded.length, "encode returns the bytes written");
+            check(Arrays.equals(encoded, Arrays.copyOfRange(expected, 2, expected.length)), "encoding of \"" + string + "\"");
+            check(ModifiedUtf8.decode(encoded, 0, encoded.length).equals(string), "decoding of \"" + string + "\"");
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ModifiedUtf8.write(string, new DataOutputStream(bytes));
+            check(Arrays.equals(bytes.toByteArray(), expected), "write matches writeUTF for \"" + string + "\"");
+            check(ModifiedUtf8.read(new DataInputStream(new ByteArrayInputStream(expected))).equals(string), "read of \"" + string + "\"");
+        }
+
+        // the longest string that fits, and one byte more
+        char[] longest = new char[65532 / 3];
+        Arrays.fill(longest, '\u4e2d');
+        String fits = new String(longest) + "abc";
+        check(Arrays.equals(write(fits), writeUtf(fits)), "a string of 65535 encoded bytes is written");
+        checkThrows(() -> write(fits + "d"), "a string of 65536 encoded bytes is rejected");
+
+        checkMalformed(new byte[] {(byte) 0xc3}, "a truncated two-byte sequence");
+        checkMalformed(new byte[] {(byte) 0xe6, (byte) 0x97}, "a truncated three-byte sequence");
+        checkMalformed(new byte[] {(byte) 0xc3, 0x41}, "a bad continuation byte");
+        checkMalformed(new byte[] {0x41, (byte) 0x80}, "a lone continuation byte");
+        checkMalformed(new byte[] {(byte) 0xf0, (byte) 0x9f, (byte) 0x98, (byte) 0x80}, "a four-byte sequence");
+
+        System.out.println("ModifiedUtf8Test passed.");
+    }
+
+    private static byte[] writeUtf(String string) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DataOutputStream(bytes).writeUTF(string);
+
+        return bytes.toByteArray();
+    }
+
+    private static byte[] write(String string) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ModifiedUtf8.write(string, new DataOutputStream(bytes));
+
+        return bytes.toByteArray();
+    }
+
+    private static void checkMalformed(byte[] encoded, String description) {
+        checkThrows(() -> ModifiedUtf8.decode(encoded, 0, encoded.length), description + " is rejected by decode");
+
+        byte[] prefixed = new byte[encoded.length + 2];
+        prefixed[1] = (byte) encoded.length;
+        System.arraycopy(encoded, 0, prefixed, 2, encoded.length);
+
+        checkThrows(() -> ModifiedUtf8.read(new DataInputStream(new ByteArrayInputStream(prefixed))), description + " is rejected by read");
+        checkThrows(() -> new DataInputStream(new ByteArrayInputStream(prefixed)).readUTF(), description + " is rejected by readUTF");
+    }
+
+    private static void checkThrows(IoAction action, String description) {
+        try {
+            action.run();
+        } catch (UTFDataFormatException e) {
+            return;
+        } catch (IOException e) {
+            throw new IllegalStateException("Check failed: " + description + " (threw " + e + ")");
+        }
+
+        throw new IllegalStateException("Check failed: " + description);
+    }
+
+    private static void check(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Check failed: " + description);
+        }
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,84 @@
+package dev.dewy.nbt.test;
+
+import dev.dewy.nbt.Nbt;
+import dev.dewy.nbt.tags.collection.CompoundTag;
+import dev.dewy.nbt.tags.collection.IntTagList;
+import dev.dewy.nbt.tags.collection.ListTag;
+import dev.dewy.nbt.tags.collection.PrimitiveTagList;
+import dev.dewy.nbt.tags.primitive.IntTag;
+import dev.dewy.nbt.tags.primitive.StringTag;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * Checks the behaviour of list tags backed by primitive lists, as read from NBT data. Throws on the first failed check.
+ *
+ * @author dewy
+ */
+public class PrimitiveListTest {
+    private static final Nbt NBT = new Nbt();
+
+    public static void main(String[] args) throws IOException {
+        CompoundTag root = new CompoundTag("root");
+
+        ListTag<IntTag> ints = new ListTag<>("ints");
+        ints.add(new IntTag(1));
+        ints.add(new IntTag(2));
+        ints.add(new IntTag(3));
+        root.put(ints);
+
+        // an empty list which still records the int type, as some writers produce
+        root.put("empty", new ListTag<>(new ArrayList<IntTag>(), (byte) 3));
+
+        CompoundTag read = NBT.fromByteArray(NBT.toByteArray(root));
+        ListTag<IntTag> list = read.getList("ints");
+
+        check(list.getValue() instanceof IntTagList, "numeric lists are read into a primitive list");
+        check(list.equals(ints) && ints.equals(list), "primitive and tag-backed lists with the same elements are equal");
+        check(list.hashCode() == ints.hashCode(), "primitive and tag-backed lists with the same elements hash alike");
+
+        // element tags write through to the list, and keep doing so
+        IntTag first = list.get(0);
+        first.setValue(99);
+        check(((IntTagList) list.getValue()).getInt(0) == 99, "modifying an element tag modifies the list");
+        check(list.get(0) == first, "the same element tag is returned each time");
+
+        ((IntTagList) list.getValue()).setInt(0, 7);
+        check(first.getValue() == 7, "modifying the list through its primitive accessors modifies the element tag");
+
+        ((IntTagList) list.getValue()).addInt(4);
+        check(list.size() == 4 && list.get(3).getValue() == 4, "primitive accessors keep working once element tags exist");
+        check(!((ListTag<StringTag>) (ListTag<?>) list).add(new StringTag("x")), "a non-empty int list rejects a string tag");
+
+        CompoundTag reread = NBT.fromByteArray(NBT.toByteArray(read));
+        check(reread.equals(read), "a modified primitive list round-trips");
+
+        // empty primitive lists take on the type of their first element
+        ListTag<StringTag> empty = (ListTag<StringTag>) (ListTag<?>) read.getList("empty");
+        check(!(empty.getValue() instanceof PrimitiveTagList), "an empty list is not read into a primitive list");
+        check(empty.add(new StringTag("a")) && empty.getListType() == 8, "a string tag can be added to an empty list read as int");
+
+        ListTag<StringTag> cleared = (ListTag<StringTag>) (ListTag<?>) reread.getList("ints");
+        cleared.clear();
+        check(cleared.getListType() == 0, "a cleared list has no type");
+        check(cleared.add(new StringTag("b")) && cleared.getListType() == 8, "a string tag can be added to a cleared int list");
+
+        ListTag<IntTag> emptied = NBT.fromByteArray(NBT.toByteArray(root)).getList("ints");
+        while (!emptied.isEmpty()) {
+            emptied.remove(0);
+        }
+
+        ListTag<StringTag> retyped = (ListTag<StringTag>) (ListTag<?>) emptied;
+        check(retyped.add(new StringTag("c")), "a string tag can be added to an int list emptied by removal");
+        check(NBT.fromByteArray(NBT.toByteArray(reread)).equals(reread), "retyped lists round-trip");
+
+        System.out.println("PrimitiveListTest passed.");
+    }
+
+    private static void check(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Check failed: " + description);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package dev.dewy.nbt.test;
+
+import dev.dewy.nbt.Nbt;
+import dev.dewy.nbt.api.snbt.SnbtConfig;
+import dev.dewy.nbt.api.snbt.SnbtParseException;
+import dev.dewy.nbt.tags.collection.CompoundTag;
+import dev.dewy.nbt.tags.collection.ListTag;
+import dev.dewy.nbt.tags.primitive.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Checks SNBT parsing and writing: round trips of every tag type, and the positions reported for malformed input.
+ * Throws on the first failed check.
+ *
+ * @author dewy
+ */
+public class SnbtTest {
+    private static final File STANDARD_SAMPLE = new File("samples/sample.nbt");
+
+    private static final Nbt NBT = new Nbt();
+
+    public static void main(String[] args) throws IOException {
+        CompoundTag root = new CompoundTag("root");
+
+        root.putByte("byte", (byte) -45);
+        root.putShort("short", (short) 345);
+        root.putInt("int", Integer.MIN_VALUE);
+        root.putLong("long", Long.MAX_VALUE);
+        root.putFloat("float", 0.1F);
+        root.putDouble("double", -1.0E-300);
+        root.putString("string", "quotes \" ' and \\ backslash, \u00e9\n");
+        root.putString("number-like", "123");
+        root.putString("", "empty name");
+        root.putString("name with spaces", "true");
+        root.putByteArray("bytes", new byte[] {-128, 0, 127});
+        root.putIntArray("ints", new int[] {-1, 0, Integer.MAX_VALUE});
+        root.putLongArray("longs", new long[0]);
+
+        ListTag<IntTag> ints = new ListTag<>("intList");
+        ints.add(new IntTag(1));
+        ints.add(new IntTag(-2));
+        root.put(ints);
+
+        ListTag<StringTag> strings = new ListTag<>("stringList");
+        strings.add(new StringTag("a"));
+        strings.add(new StringTag("b c"));
+        root.put(strings);
+
+        ListTag<ListTag<DoubleTag>> nested = new ListTag<>("nested");
+        nested.add(new ListTag<>(null, new ArrayList<>(Arrays.asList(new DoubleTag(1.5), new DoubleTag(2)))));
+        nested.add(new ListTag<>());
+        root.put(nested);
+
+        CompoundTag child = new CompoundTag("child");
+        child.putCompound("empty", new CompoundTag().getValue());
+        root.put(child);
+
+        checkRoundTrip(root, "a tree of every tag type");
+        checkRoundTrip(NBT.fromFile(STANDARD_SAMPLE), "the standard sample");
+
+        check(NBT.fromSnbt("{a:1,}").getInt("a").getValue() == 1, "a trailing comma in a compound is allowed");
+        check(NBT.fromSnbt("{a:[1,]}").getList("a").size() == 1, "a trailing comma in a list is allowed");
+        check(NBT.fromSnbt("{a:1b,a:2}").getInt("a").getValue() == 2, "the last of two equal keys wins");
+        check(NBT.fromSnbt("{ a : [I; 1 , 2 ] }").getIntArray("a").size() == 2, "whitespace is allowed between tokens");
+
+        checkError("", 0, "empty input");
+        checkError("{", 1, "an unclosed compound");
+        checkError("{a:}", 3, "a missing value");
+        checkError("{:1}", 1, "a missing key");
+        checkError("{a:1 b:2}", 5, "a missing comma");
+        checkError("{a:[1,2b]}", 6, "mixed list element types");
+        checkError("{a:[I;1,2L]}", 8, "a long in an int array");
+        checkError("{\"a:1}", 1, "an unclosed quoted key");
+        checkError("{a:'x}", 3, "an unclosed quoted value");
+        checkError("{a:\"\\q\"}", 4, "an invalid escape sequence");
+        checkError("{a:1}x", 5, "trailing data");
+        checkError("[1]", 0, "a root which is not a compound");
+
+        System.out.println("SnbtTest passed.");
+    }
+
+    private static void checkRoundTrip(CompoundTag compound, String description) throws IOException {
+        String snbt = NBT.toSnbt(compound);
+
+        check(NBT.fromSnbt(snbt).equals(compound), description + " round-trips");
+        check(NBT.fromSnbt(new StringReader(snbt)).equals(compound), description + " round-trips through a reader");
+
+        SnbtConfig pretty = new SnbtConfig();
+        pretty.setPrettyPrint(true);
+        pretty.setInlineThreshold(2);
+
+        Nbt prettyNbt = new Nbt();
+        prettyNbt.setSnbtConfig(pretty);
+
+        check(NBT.fromSnbt(prettyNbt.toSnbt(compound)).equals(compound), description + " round-trips when pretty-printed");
+    }
+
+    private static void checkError(String snbt, int position, String description) {
+        try {
+            NBT.fromSnbt(snbt);
+        } catch (SnbtParseException e) {
+            check(e.getPosition() == position, description + " is reported at " + position + ", not " + e.getPosition());
+
+            return;
+        }
+
+        throw new IllegalStateException("Check failed: " + description + " is rejected");
+    }
+
+    private static void check(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Check failed: " + description);
+        }
+    }
+}